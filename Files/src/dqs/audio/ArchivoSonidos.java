@@ -0,0 +1,178 @@
+package dqs.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Paquete de sonidos en un solo archivo (lo genera EmpaquetadorSonidos al compilar).
+// Se abre con una sola apertura y un solo mapeo; los clips PCM se entregan como vistas
+// del archivo mapeado, sin copiar ni decodificar.
+//
+// Formato (little endian):
+//   int MAGIA  short VERSION  short reservado  int entradas  int fin del índice
+//   por entrada: short largo + nombre UTF-8, byte formato, long desplazamiento, int longitud
+//   datos de cada entrada, alineados a 8 bytes
+public class ArchivoSonidos implements FuenteSonidos {
+
+    public static final int MAGIA = 0x44515350; // "DQSP"
+    public static final short VERSION = 1;
+    public static final String NOMBRE_POR_DEFECTO = "sonidos.pak";
+
+    // Formato de cada entrada
+    public static final byte WAV = 0;        // archivo original, se decodifica al cargar
+    public static final byte PCM_MEZCLA = 1; // ya en el formato de MotorAudio
+
+    // Entrada con nombre vacío: short largo, byte formato, long desplazamiento, int longitud
+    private static final int TAMAÑO_MINIMO_ENTRADA = Short.BYTES + 1 + Long.BYTES + Integer.BYTES;
+
+    private final MappedByteBuffer datos;
+    private final Map<String, Entrada> entradas;
+    private final List<String> nombres;
+
+    private ArchivoSonidos(MappedByteBuffer datos) throws IOException {
+        this.datos = datos;
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+        if (datos.limit() < 16 || datos.getInt(0) != MAGIA) {
+            throw new IOException("El archivo no es un paquete de sonidos.");
+        }
+        if (datos.getShort(4) != VERSION) {
+            throw new IOException("Versión de paquete no soportada: " + datos.getShort(4));
+        }
+        // Un paquete dañado o cortado debe fallar con IOException: cada campo del índice se
+        // comprueba contra lo que queda del índice y del archivo antes de usarlo
+        int cantidad = datos.getInt(8);
+        int finIndice = datos.getInt(12);
+        if (finIndice < 16 || finIndice > datos.limit()) {
+            throw new IOException("Fin del índice fuera del archivo: " + finIndice);
+        }
+        if (cantidad < 0 || cantidad > (finIndice - 16) / TAMAÑO_MINIMO_ENTRADA) {
+            throw new IOException("Cantidad de entradas inválida: " + cantidad);
+        }
+        Map<String, Entrada> indice = new HashMap<>(cantidad * 2);
+        List<String> lista = new ArrayList<>(cantidad);
+        ByteBuffer lector = datos.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(16).limit(finIndice);
+        for (int i = 0; i < cantidad; i++) {
+            requerir(lector, Short.BYTES, i);
+            int largo = lector.getShort();
+            if (largo < 0) {
+                throw new IOException("Largo de nombre inválido en la entrada " + i + ": " + largo);
+            }
+            requerir(lector, largo + TAMAÑO_MINIMO_ENTRADA - Short.BYTES, i);
+            byte[] nombre = new byte[largo];
+            lector.get(nombre);
+            String texto = new String(nombre, StandardCharsets.UTF_8);
+            Entrada entrada = new Entrada(lector.get(), lector.getLong(), lector.getInt());
+            if (entrada.formato != WAV && entrada.formato != PCM_MEZCLA) {
+                throw new IOException("Formato desconocido en la entrada " + texto + ": " + entrada.formato);
+            }
+            if (entrada.desplazamiento < finIndice || entrada.longitud < 0
+                    || entrada.desplazamiento > datos.limit() - entrada.longitud) {
+                throw new IOException("Entrada fuera del archivo: " + texto);
+            }
+            indice.put(texto, entrada);
+            lista.add(texto);
+        }
+        this.entradas = indice;
+        this.nombres = Collections.unmodifiableList(lista);
+    }
+
+    private static void requerir(ByteBuffer lector, int bytes, int entrada) throws IOException {
+        if (lector.remaining() < bytes) {
+            throw new IOException("Índice del paquete de sonidos incompleto en la entrada " + entrada + ".");
+        }
+    }
+
+    public static ArchivoSonidos abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Paquete de sonidos demasiado grande: " + canal.size() + " bytes.");
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return new ArchivoSonidos(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    @Override
+    public List<String> nombres() {
+        return nombres;
+    }
+
+    public boolean contiene(String nombre) {
+        return entradas.containsKey(nombre);
+    }
+
+    // Bytes de la entrada tal como están en el archivo (vista de solo lectura)
+    public ByteBuffer datos(String nombre) throws IOException {
+        Entrada entrada = buscar(nombre);
+        return datos.slice((int) entrada.desplazamiento, entrada.longitud).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public InputStream abrir(String nombre) throws IOException {
+        if (buscar(nombre).formato != WAV) {
+            throw new IOException(nombre + " está guardado ya decodificado; use cargar().");
+        }
+        ByteBuffer vista = datos(nombre);
+        return new InputStream() {
+            @Override
+            public int read() {
+                return vista.hasRemaining() ? vista.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] destino, int desde, int largo) {
+                if (!vista.hasRemaining()) return -1;
+                int n = Math.min(largo, vista.remaining());
+                vista.get(destino, desde, n);
+                return n;
+            }
+
+            @Override
+            public int available() {
+                return vista.remaining();
+            }
+        };
+    }
+
+    @Override
+    public SonidoPCM cargar(String nombre) throws IOException {
+        Entrada entrada = buscar(nombre);
+        if (entrada.formato == PCM_MEZCLA) {
+            return new SonidoPCM(nombre, datos(nombre).asShortBuffer());
+        }
+        return FuenteSonidos.super.cargar(nombre);
+    }
+
+    private Entrada buscar(String nombre) throws IOException {
+        Entrada entrada = entradas.get(nombre);
+        if (entrada == null) {
+            throw new IOException("No existe el sonido " + nombre + " en el paquete.");
+        }
+        return entrada;
+    }
+
+    public long getTamaño() { return datos.limit(); }
+
+    private static final class Entrada {
+        final byte formato;
+        final long desplazamiento;
+        final int longitud;
+
+        Entrada(byte formato, long desplazamiento, int longitud) {
+            this.formato = formato;
+            this.desplazamiento = desplazamiento;
+            this.longitud = longitud;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dqs.audio;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Clips decodificados con desalojo LRU cuando se supera el límite de memoria.
+// Un clip más grande que el límite no se guarda.
+public class CacheSonidos {
+
+    private final long memoriaMaxima;
+    private final LinkedHashMap<String, SonidoPCM> clips = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoriaUsada;
+    private long desalojos;
+
+    public CacheSonidos(long memoriaMaxima) {
+        if (memoriaMaxima <= 0) {
+            throw new IllegalArgumentException("El límite de memoria debe ser positivo.");
+        }
+        this.memoriaMaxima = memoriaMaxima;
+    }
+
+    // Devuelve el clip (marcándolo como usado) o null si no está
+    public synchronized SonidoPCM obtener(String nombre) {
+        return clips.get(nombre);
+    }
+
+    public synchronized boolean contiene(String nombre) {
+        return clips.containsKey(nombre);
+    }
+
+    public synchronized void guardar(SonidoPCM sonido) {
+        if (sonido.getBytes() > memoriaMaxima) return;
+        SonidoPCM anterior = clips.put(sonido.getNombre(), sonido);
+        if (anterior != null) memoriaUsada -= anterior.getBytes();
+        memoriaUsada += sonido.getBytes();
+
+        var it = clips.entrySet().iterator();
+        while (memoriaUsada > memoriaMaxima && it.hasNext()) {
+            Map.Entry<String, SonidoPCM> masAntiguo = it.next();
+            if (masAntiguo.getValue() == sonido) continue;
+            memoriaUsada -= masAntiguo.getValue().getBytes();
+            it.remove();
+            desalojos++;
+        }
+    }
+
+    public synchronized void limpiar() {
+        clips.clear();
+        memoriaUsada = 0;
+    }
+
+    // Getters
+    public synchronized int getCantidad() { return clips.size(); }
+    public synchronized long getMemoriaUsada() { return memoriaUsada; }
+    public synchronized long getDesalojos() { return desalojos; }
+    public long getMemoriaMaxima() { return memoriaMaxima; }
+}
@@ -0,0 +1,89 @@
+package dqs.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Decodifica WAV PCM (8, 16, 24 o 32 bits, mono o estéreo, cualquier frecuencia) al
+// formato del mezclador. La conversión de frecuencia es por interpolación lineal.
+public final class DecodificadorWav {
+
+    private DecodificadorWav() {
+    }
+
+    public static SonidoPCM decodificar(String nombre, InputStream entrada) throws IOException {
+        try (AudioInputStream audio = AudioSystem.getAudioInputStream(new BufferedInputStream(entrada))) {
+            AudioFormat formato = audio.getFormat();
+            AudioFormat.Encoding codificacion = formato.getEncoding();
+            if (!codificacion.equals(AudioFormat.Encoding.PCM_SIGNED) && !codificacion.equals(AudioFormat.Encoding.PCM_UNSIGNED)) {
+                throw new IOException("Codificación no soportada en " + nombre + ": " + codificacion);
+            }
+            byte[] datos = audio.readAllBytes();
+            return new SonidoPCM(nombre, convertir(datos, formato));
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Formato de audio no soportado: " + nombre, e);
+        }
+    }
+
+    static short[] convertir(byte[] datos, AudioFormat formato) {
+        int canales = formato.getChannels();
+        int bytesMuestra = formato.getSampleSizeInBits() / 8;
+        if (canales < 1 || bytesMuestra < 1 || bytesMuestra > 4) {
+            throw new IllegalArgumentException("Formato PCM no soportado: " + formato);
+        }
+        boolean bigEndian = formato.isBigEndian();
+        boolean sinSigno = formato.getEncoding().equals(AudioFormat.Encoding.PCM_UNSIGNED);
+        int bytesCuadro = canales * bytesMuestra;
+        int cuadros = datos.length / bytesCuadro;
+
+        // Primero a estéreo de 16 bits en la frecuencia original
+        short[] estereo = new short[cuadros * MotorAudio.CANALES];
+        for (int c = 0; c < cuadros; c++) {
+            int base = c * bytesCuadro;
+            short izquierda = leerMuestra(datos, base, bytesMuestra, bigEndian, sinSigno);
+            short derecha = canales > 1
+                    ? leerMuestra(datos, base + bytesMuestra, bytesMuestra, bigEndian, sinSigno)
+                    : izquierda;
+            estereo[c * 2] = izquierda;
+            estereo[c * 2 + 1] = derecha;
+        }
+
+        float frecuencia = formato.getSampleRate();
+        if (frecuencia == MotorAudio.FRECUENCIA || frecuencia <= 0 || cuadros < 2) return estereo;
+        return remuestrear(estereo, cuadros, frecuencia);
+    }
+
+    // Devuelve los 16 bits más significativos de la muestra
+    private static short leerMuestra(byte[] datos, int base, int bytes, boolean bigEndian, boolean sinSigno) {
+        int valor = 0;
+        for (int i = 0; i < bytes; i++) {
+            int b = datos[bigEndian ? base + i : base + bytes - 1 - i] & 0xFF;
+            valor = (valor << 8) | b;
+        }
+        valor <<= 32 - 8 * bytes; // alinear a 32 bits con signo
+        if (sinSigno) valor ^= Integer.MIN_VALUE;
+        return (short) (valor >> 16);
+    }
+
+    private static short[] remuestrear(short[] estereo, int cuadros, float frecuencia) {
+        double paso = frecuencia / MotorAudio.FRECUENCIA;
+        int cuadrosSalida = (int) ((cuadros - 1) / paso) + 1;
+        short[] salida = new short[cuadrosSalida * MotorAudio.CANALES];
+        for (int c = 0; c < cuadrosSalida; c++) {
+            double posicion = c * paso;
+            int i = (int) posicion;
+            int j = Math.min(i + 1, cuadros - 1);
+            double t = posicion - i;
+            for (int canal = 0; canal < MotorAudio.CANALES; canal++) {
+                double a = estereo[i * 2 + canal];
+                double b = estereo[j * 2 + canal];
+                salida[c * 2 + canal] = (short) Math.round(a + (b - a) * t);
+            }
+        }
+        return salida;
+    }
+}
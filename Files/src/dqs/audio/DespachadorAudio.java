@@ -0,0 +1,106 @@
+package dqs.audio;
+
+import dqs.eventos.SumideroEventos;
+import dqs.eventos.TipoEvento;
+import dqs.modelos.Personaje;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Convierte los eventos de combate en sonidos según una TablaSonidos.
+// Cada entrada tiene un enfriamiento (las ráfagas del mismo evento se funden en un solo sonido)
+// y un número máximo de voces simultáneas. publicar() no asigna memoria salvo al reproducir
+// y nunca espera al mezclador.
+public class DespachadorAudio implements SumideroEventos {
+
+    // Duración supuesta de un clip que no está en la caché
+    private static final long DURACION_DESCONOCIDA_NANOS = 500_000_000L;
+
+    private final MotorAudio motor;
+    private final TablaSonidos tabla;
+
+    // Estado por entrada de la tabla (mismo índice)
+    private final long[] permitidoDesde;
+    private final long[][] finVoces;
+    private final long[][] duracionClips;
+    private int semilla;
+
+    private long reproducidos;
+    private long fundidos;     // descartados por enfriamiento
+    private long sinVoz;       // descartados por límite de voces
+
+    // Precarga todos los clips de la tabla para conocer su duración y que suenen sin espera
+    public DespachadorAudio(MotorAudio motor, TablaSonidos tabla) throws IOException {
+        if (motor == null || tabla == null) {
+            throw new IllegalArgumentException("El motor y la tabla no pueden ser nulos.");
+        }
+        this.motor = motor;
+        this.tabla = tabla;
+        motor.precargar(tabla.clips());
+
+        int n = tabla.getEntradas().size();
+        long ahora = System.nanoTime();
+        permitidoDesde = new long[n];
+        finVoces = new long[n][];
+        duracionClips = new long[n][];
+        for (TablaSonidos.Entrada entrada : tabla.getEntradas()) {
+            int i = entrada.getIndice();
+            permitidoDesde[i] = ahora;
+            finVoces[i] = new long[entrada.getVoces()];
+            Arrays.fill(finVoces[i], ahora);
+            duracionClips[i] = new long[entrada.getCantidadClips()];
+            for (int c = 0; c < entrada.getCantidadClips(); c++) {
+                SonidoPCM sonido = motor.getCache().obtener(entrada.getClip(c));
+                duracionClips[i][c] = sonido == null ? DURACION_DESCONOCIDA_NANOS
+                        : sonido.getCuadros() * 1_000_000_000L / MotorAudio.FRECUENCIA;
+            }
+        }
+        semilla = (int) ahora | 1;
+    }
+
+    @Override
+    public synchronized void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo,
+                                      int valor, int valorPrevio, int detalle) {
+        TablaSonidos.Entrada entrada = tabla.buscar(tipo, origen, objetivo);
+        if (entrada == null) return;
+
+        int i = entrada.getIndice();
+        long ahora = System.nanoTime();
+        if (ahora - permitidoDesde[i] < 0) {
+            fundidos++;
+            return;
+        }
+
+        // Primera voz libre de la entrada
+        long[] voces = finVoces[i];
+        int libre = -1;
+        for (int v = 0; v < voces.length; v++) {
+            if (ahora - voces[v] >= 0) { libre = v; break; }
+        }
+        if (libre < 0) {
+            sinVoz++;
+            return;
+        }
+
+        int clip = entrada.getCantidadClips() == 1 ? 0 : siguiente(entrada.getCantidadClips());
+        voces[libre] = ahora + duracionClips[i][clip];
+        permitidoDesde[i] = ahora + entrada.getEnfriamientoNanos();
+        reproducidos++;
+        motor.reproducir(entrada.getClip(clip), entrada.getVolumen());
+    }
+
+    // Xorshift: variedad de clips, sin importar la calidad estadística
+    private int siguiente(int limite) {
+        int x = semilla;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        semilla = x;
+        return (x >>> 1) % limite;
+    }
+
+    // Getters
+    public TablaSonidos getTabla() { return tabla; }
+    public synchronized long getReproducidos() { return reproducidos; }
+    public synchronized long getFundidos() { return fundidos; }
+    public synchronized long getSinVoz() { return sinVoz; }
+}
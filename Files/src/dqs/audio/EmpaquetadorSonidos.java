@@ -0,0 +1,106 @@
+package dqs.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Empaqueta un directorio de WAV en un ArchivoSonidos. Se ejecuta al compilar (ver pom.xml).
+// Por defecto guarda los clips ya decodificados al formato del mezclador; con --originales
+// guarda los WAV tal cual.
+public final class EmpaquetadorSonidos {
+
+    private static final int ALINEACION = 8;
+
+    private EmpaquetadorSonidos() {
+    }
+
+    public static void empaquetar(FuenteSonidos fuente, Path destino, boolean originales) throws IOException {
+        List<String> nombres = fuente.nombres();
+        List<byte[]> nombresUtf8 = new ArrayList<>(nombres.size());
+        List<ByteBuffer> contenidos = new ArrayList<>(nombres.size());
+        int finIndice = 16;
+        for (String nombre : nombres) {
+            byte[] utf8 = nombre.getBytes(StandardCharsets.UTF_8);
+            nombresUtf8.add(utf8);
+            contenidos.add(originales ? leerOriginal(fuente, nombre) : decodificado(fuente.cargar(nombre)));
+            finIndice += 2 + utf8.length + 1 + Long.BYTES + Integer.BYTES;
+        }
+
+        ByteBuffer indice = ByteBuffer.allocate(finIndice).order(ByteOrder.LITTLE_ENDIAN);
+        indice.putInt(ArchivoSonidos.MAGIA);
+        indice.putShort(ArchivoSonidos.VERSION);
+        indice.putShort((short) 0);
+        indice.putInt(nombres.size());
+        indice.putInt(finIndice);
+        long desplazamiento = alinear(finIndice);
+        long[] desplazamientos = new long[nombres.size()];
+        for (int i = 0; i < nombres.size(); i++) {
+            byte[] utf8 = nombresUtf8.get(i);
+            indice.putShort((short) utf8.length);
+            indice.put(utf8);
+            indice.put(originales ? ArchivoSonidos.WAV : ArchivoSonidos.PCM_MEZCLA);
+            indice.putLong(desplazamiento);
+            indice.putInt(contenidos.get(i).remaining());
+            desplazamientos[i] = desplazamiento;
+            desplazamiento = alinear(desplazamiento + contenidos.get(i).remaining());
+        }
+        indice.flip();
+
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            escribirCompleto(canal, indice, 0);
+            for (int i = 0; i < contenidos.size(); i++) {
+                escribirCompleto(canal, contenidos.get(i), desplazamientos[i]);
+            }
+        }
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static ByteBuffer leerOriginal(FuenteSonidos fuente, String nombre) throws IOException {
+        try (InputStream entrada = fuente.abrir(nombre)) {
+            return ByteBuffer.wrap(entrada.readAllBytes());
+        }
+    }
+
+    private static ByteBuffer decodificado(SonidoPCM sonido) {
+        ShortBuffer muestras = sonido.muestras().duplicate();
+        ByteBuffer bytes = ByteBuffer.allocate(muestras.remaining() * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asShortBuffer().put(muestras);
+        return bytes;
+    }
+
+    private static void escribirCompleto(FileChannel canal, ByteBuffer buffer, long posicion) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicion += canal.write(buffer, posicion);
+        }
+    }
+
+    private static long alinear(long posicion) {
+        return (posicion + ALINEACION - 1) & -ALINEACION;
+    }
+
+    // Uso: EmpaquetadorSonidos <directorio de WAV> <archivo de salida> [--originales]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Uso: EmpaquetadorSonidos <directorio de WAV> <archivo de salida> [--originales]");
+            return;
+        }
+        boolean originales = args.length > 2 && args[2].equals("--originales");
+        Path destino = Path.of(args[1]);
+        long inicio = System.nanoTime();
+        empaquetar(new FuenteDirectorio(Path.of(args[0])), destino, originales);
+        System.out.printf("Paquete de sonidos: %s (%d bytes) en %d ms%n", destino, Files.size(destino),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
@@ -0,0 +1,70 @@
+package dqs.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Sonidos sueltos en un directorio (también dentro de un jar, vía su sistema de archivos)
+public class FuenteDirectorio implements FuenteSonidos {
+
+    // Ubicación del paquete de sonidos en el classpath
+    public static final String PAQUETE_SONIDOS = "/dqs/utilidades/RPG Sound Pack";
+
+    private final Path raiz;
+
+    public FuenteDirectorio(Path raiz) {
+        if (raiz == null) {
+            throw new IllegalArgumentException("El directorio no puede ser nulo.");
+        }
+        this.raiz = raiz;
+    }
+
+    // Paquete de sonidos incluido en el jar (o en el directorio de clases)
+    public static FuenteDirectorio desdeClasspath() throws IOException {
+        URL url = FuenteDirectorio.class.getResource(PAQUETE_SONIDOS);
+        if (url == null) {
+            throw new IOException("No se encontró " + PAQUETE_SONIDOS + " en el classpath.");
+        }
+        try {
+            URI uri = url.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try {
+                    FileSystems.newFileSystem(uri, Collections.emptyMap());
+                } catch (FileSystemAlreadyExistsException e) {
+                    // ya abierto
+                }
+            }
+            return new FuenteDirectorio(Path.of(uri));
+        } catch (URISyntaxException e) {
+            throw new IOException("Ruta inválida: " + url, e);
+        }
+    }
+
+    @Override
+    public InputStream abrir(String nombre) throws IOException {
+        return Files.newInputStream(raiz.resolve(nombre));
+    }
+
+    @Override
+    public List<String> nombres() throws IOException {
+        try (Stream<Path> archivos = Files.walk(raiz)) {
+            return archivos.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".wav"))
+                    .map(p -> raiz.relativize(p).toString().replace(raiz.getFileSystem().getSeparator(), "/"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public Path getRaiz() { return raiz; }
+}
@@ -0,0 +1,20 @@
+package dqs.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+// De dónde salen los WAV. Los nombres son rutas relativas con '/' (p. ej. "battle/swing.wav").
+public interface FuenteSonidos {
+
+    InputStream abrir(String nombre) throws IOException;
+
+    List<String> nombres() throws IOException;
+
+    // Clip listo para el mezclador; por defecto se decodifica el WAV
+    default SonidoPCM cargar(String nombre) throws IOException {
+        try (InputStream entrada = abrir(nombre)) {
+            return DecodificadorWav.decodificar(nombre, entrada);
+        }
+    }
+}
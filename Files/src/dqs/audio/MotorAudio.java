@@ -0,0 +1,237 @@
+package dqs.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Motor de audio: un hilo propio mezcla las voces activas en bloques de 5 ms y los envía
+// a la salida. reproducir() solo encola la petición y vuelve enseguida, así que nunca
+// bloquea a quien lo llama (por ejemplo, la lógica de combate). Los clips que no están en
+// la caché se decodifican en otro hilo y suenan en cuanto están listos; para que suenen
+// al instante conviene precargarlos.
+public class MotorAudio implements AutoCloseable {
+
+    public static final int FRECUENCIA = 48_000;
+    public static final int CANALES = 2;
+    public static final AudioFormat FORMATO = new AudioFormat(FRECUENCIA, 16, CANALES, true, false);
+    public static final int CUADROS_POR_BLOQUE = FRECUENCIA / 200; // 5 ms
+    public static final int VOCES_MAXIMAS = 16;
+    public static final long MEMORIA_POR_DEFECTO = 32L << 20;
+
+    private final FuenteSonidos fuente;
+    private final CacheSonidos cache;
+    private final SalidaAudio salida;
+    private final boolean silencioso;
+
+    private final ConcurrentLinkedQueue<Peticion> peticiones = new ConcurrentLinkedQueue<>();
+    private final Set<String> cargando = ConcurrentHashMap.newKeySet();
+    private final ExecutorService cargador;
+    private final Thread mezclador;
+    private volatile boolean activo = true;
+
+    // Estado del hilo mezclador
+    private final Voz[] voces = new Voz[VOCES_MAXIMAS];
+    private int vocesActivas;
+    private final int[] acumulador = new int[CUADROS_POR_BLOQUE * CANALES];
+    private final byte[] bloque = new byte[CUADROS_POR_BLOQUE * CANALES * Short.BYTES];
+
+    private final AtomicLong reproducidos = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private volatile long ultimaLatenciaNanos;
+
+    // Constructores
+    public MotorAudio(FuenteSonidos fuente) {
+        this(fuente, new SalidaLinea(), MEMORIA_POR_DEFECTO);
+    }
+
+    // Si la salida no se puede abrir (sin tarjeta de sonido, Linux sin cabeza...) se usa
+    // una SalidaSilenciosa; isSilencioso() lo indica
+    public MotorAudio(FuenteSonidos fuente, SalidaAudio salida, long memoriaMaxima) {
+        if (fuente == null || salida == null) {
+            throw new IllegalArgumentException("La fuente y la salida no pueden ser nulas.");
+        }
+        this.fuente = fuente;
+        this.cache = new CacheSonidos(memoriaMaxima);
+
+        boolean sinSonido = salida instanceof SalidaSilenciosa;
+        try {
+            salida.abrir(FORMATO, bloque.length);
+        } catch (LineUnavailableException e) {
+            SalidaSilenciosa silenciosa = new SalidaSilenciosa();
+            silenciosa.abrir(FORMATO, bloque.length);
+            salida = silenciosa;
+            sinSonido = true;
+        }
+        this.salida = salida;
+        this.silencioso = sinSonido;
+
+        this.cargador = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "carga-audio");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.mezclador = new Thread(this::mezclarContinuamente, "mezclador-audio");
+        mezclador.setDaemon(true);
+        mezclador.setPriority(Thread.MAX_PRIORITY);
+        mezclador.start();
+    }
+
+    // Encola un clip para sonar en el próximo bloque. No bloquea.
+    public void reproducir(String nombre) {
+        reproducir(nombre, 1f);
+    }
+
+    public void reproducir(String nombre, float volumen) {
+        if (!activo || nombre == null) return;
+        peticiones.offer(new Peticion(nombre, volumen, null, System.nanoTime()));
+    }
+
+    // Decodifica los clips en el hilo que llama (al iniciar) para que suenen sin espera
+    public void precargar(Collection<String> nombres) throws IOException {
+        for (String nombre : nombres) {
+            if (!cache.contiene(nombre)) cache.guardar(decodificar(nombre));
+        }
+    }
+
+    public void precargarTodo() throws IOException {
+        precargar(fuente.nombres());
+    }
+
+    private SonidoPCM decodificar(String nombre) throws IOException {
+        return fuente.cargar(nombre);
+    }
+
+    // Hilo mezclador
+    private void mezclarContinuamente() {
+        while (activo) {
+            atenderPeticiones();
+            mezclarBloque();
+            salida.escribir(bloque, bloque.length);
+        }
+    }
+
+    private void atenderPeticiones() {
+        Peticion peticion;
+        while ((peticion = peticiones.poll()) != null) {
+            SonidoPCM sonido = peticion.sonido != null ? peticion.sonido : cache.obtener(peticion.nombre);
+            if (sonido != null) {
+                iniciarVoz(sonido, peticion.volumen);
+                ultimaLatenciaNanos = System.nanoTime() - peticion.creada;
+            } else {
+                cargarEnSegundoPlano(peticion);
+            }
+        }
+    }
+
+    private void cargarEnSegundoPlano(Peticion peticion) {
+        if (!cargando.add(peticion.nombre)) {
+            descartados.incrementAndGet(); // ya se está cargando: se sonará una sola vez
+            return;
+        }
+        cargador.execute(() -> {
+            try {
+                SonidoPCM sonido = decodificar(peticion.nombre);
+                cache.guardar(sonido);
+                peticiones.offer(new Peticion(peticion.nombre, peticion.volumen, sonido, peticion.creada));
+            } catch (IOException | RuntimeException e) {
+                descartados.incrementAndGet();
+            } finally {
+                cargando.remove(peticion.nombre);
+            }
+        });
+    }
+
+    // Con todas las voces ocupadas se reemplaza la que lleva más tiempo sonando
+    private void iniciarVoz(SonidoPCM sonido, float volumen) {
+        int ganancia = Math.round(Math.max(0f, Math.min(volumen, 1f)) * 256);
+        if (vocesActivas < VOCES_MAXIMAS) {
+            voces[vocesActivas++] = new Voz(sonido.muestras(), ganancia);
+        } else {
+            int masAvanzada = 0;
+            for (int v = 1; v < vocesActivas; v++) {
+                if (voces[v].posicion > voces[masAvanzada].posicion) masAvanzada = v;
+            }
+            voces[masAvanzada] = new Voz(sonido.muestras(), ganancia);
+            descartados.incrementAndGet();
+        }
+        reproducidos.incrementAndGet();
+    }
+
+    private void mezclarBloque() {
+        Arrays.fill(acumulador, 0);
+        for (int v = 0; v < vocesActivas; ) {
+            Voz voz = voces[v];
+            int n = Math.min(acumulador.length, voz.muestras.limit() - voz.posicion);
+            for (int i = 0; i < n; i++) {
+                acumulador[i] += (voz.muestras.get(voz.posicion + i) * voz.ganancia) >> 8;
+            }
+            voz.posicion += n;
+            if (voz.posicion >= voz.muestras.limit()) {
+                voces[v] = voces[--vocesActivas]; // terminó: el último ocupa su lugar
+                voces[vocesActivas] = null;
+            } else {
+                v++;
+            }
+        }
+        for (int i = 0; i < acumulador.length; i++) {
+            int muestra = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, acumulador[i]));
+            bloque[i * 2] = (byte) muestra;
+            bloque[i * 2 + 1] = (byte) (muestra >> 8);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!activo) return;
+        activo = false;
+        try {
+            mezclador.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        cargador.shutdownNow();
+        salida.cerrar();
+    }
+
+    private static final class Peticion {
+        final String nombre;
+        final float volumen;
+        final SonidoPCM sonido; // ya decodificado (tras una carga en segundo plano)
+        final long creada;
+
+        Peticion(String nombre, float volumen, SonidoPCM sonido, long creada) {
+            this.nombre = nombre;
+            this.volumen = volumen;
+            this.sonido = sonido;
+            this.creada = creada;
+        }
+    }
+
+    private static final class Voz {
+        final ShortBuffer muestras;
+        final int ganancia; // volumen en 1/256
+        int posicion;
+
+        Voz(ShortBuffer muestras, int ganancia) {
+            this.muestras = muestras;
+            this.ganancia = ganancia;
+        }
+    }
+
+    // Getters
+    public boolean isSilencioso() { return silencioso; }
+    public CacheSonidos getCache() { return cache; }
+    public FuenteSonidos getFuente() { return fuente; }
+    public long getReproducidos() { return reproducidos.get(); }
+    public long getDescartados() { return descartados.get(); }
+    public long getUltimaLatenciaNanos() { return ultimaLatenciaNanos; }
+}
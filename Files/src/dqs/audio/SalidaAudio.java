@@ -0,0 +1,14 @@
+package dqs.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+// Destino de los bloques mezclados. escribir() puede bloquear: marca el ritmo del mezclador.
+public interface SalidaAudio {
+
+    void abrir(AudioFormat formato, int bytesBloque) throws LineUnavailableException;
+
+    void escribir(byte[] datos, int longitud);
+
+    void cerrar();
+}
@@ -0,0 +1,38 @@
+package dqs.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+// Salida a la tarjeta de sonido con un búfer de pocos bloques (baja latencia)
+public class SalidaLinea implements SalidaAudio {
+
+    public static final int BLOQUES_EN_BUFER = 3;
+
+    private SourceDataLine linea;
+
+    @Override
+    public void abrir(AudioFormat formato, int bytesBloque) throws LineUnavailableException {
+        try {
+            linea = AudioSystem.getSourceDataLine(formato);
+        } catch (IllegalArgumentException | SecurityException e) {
+            throw new LineUnavailableException("No hay salida de audio: " + e.getMessage());
+        }
+        linea.open(formato, bytesBloque * BLOQUES_EN_BUFER);
+        linea.start();
+    }
+
+    @Override
+    public void escribir(byte[] datos, int longitud) {
+        linea.write(datos, 0, longitud);
+    }
+
+    @Override
+    public void cerrar() {
+        if (linea != null) {
+            linea.stop();
+            linea.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package dqs.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.concurrent.locks.LockSupport;
+
+// Descarta el audio pero respeta su duración, para pruebas y equipos sin sonido
+public class SalidaSilenciosa implements SalidaAudio {
+
+    private final boolean tiempoReal;
+    private double bytesPorNano;
+    private long siguiente;
+    private long bytesEscritos;
+
+    public SalidaSilenciosa() {
+        this(true);
+    }
+
+    // Con tiempoReal = false no espera (útil para medir el mezclador)
+    public SalidaSilenciosa(boolean tiempoReal) {
+        this.tiempoReal = tiempoReal;
+    }
+
+    @Override
+    public void abrir(AudioFormat formato, int bytesBloque) {
+        bytesPorNano = formato.getFrameRate() * formato.getFrameSize() / 1e9;
+        siguiente = System.nanoTime();
+    }
+
+    @Override
+    public void escribir(byte[] datos, int longitud) {
+        bytesEscritos += longitud;
+        if (!tiempoReal) return;
+        siguiente += (long) (longitud / bytesPorNano);
+        long espera = siguiente - System.nanoTime();
+        if (espera > 0) LockSupport.parkNanos(espera);
+        else siguiente = System.nanoTime(); // se atrasó: no acumular deuda
+    }
+
+    @Override
+    public void cerrar() {
+    }
+
+    public long getBytesEscritos() { return bytesEscritos; }
+}
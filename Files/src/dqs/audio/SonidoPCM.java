@@ -0,0 +1,38 @@
+package dqs.audio;
+
+import java.nio.ShortBuffer;
+
+// Clip decodificado en el formato del mezclador: muestras de 16 bits intercaladas
+// (izquierda, derecha) a MotorAudio.FRECUENCIA. Las muestras pueden estar en el heap o
+// ser una vista de un archivo mapeado (ArchivoSonidos), sin copia. Inmutable.
+public final class SonidoPCM {
+
+    private final String nombre;
+    private final ShortBuffer muestras;
+
+    public SonidoPCM(String nombre, short[] muestras) {
+        this(nombre, muestras == null ? null : ShortBuffer.wrap(muestras));
+    }
+
+    public SonidoPCM(String nombre, ShortBuffer muestras) {
+        if (nombre == null || muestras == null) {
+            throw new IllegalArgumentException("El nombre y las muestras no pueden ser nulos.");
+        }
+        if (muestras.remaining() % MotorAudio.CANALES != 0) {
+            throw new IllegalArgumentException("Las muestras deben ser pares izquierda/derecha.");
+        }
+        this.nombre = nombre;
+        this.muestras = muestras.slice();
+    }
+
+    // Acceso sin copia para el mezclador (lectura por índice absoluto, no modificar)
+    ShortBuffer muestras() {
+        return muestras;
+    }
+
+    public String getNombre() { return nombre; }
+    public int getCuadros() { return muestras.limit() / MotorAudio.CANALES; }
+    public long getBytes() { return (long) muestras.limit() * Short.BYTES; }
+    public boolean isMapeado() { return muestras.isDirect(); }
+    public double getDuracionSegundos() { return (double) getCuadros() / MotorAudio.FRECUENCIA; }
+}
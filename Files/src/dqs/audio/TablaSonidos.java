@@ -0,0 +1,193 @@
+package dqs.audio;
+
+import dqs.eventos.TipoEvento;
+import dqs.modelos.Enemigo;
+import dqs.modelos.Heroe;
+import dqs.modelos.Personaje;
+import dqs.modelos.Tipo_Enemigo;
+import dqs.modelos.Tipo_Heroe;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Qué clips suenan con cada evento de combate. Claves EVENTO o EVENTO.TIPO (ver
+// sonidos-combate.properties). Se compila a una matriz [evento][tipo] para buscar sin asignar memoria.
+public final class TablaSonidos {
+
+    public static final String RECURSO_POR_DEFECTO = "/dqs/audio/sonidos-combate.properties";
+
+    private static final int TIPOS_ENEMIGO = Tipo_Enemigo.values().length;
+    private static final int COLUMNAS = 1 + TIPOS_ENEMIGO + Tipo_Heroe.values().length; // 0: sin tipo
+
+    // Sonido de un evento: clips entre los que se elige al azar y sus límites
+    public static final class Entrada {
+        private final int indice;
+        private final String[] clips;
+        private final long enfriamientoNanos;
+        private final int voces;
+        private final float volumen;
+
+        private Entrada(int indice, String[] clips, long enfriamientoNanos, int voces, float volumen) {
+            this.indice = indice;
+            this.clips = clips;
+            this.enfriamientoNanos = enfriamientoNanos;
+            this.voces = voces;
+            this.volumen = volumen;
+        }
+
+        public int getIndice() { return indice; }
+        public int getCantidadClips() { return clips.length; }
+        public String getClip(int i) { return clips[i]; }
+        public long getEnfriamientoNanos() { return enfriamientoNanos; }
+        public int getVoces() { return voces; }
+        public float getVolumen() { return volumen; }
+    }
+
+    private final Entrada[][] matriz = new Entrada[TipoEvento.values().length][COLUMNAS];
+    private final List<Entrada> entradas = new ArrayList<>();
+
+    private TablaSonidos() {
+    }
+
+    // Tabla incluida en el jar
+    public static TablaSonidos porDefecto(FuenteSonidos fuente) throws IOException {
+        try (InputStream entrada = TablaSonidos.class.getResourceAsStream(RECURSO_POR_DEFECTO)) {
+            if (entrada == null) {
+                throw new IOException("No se encontró " + RECURSO_POR_DEFECTO + " en el classpath.");
+            }
+            return leer(new InputStreamReader(entrada, StandardCharsets.UTF_8), fuente);
+        }
+    }
+
+    // Las carpetas (rutas terminadas en /) se expanden con los nombres de la fuente
+    public static TablaSonidos leer(Reader lector, FuenteSonidos fuente) throws IOException {
+        Properties propiedades = new Properties();
+        propiedades.load(lector);
+        List<String> disponibles = fuente.nombres();
+
+        TablaSonidos tabla = new TablaSonidos();
+        // Primero las claves sin tipo, para que las específicas las sobrescriban
+        for (String clave : new TreeSet<>(propiedades.stringPropertyNames())) {
+            if (clave.indexOf('.') < 0) tabla.agregar(clave, propiedades.getProperty(clave), disponibles);
+        }
+        for (String clave : new TreeSet<>(propiedades.stringPropertyNames())) {
+            if (clave.indexOf('.') >= 0) tabla.agregar(clave, propiedades.getProperty(clave), disponibles);
+        }
+        return tabla;
+    }
+
+    private void agregar(String clave, String valor, List<String> disponibles) {
+        int punto = clave.indexOf('.');
+        TipoEvento evento = parsearEvento(punto < 0 ? clave : clave.substring(0, punto));
+        int columna = punto < 0 ? 0 : columna(clave.substring(punto + 1));
+
+        String[] partes = valor.split(";");
+        long enfriamientoMs = 0;
+        int voces = 1;
+        float volumen = 1f;
+        for (int i = 1; i < partes.length; i++) {
+            String[] opcion = partes[i].split("=", 2);
+            if (opcion.length != 2) {
+                throw new IllegalArgumentException("Opción inválida en " + clave + ": " + partes[i].trim());
+            }
+            String nombre = opcion[0].trim();
+            String texto = opcion[1].trim();
+            try {
+                switch (nombre) {
+                    case "enfriamiento" -> enfriamientoMs = Long.parseLong(texto);
+                    case "voces" -> voces = Integer.parseInt(texto);
+                    case "volumen" -> volumen = Float.parseFloat(texto);
+                    default -> throw new IllegalArgumentException("Opción desconocida en " + clave + ": " + nombre);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido en " + clave + ": " + partes[i].trim());
+            }
+        }
+        if (enfriamientoMs < 0 || voces < 1 || volumen < 0f || volumen > 1f) {
+            throw new IllegalArgumentException("Límites fuera de rango en " + clave
+                    + " (enfriamiento >= 0, voces >= 1, volumen entre 0 y 1).");
+        }
+
+        Set<String> clips = new LinkedHashSet<>();
+        for (String ruta : partes[0].split(",")) {
+            ruta = ruta.trim();
+            if (ruta.isEmpty()) continue;
+            if (ruta.endsWith("/")) {
+                for (String nombre : disponibles) {
+                    if (nombre.startsWith(ruta)) clips.add(nombre);
+                }
+            } else if (disponibles.contains(ruta)) {
+                clips.add(ruta);
+            } else {
+                throw new IllegalArgumentException("El clip " + ruta + " de " + clave + " no existe.");
+            }
+        }
+        if (clips.isEmpty()) {
+            throw new IllegalArgumentException("La entrada " + clave + " no tiene clips.");
+        }
+
+        Entrada entrada = new Entrada(entradas.size(), clips.toArray(new String[0]),
+                enfriamientoMs * 1_000_000L, voces, volumen);
+        entradas.add(entrada);
+        Entrada[] fila = matriz[evento.ordinal()];
+        if (columna == 0) {
+            // La entrada genérica cubre los tipos que no tengan una propia
+            for (int c = 0; c < COLUMNAS; c++) {
+                if (fila[c] == null) fila[c] = entrada;
+            }
+        } else {
+            fila[columna] = entrada;
+        }
+    }
+
+    private static TipoEvento parsearEvento(String nombre) {
+        try {
+            return TipoEvento.valueOf(nombre.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Evento desconocido en la tabla de sonidos: " + nombre);
+        }
+    }
+
+    private static int columna(String tipo) {
+        String nombre = tipo.trim();
+        for (Tipo_Enemigo t : Tipo_Enemigo.values()) {
+            if (t.name().equals(nombre)) return 1 + t.ordinal();
+        }
+        for (Tipo_Heroe t : Tipo_Heroe.values()) {
+            if (t.name().equals(nombre)) return 1 + TIPOS_ENEMIGO + t.ordinal();
+        }
+        throw new IllegalArgumentException("Tipo desconocido en la tabla de sonidos: " + nombre);
+    }
+
+    private static int columna(Personaje personaje) {
+        if (personaje instanceof Enemigo enemigo) return 1 + enemigo.getTipo().ordinal();
+        if (personaje instanceof Heroe heroe) return 1 + TIPOS_ENEMIGO + heroe.getTipo().ordinal();
+        return 0;
+    }
+
+    // Entrada para el evento o null si no suena. El tipo se toma del derrotado en DERROTA
+    // y del origen en el resto.
+    public Entrada buscar(TipoEvento tipo, Personaje origen, Personaje objetivo) {
+        return matriz[tipo.ordinal()][columna(tipo == TipoEvento.DERROTA ? objetivo : origen)];
+    }
+
+    public List<Entrada> getEntradas() {
+        return Collections.unmodifiableList(entradas);
+    }
+
+    // Todos los clips usados, para precargarlos
+    public Set<String> clips() {
+        Set<String> todos = new LinkedHashSet<>();
+        for (Entrada entrada : entradas) Collections.addAll(todos, entrada.clips);
+        return todos;
+    }
+}
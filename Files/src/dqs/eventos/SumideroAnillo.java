@@ -0,0 +1,90 @@
+package dqs.eventos;
+
+import dqs.modelos.Personaje;
+import java.util.Arrays;
+
+// Guarda los últimos eventos en arreglos preasignados. Al llenarse sobrescribe los
+// más antiguos. Publicar no crea objetos. No es seguro para varios hilos escritores.
+public class SumideroAnillo implements SumideroEventos {
+
+    private final int mascara;
+    private final byte[] tipos;
+    private final Personaje[] origenes;
+    private final Personaje[] objetivos;
+    private final int[] valores;
+    private final int[] valoresPrevios;
+    private final int[] detalles;
+    private long publicados;
+
+    // Constructor: la capacidad se redondea a la siguiente potencia de 2
+    public SumideroAnillo(int capacidad) {
+        if (capacidad < 1 || capacidad > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad inválida para el anillo de eventos: " + capacidad);
+        }
+        int tamaño = Integer.highestOneBit(capacidad);
+        if (tamaño < capacidad) tamaño <<= 1;
+
+        this.mascara = tamaño - 1;
+        this.tipos = new byte[tamaño];
+        this.origenes = new Personaje[tamaño];
+        this.objetivos = new Personaje[tamaño];
+        this.valores = new int[tamaño];
+        this.valoresPrevios = new int[tamaño];
+        this.detalles = new int[tamaño];
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle) {
+        int i = (int) publicados & mascara;
+        tipos[i] = (byte) tipo.ordinal();
+        origenes[i] = origen;
+        objetivos[i] = objetivo;
+        valores[i] = valor;
+        valoresPrevios[i] = valorPrevio;
+        detalles[i] = detalle;
+        publicados++;
+    }
+
+    // Número de eventos disponibles (como máximo la capacidad)
+    public int tamaño() {
+        return (int) Math.min(publicados, capacidad());
+    }
+
+    public int capacidad() {
+        return mascara + 1;
+    }
+
+    // Total de eventos publicados, incluidos los sobrescritos
+    public long getPublicados() {
+        return publicados;
+    }
+
+    // Acceso por posición: 0 es el evento más antiguo que sigue guardado
+    public TipoEvento getTipo(int posicion) { return TipoEvento.desdeOrdinal(tipos[indice(posicion)]); }
+    public Personaje getOrigen(int posicion) { return origenes[indice(posicion)]; }
+    public Personaje getObjetivo(int posicion) { return objetivos[indice(posicion)]; }
+    public int getValor(int posicion) { return valores[indice(posicion)]; }
+    public int getValorPrevio(int posicion) { return valoresPrevios[indice(posicion)]; }
+    public int getDetalle(int posicion) { return detalles[indice(posicion)]; }
+
+    // Texto del evento en la posición indicada, igual al de la consola
+    public String formatear(int posicion) {
+        int i = indice(posicion);
+        return SumideroConsola.formatear(TipoEvento.desdeOrdinal(tipos[i]), origenes[i], objetivos[i],
+                valores[i], valoresPrevios[i], detalles[i]);
+    }
+
+    public void limpiar() {
+        Arrays.fill(origenes, null);
+        Arrays.fill(objetivos, null);
+        publicados = 0;
+    }
+
+    private int indice(int posicion) {
+        int tamaño = tamaño();
+        if (posicion < 0 || posicion >= tamaño) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + " fuera del anillo de " + tamaño + " eventos.");
+        }
+        return (int) (publicados - tamaño + posicion) & mascara;
+    }
+}
@@ -0,0 +1,43 @@
+package dqs.eventos;
+
+import dqs.modelos.Enemigo;
+import dqs.modelos.Heroe;
+import dqs.modelos.Personaje;
+import java.io.PrintStream;
+
+// Muestra los eventos con los mismos textos que imprimía el juego por consola
+public class SumideroConsola implements SumideroEventos {
+
+    public static final SumideroConsola INSTANCIA = new SumideroConsola(System.out);
+
+    private final PrintStream salida;
+
+    // Constructor
+    public SumideroConsola(PrintStream salida) {
+        if (salida == null) {
+            throw new IllegalArgumentException("La salida no puede ser nula.");
+        }
+        this.salida = salida;
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle) {
+        salida.println(formatear(tipo, origen, objetivo, valor, valorPrevio, detalle));
+    }
+
+    // Construye el texto de un evento
+    public static String formatear(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle) {
+        return String.format(tipo.getMensaje(),
+                nombre(origen), nombre(objetivo), valor, valorPrevio, detalle, nombreTipo(origen));
+    }
+
+    private static String nombre(Personaje personaje) {
+        return personaje == null ? "" : personaje.getNombre();
+    }
+
+    private static String nombreTipo(Personaje personaje) {
+        if (personaje instanceof Heroe heroe) return heroe.getTipo().name();
+        if (personaje instanceof Enemigo enemigo) return enemigo.getTipo().name();
+        return "";
+    }
+}
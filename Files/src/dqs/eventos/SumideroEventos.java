@@ -0,0 +1,11 @@
+package dqs.eventos;
+
+import dqs.modelos.Personaje;
+
+// Destino de los eventos de combate. Recibe los datos como argumentos primitivos
+// para que publicar un evento no cree objetos.
+public interface SumideroEventos {
+
+    void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle);
+
+}
@@ -0,0 +1,28 @@
+package dqs.eventos;
+
+import dqs.modelos.Personaje;
+
+// Reenvía cada evento a varios sumideros, en orden (p. ej. consola y audio)
+public class SumideroMultiple implements SumideroEventos {
+
+    private final SumideroEventos[] destinos;
+
+    public SumideroMultiple(SumideroEventos... destinos) {
+        if (destinos == null || destinos.length == 0) {
+            throw new IllegalArgumentException("Debe haber al menos un sumidero.");
+        }
+        for (SumideroEventos destino : destinos) {
+            if (destino == null) {
+                throw new IllegalArgumentException("Los sumideros no pueden ser nulos.");
+            }
+        }
+        this.destinos = destinos.clone();
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle) {
+        for (SumideroEventos destino : destinos) {
+            destino.publicar(tipo, origen, objetivo, valor, valorPrevio, detalle);
+        }
+    }
+}
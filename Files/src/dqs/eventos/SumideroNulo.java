@@ -0,0 +1,17 @@
+package dqs.eventos;
+
+import dqs.modelos.Personaje;
+
+// Descarta todos los eventos (simulaciones automáticas)
+public final class SumideroNulo implements SumideroEventos {
+
+    public static final SumideroNulo INSTANCIA = new SumideroNulo();
+
+    private SumideroNulo() {
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle) {
+        // Sin oyentes: no se hace nada
+    }
+}
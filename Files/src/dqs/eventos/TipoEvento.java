@@ -0,0 +1,91 @@
+package dqs.eventos;
+
+// Tipos de eventos de combate. Cada uno guarda el texto que se mostraba por consola.
+// Argumentos del formato: %1$s origen, %2$s objetivo, %3$d valor, %4$d valor previo,
+// %5$d detalle, %6$s tipo del origen
+public enum TipoEvento {
+    // Daño y derrotas
+    DAÑO("%1$s ataca a %2$s causando %3$d puntos de daño!"),
+    ATAQUE("%1$s (%6$s) ataca a %2$s causando %3$d puntos de daño!"),
+    HABILIDAD_ESPECIAL("%1$s (%6$s) usa su habilidad especial contra %2$s causando %3$d puntos de daño!"),
+    DERROTA("%2$s ha sido derrotado!"),
+
+    // Defensa por tanque
+    DEFENSA_APLICADA("%1$s defiende a %2$s! Defensa combinada: %5$d | Daño reducido de %4$d a %3$d"),
+    DEFENSA_ASIGNADA("%1$s ahora está defendiendo a %2$s"),
+    DEFENDIENDO("%1$s está defendiendo a %2$s! Los próximos ataques tendrán defensa combinada."),
+    DEFENSA_RETIRADA("%2$s ya no está siendo defendido."),
+    DEFENSA_ABANDONADA("%1$s ha dejado de defender a %2$s"),
+    DEFENSA_AUMENTADA("%1$s aumenta su defensa en %3$d puntos durante %4$d turnos."),
+
+    // Provocación
+    PROVOCACION_APLICADA("%2$s ha sido provocado por %1$s! Debe atacar al tanque en su próximo turno."),
+    PROVOCANDO("%1$s provoca a %2$s! El enemigo debe atacar al tanque en su próximo turno."),
+    PROVOCACION_MASIVA("%1$s provoca a todos los enemigos vivos!"),
+    PROVOCACION_RETIRADA("%2$s ya no está provocado."),
+    OBJETIVO_FORZADO("%1$s está provocado y debe atacar a %2$s"),
+
+    // Curación
+    CURACION("%1$s ha curado a %2$s por %3$d puntos de vida."),
+    REVIVIR("%1$s ha revivido a %2$s con %3$d puntos de vida."),
+    YA_VIVO("%2$s ya está vivo."),
+    MANA_RESTAURADO("%1$s ha restaurado %3$d puntos de MP a %2$s."),
+    EFECTOS_ELIMINADOS("%1$s elimina efectos negativos de %2$s."),
+
+    // Acciones sin objetivo
+    ELIGIENDO_ACCION("%1$s (%6$s) esta eligiendo su acción..."),
+    SIN_OBJETIVO("%1$s no encuentra objetivos válidos para atacar."),
+    OBJETIVO_INVALIDO("%1$s no puede atacar a un objetivo inválido o muerto."),
+    SIN_HEROES("%1$s no tiene héroes a los que atacar."),
+    SIN_HEROES_VIVOS("%1$s no encontró héroes vivos para atacar."),
+    SIN_ENEMIGOS_VIVOS("%1$s no encuentra enemigos vivos para atacar."),
+
+    // Acciones rechazadas por falta de MP
+    MP_INSUFICIENTE_AUMENTAR_DEFENSA("%1$s no tiene suficiente MP para aumentar defensa."),
+    MP_INSUFICIENTE_DEFENDER("%1$s no tiene suficiente MP para defender."),
+    MP_INSUFICIENTE_PROVOCAR("%1$s no tiene suficiente MP para provocar."),
+    MP_INSUFICIENTE_PROVOCAR_TODOS("%1$s no tiene suficiente MP para provocar a todos los enemigos. Costo: %3$d"),
+    MP_INSUFICIENTE_CURAR("%1$s no tiene suficiente MP para curar."),
+    MP_INSUFICIENTE_REVIVIR("%1$s no tiene suficiente MP para revivir."),
+    MP_INSUFICIENTE_RESTAURAR("%1$s no tiene suficiente MP para restaurar."),
+
+    // Acciones rechazadas por tipo de héroe
+    NO_PUEDE_AUMENTAR_DEFENSA("%1$s no puede aumentar defensa."),
+    NO_PUEDE_DEFENDER("%1$s no puede defender a otros."),
+    NO_PUEDE_PROVOCAR("%1$s no puede provocar enemigos."),
+    NO_PUEDE_CURAR("%1$s no puede curar."),
+    NO_PUEDE_REVIVIR("%1$s no puede revivir a otros."),
+    NO_PUEDE_RESTAURAR_MANA("%1$s no puede restaurar mana."),
+    NO_PUEDE_ELIMINAR_EFECTOS("%1$s no puede eliminar efectos negativos de %2$s."),
+
+    // Efectos temporales (al final, para no cambiar los ordinales de las repeticiones grabadas)
+    DEBILITADO("%1$s debilita a %2$s: su ataque baja %3$d puntos durante %4$d turnos."),
+    ARMADURA_ROTA("%1$s rompe la armadura de %2$s: su defensa baja %3$d puntos durante %4$d turnos."),
+    ENVENENADO("%1$s envenena a %2$s: sufrirá %3$d puntos de daño por turno durante %4$d turnos."),
+    DAÑO_VENENO("%2$s sufre %3$d puntos de daño por veneno."),
+    AUMENTO_DEFENSA_TERMINADO("%2$s pierde el aumento de defensa de %3$d puntos."),
+    DEBILIDAD_TERMINADA("%2$s recupera %3$d puntos de ataque."),
+    ARMADURA_RESTAURADA("%2$s recupera %3$d puntos de defensa."),
+    VENENO_TERMINADO("%2$s ya no está envenenado."),
+
+    // Habilidades configurables (TablaHabilidades)
+    MP_INSUFICIENTE_ELIMINAR_EFECTOS("%1$s no tiene suficiente MP para eliminar efectos negativos.");
+
+    private static final TipoEvento[] VALORES = values();
+
+    private final String mensaje;
+
+    // Constructor
+    TipoEvento(String mensaje) {
+        this.mensaje = mensaje;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    // Acceso sin copiar el arreglo de values()
+    public static TipoEvento desdeOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+}
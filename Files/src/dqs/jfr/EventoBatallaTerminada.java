@@ -0,0 +1,42 @@
+package dqs.jfr;
+
+import dqs.modelos.Batalla;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Fin de una batalla con su desenlace
+@Name("dqs.BatallaTerminada")
+@Label("Batalla terminada")
+@Category({"DQS", "Combate"})
+@Enabled(false)
+@StackTrace(false)
+@Description("Desenlace, turnos jugados y supervivientes de cada equipo")
+public class EventoBatallaTerminada extends Event {
+
+    @Label("Desenlace")
+    String desenlace;
+
+    @Label("Turnos")
+    int turnos;
+
+    @Label("Héroes vivos")
+    int heroesVivos;
+
+    @Label("Enemigos vivos")
+    int enemigosVivos;
+
+    public static void emitir(Batalla batalla, String desenlace) {
+        EventoBatallaTerminada evento = new EventoBatallaTerminada();
+        if (!evento.shouldCommit()) return;
+        evento.desenlace = desenlace;
+        evento.turnos = batalla.getTurnoActual();
+        evento.heroesVivos = batalla.getCantidadHeroesVivos();
+        evento.enemigosVivos = batalla.getCantidadEnemigosVivos();
+        evento.commit();
+    }
+}
@@ -0,0 +1,49 @@
+package dqs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Daño aplicado en Personaje.recibir_daño
+@Name("dqs.DanoAplicado")
+@Label("Daño aplicado")
+@Category({"DQS", "Combate"})
+@Enabled(false)
+@StackTrace(false)
+@Description("Daño recibido por un personaje antes y después de la defensa")
+public class EventoImpacto extends Event {
+
+    @Label("Objetivo")
+    String objetivo;
+
+    @Label("Daño bruto")
+    int dañoBruto;
+
+    @Label("Daño final")
+    int dañoFinal;
+
+    @Label("Defendido por tanque")
+    boolean defendido;
+
+    @Label("Defensor")
+    String defensor;
+
+    @Label("HP restante")
+    int hpRestante;
+
+    public static void emitir(String objetivo, int dañoBruto, int dañoFinal, String defensor, int hpRestante) {
+        EventoImpacto evento = new EventoImpacto();
+        if (!evento.shouldCommit()) return;
+        evento.objetivo = objetivo;
+        evento.dañoBruto = dañoBruto;
+        evento.dañoFinal = dañoFinal;
+        evento.defendido = defensor != null;
+        evento.defensor = defensor;
+        evento.hpRestante = hpRestante;
+        evento.commit();
+    }
+}
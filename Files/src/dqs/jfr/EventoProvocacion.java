@@ -0,0 +1,37 @@
+package dqs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Un personaje empieza o deja de estar provocado
+@Name("dqs.ProvocacionCambiada")
+@Label("Provocación cambiada")
+@Category({"DQS", "Combate"})
+@Enabled(false)
+@StackTrace(false)
+@Description("Se aplica o se retira la provocación de un tanque")
+public class EventoProvocacion extends Event {
+
+    @Label("Provocado")
+    String provocado;
+
+    @Label("Provocador")
+    String provocador;
+
+    @Label("Activa")
+    boolean activa;
+
+    public static void emitir(String provocado, String provocador, boolean activa) {
+        EventoProvocacion evento = new EventoProvocacion();
+        if (!evento.shouldCommit()) return;
+        evento.provocado = provocado;
+        evento.provocador = provocador;
+        evento.activa = activa;
+        evento.commit();
+    }
+}
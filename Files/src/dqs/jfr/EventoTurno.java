@@ -0,0 +1,59 @@
+package dqs.jfr;
+
+import dqs.modelos.Batalla;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Un turno de combate. Como los demás eventos de dqs está apagado salvo que la grabación use
+// el perfil dqs.jfc. Es un evento con duración: su inicio y su fin marcan el comienzo y el
+// final del turno en la línea de tiempo de JFR.
+@Name("dqs.Turno")
+@Label("Turno")
+@Category({"DQS", "Combate"})
+@Enabled(false)
+@StackTrace(false)
+@Description("Turno de combate con los vivos de cada equipo al empezar y al terminar")
+public class EventoTurno extends Event {
+
+    @Label("Turno")
+    int turno;
+
+    @Label("Héroes vivos al inicio")
+    int heroesVivosInicio;
+
+    @Label("Enemigos vivos al inicio")
+    int enemigosVivosInicio;
+
+    @Label("Héroes vivos al final")
+    int heroesVivosFinal;
+
+    @Label("Enemigos vivos al final")
+    int enemigosVivosFinal;
+
+    // Con la grabación apagada el evento no guarda nada y el JIT elimina la asignación
+    public static EventoTurno iniciar(Batalla batalla, int turno) {
+        EventoTurno evento = new EventoTurno();
+        if (evento.isEnabled()) {
+            evento.turno = turno;
+            evento.heroesVivosInicio = batalla.getCantidadHeroesVivos();
+            evento.enemigosVivosInicio = batalla.getCantidadEnemigosVivos();
+            evento.begin();
+        }
+        return evento;
+    }
+
+    public void terminar(Batalla batalla) {
+        if (!isEnabled()) return;
+        end();
+        if (shouldCommit()) {
+            heroesVivosFinal = batalla.getCantidadHeroesVivos();
+            enemigosVivosFinal = batalla.getCantidadEnemigosVivos();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dqs.main;
+
+import dqs.metricas.HistogramaLatencia;
+import dqs.modelos.Batalla;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Prueba de carga de extremo a extremo: juega el mismo guion en muchas sesiones sin consola,
+// repartidas entre varios hilos, y mide cuánto tarda cada paso del menú y cada sesión completa.
+// Cada sesión tiene su propia batalla (semilla + número de sesión), sin pausas ni ritmo.
+public class ConductorGuiones {
+
+    private final List<String> respuestas;
+    private final int hilos;
+    private final long semilla;
+    private final HistogramaLatencia pasos = new HistogramaLatencia("pasoMenu");
+    private final HistogramaLatencia sesiones = new HistogramaLatencia("sesion");
+    private final AtomicLong batallasJugadas = new AtomicLong();
+    private final AtomicLong guionesIncompletos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+
+    public ConductorGuiones(List<String> respuestas, int hilos, long semilla) {
+        if (respuestas == null) {
+            throw new IllegalArgumentException("Las respuestas no pueden ser nulas.");
+        }
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Debe haber al menos un hilo.");
+        }
+        this.respuestas = List.copyOf(respuestas);
+        this.hilos = hilos;
+        this.semilla = semilla;
+    }
+
+    // Juega 'cantidad' sesiones y espera a que terminen todas
+    public void ejecutar(int cantidad) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        for (int i = 0; i < cantidad; i++) {
+            long semillaSesion = semilla + i;
+            pool.execute(() -> jugar(semillaSesion, new PrintStream(OutputStream.nullOutputStream())));
+        }
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    // Una sesión completa con el guion; la salida va al flujo dado
+    public void jugar(long semillaSesion, PrintStream salida) {
+        EntradaGuion entrada = new EntradaGuion(respuestas, pasos);
+        SesionJuego sesion = new SesionJuego(entrada, salida, new Batalla(semillaSesion));
+        sesion.setPausas(false);
+        long inicio = System.nanoTime();
+        try {
+            sesion.ejecutar();
+            sesiones.registrar(System.nanoTime() - inicio);
+            batallasJugadas.addAndGet(entrada.getBatallas());
+            if (!entrada.isTerminado()) guionesIncompletos.incrementAndGet();
+        } catch (RuntimeException e) {
+            fallos.incrementAndGet();
+            System.err.println("Sesión " + semillaSesion + " falló: " + e);
+        }
+    }
+
+    // Getters
+    public HistogramaLatencia getPasos() { return pasos; }
+    public HistogramaLatencia getSesiones() { return sesiones; }
+    public long getBatallasJugadas() { return batallasJugadas.get(); }
+    public long getGuionesIncompletos() { return guionesIncompletos.get(); }
+    public long getFallos() { return fallos.get(); }
+
+    // Uso: ConductorGuiones <guion> [sesiones] [hilos] [semilla]
+    // Con una sola sesión la salida del juego se muestra en consola.
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Uso: ConductorGuiones <guion> [sesiones] [hilos] [semilla]");
+            return;
+        }
+        List<String> respuestas = EntradaGuion.leer(Path.of(args[0]));
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int hilos = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long semilla = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        ConductorGuiones conductor = new ConductorGuiones(respuestas, hilos, semilla);
+
+        long inicio;
+        if (cantidad == 1) {
+            inicio = System.nanoTime();
+            conductor.jugar(semilla, System.out);
+        } else {
+            // Una ronda corta para calentar la JVM antes de medir
+            new ConductorGuiones(respuestas, hilos, semilla).ejecutar(Math.min(cantidad, 200));
+            inicio = System.nanoTime();
+            conductor.ejecutar(cantidad);
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        HistogramaLatencia pasos = conductor.getPasos();
+        HistogramaLatencia sesiones = conductor.getSesiones();
+        System.out.printf("%d sesiones en %d ms con %d hilos (%.0f sesiones/minuto)%n",
+                cantidad, nanos / 1_000_000, hilos, cantidad * 60e9 / Math.max(nanos, 1));
+        System.out.printf("Pasos de menú: %d | p50 %.1f us | p99 %.1f us | máx %.1f us%n",
+                pasos.getCuenta(), pasos.getP50Micros(), pasos.getP99Micros(), pasos.getMaximoMicros());
+        System.out.printf("Sesiones: p50 %.1f us | p99 %.1f us | máx %.1f us%n",
+                sesiones.getP50Micros(), sesiones.getP99Micros(), sesiones.getMaximoMicros());
+        System.out.printf("Batallas jugadas: %d | guiones sin consumir del todo: %d | fallos: %d%n",
+                conductor.getBatallasJugadas(), conductor.getGuionesIncompletos(), conductor.getFallos());
+    }
+}
@@ -0,0 +1,35 @@
+package dqs.main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+// Líneas leídas de un flujo (System.in, un socket...). Un único lector por flujo, para que
+// ningún otro se quede con la entrada que tiene en su búfer.
+public class EntradaFlujo implements EntradaJuego {
+
+    private final BufferedReader lector;
+
+    public EntradaFlujo(InputStream entrada) {
+        this(entrada, Charset.defaultCharset());
+    }
+
+    public EntradaFlujo(InputStream entrada, Charset codificacion) {
+        if (entrada == null || codificacion == null) {
+            throw new IllegalArgumentException("La entrada y la codificación no pueden ser nulas.");
+        }
+        this.lector = new BufferedReader(new InputStreamReader(entrada, codificacion));
+    }
+
+    @Override
+    public String leerLinea() {
+        try {
+            return lector.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
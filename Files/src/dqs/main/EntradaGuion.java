@@ -0,0 +1,124 @@
+package dqs.main;
+
+import dqs.metricas.HistogramaLatencia;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Respuestas tomadas de un guion. Formato: una respuesta por línea; las líneas vacías y las
+// que empiezan por # se ignoran, y una línea con un solo - envía una respuesta vacía.
+// Las respuestas entre @combate y @fin se repiten en ciclo hasta que termina la batalla,
+// porque no se sabe de antemano cuántos turnos va a durar. Si un bloque da más de
+// MAX_VUELTAS_COMBATE vueltas sin que termine la batalla (por ejemplo, solo tiene respuestas que
+// el menú rechaza) leerLinea lanza IllegalStateException, así la sesión falla en vez de colgarse.
+// Si se le da un histograma, registra lo que tarda la sesión en procesar cada respuesta
+// (desde que se entrega hasta que se pide la siguiente).
+public class EntradaGuion implements EntradaJuego {
+
+    public static final String RESPUESTA_VACIA = "-";
+    public static final String INICIO_COMBATE = "@combate";
+    public static final String FIN_COMBATE = "@fin";
+    public static final int MAX_VUELTAS_COMBATE = 10_000;
+
+    private final List<String> respuestas;
+    private final HistogramaLatencia pasos; // null: sin medir
+    private int siguiente;
+    private int inicioBloque = -1; // primera respuesta del bloque de combate en curso, -1 fuera de él
+    private int vueltas;           // vueltas del bloque en curso
+    private int consumidas;
+    private int batallas;
+    private long entregada;
+    private boolean midiendo;
+
+    public EntradaGuion(List<String> respuestas) {
+        this(respuestas, null);
+    }
+
+    public EntradaGuion(List<String> respuestas, HistogramaLatencia pasos) {
+        if (respuestas == null) {
+            throw new IllegalArgumentException("Las respuestas no pueden ser nulas.");
+        }
+        validarBloques(respuestas);
+        this.respuestas = respuestas;
+        this.pasos = pasos;
+    }
+
+    // Lee y traduce un guion a la lista de respuestas que recibe la sesión
+    public static List<String> leer(Path guion) throws IOException {
+        return traducir(Files.readAllLines(guion, StandardCharsets.UTF_8));
+    }
+
+    public static List<String> traducir(List<String> lineas) {
+        List<String> respuestas = new ArrayList<>();
+        for (String linea : lineas) {
+            String limpia = linea.strip();
+            if (limpia.isEmpty() || limpia.startsWith("#")) continue;
+            respuestas.add(limpia.equals(RESPUESTA_VACIA) ? "" : limpia);
+        }
+        return respuestas;
+    }
+
+    // Los bloques de combate no se anidan, se cierran y tienen al menos una respuesta
+    private static void validarBloques(List<String> respuestas) {
+        int abierto = -1;
+        for (int i = 0; i < respuestas.size(); i++) {
+            String respuesta = respuestas.get(i);
+            if (respuesta.equals(INICIO_COMBATE)) {
+                if (abierto >= 0) throw new IllegalArgumentException("Bloque " + INICIO_COMBATE + " anidado.");
+                abierto = i;
+            } else if (respuesta.equals(FIN_COMBATE)) {
+                if (abierto < 0) throw new IllegalArgumentException(FIN_COMBATE + " sin " + INICIO_COMBATE + ".");
+                if (i == abierto + 1) throw new IllegalArgumentException("Bloque " + INICIO_COMBATE + " vacío.");
+                abierto = -1;
+            }
+        }
+        if (abierto >= 0) throw new IllegalArgumentException("Falta " + FIN_COMBATE + " en el guion.");
+    }
+
+    @Override
+    public String leerLinea() {
+        if (pasos != null && midiendo) {
+            pasos.registrar(System.nanoTime() - entregada);
+        }
+        while (siguiente < respuestas.size()) {
+            String respuesta = respuestas.get(siguiente);
+            if (respuesta.equals(INICIO_COMBATE)) {
+                inicioBloque = ++siguiente;
+                vueltas = 0;
+            } else if (respuesta.equals(FIN_COMBATE)) {
+                // Fin del bloque sin que haya terminado la batalla: vuelta al principio
+                if (inicioBloque >= 0 && ++vueltas > MAX_VUELTAS_COMBATE) {
+                    midiendo = false;
+                    throw new IllegalStateException("El bloque " + INICIO_COMBATE + " que empieza en la respuesta "
+                            + inicioBloque + " dio " + MAX_VUELTAS_COMBATE + " vueltas sin que terminara la batalla.");
+                }
+                siguiente = inicioBloque >= 0 ? inicioBloque : siguiente + 1;
+            } else {
+                siguiente++;
+                consumidas++;
+                midiendo = true;
+                entregada = System.nanoTime();
+                return respuesta;
+            }
+        }
+        midiendo = false;
+        return null;
+    }
+
+    // Salta al final del bloque de combate en curso
+    @Override
+    public void batallaTerminada() {
+        batallas++;
+        if (inicioBloque < 0) return;
+        while (!respuestas.get(siguiente).equals(FIN_COMBATE)) siguiente++;
+        siguiente++;
+        inicioBloque = -1;
+    }
+
+    public int getConsumidas() { return consumidas; }
+    public int getBatallas() { return batallas; }
+    public boolean isTerminado() { return siguiente == respuestas.size(); }
+}
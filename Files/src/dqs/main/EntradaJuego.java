@@ -0,0 +1,12 @@
+package dqs.main;
+
+// De dónde lee una sesión de juego sus respuestas: una línea por llamada, null cuando la
+// entrada se acaba (consola cerrada, fin del guion o cliente desconectado)
+public interface EntradaJuego {
+
+    String leerLinea();
+
+    // La sesión avisa al terminar cada batalla; los guiones lo usan para salir de un bloque de combate
+    default void batallaTerminada() {
+    }
+}
@@ -0,0 +1,833 @@
+package dqs.main;
+
+import dqs.audio.MotorAudio;
+import dqs.eventos.SumideroConsola;
+import dqs.eventos.SumideroEventos;
+import dqs.eventos.SumideroMultiple;
+import dqs.jfr.EventoBatallaTerminada;
+import dqs.jfr.EventoTurno;
+import dqs.modelos.*;
+import dqs.persistencia.CodecBatalla;
+import dqs.simulacion.BucleBatalla;
+import dqs.simulacion.Desenlace;
+import dqs.simulacion.FaseEnemigos;
+import dqs.simulacion.InstantaneaBatalla;
+import dqs.simulacion.Intencion;
+import dqs.simulacion.MotorSimulacion;
+import dqs.simulacion.PoliticaEnemigo;
+import dqs.simulacion.ResultadoSimulacion;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Una partida completa por menús: lee las respuestas de una EntradaJuego y escribe todo
+// (menús y eventos de combate) en su propia salida. Cada sesión tiene su batalla, así que
+// varias pueden jugarse a la vez en hilos distintos.
+public class SesionJuego {
+    public static final String SONIDO_MENU = "interface/interface1.wav";
+    private static final int MAX_TURNOS = 50; // por batalla jugada, antes de declarar empate
+
+    private final EntradaJuego entrada;
+    private final PrintStream salida;
+    private SumideroEventos eventos;
+    private Batalla batalla;
+    private BucleBatalla bucle = null;                // null: acciones enemigas sin pausa, en este hilo
+    private PoliticaEnemigo politicaEnemigos = null;  // null: reglas clásicas
+    private MotorAudio audio = null;                  // null: sin sonido
+    private boolean pausas = true;                    // "Presione Enter..." entre turnos
+    // Sesión de un cliente remoto: sin guardar ni cargar (rutas del servidor) ni simulación
+    // automática (usa el pool común, compartido con las demás sesiones)
+    private boolean remota = false;
+
+    // Constructores
+    public SesionJuego(EntradaJuego entrada, PrintStream salida) {
+        this(entrada, salida, new Batalla());
+    }
+
+    public SesionJuego(EntradaJuego entrada, PrintStream salida, Batalla batalla) {
+        if (entrada == null || salida == null || batalla == null) {
+            throw new IllegalArgumentException("La entrada, la salida y la batalla no pueden ser nulas.");
+        }
+        this.entrada = entrada;
+        this.salida = salida;
+        this.batalla = batalla;
+        this.eventos = salida == System.out ? SumideroConsola.INSTANCIA : new SumideroConsola(salida);
+    }
+
+    // Configuración
+    public void setBucle(BucleBatalla bucle) { this.bucle = bucle; }
+    public void setPoliticaEnemigos(PoliticaEnemigo politica) { this.politicaEnemigos = politica; }
+    public void setPausas(boolean pausas) { this.pausas = pausas; }
+    public void setRemota(boolean remota) { this.remota = remota; }
+
+    // Sonido del menú y, si se da, un sumidero extra que recibe los eventos de combate
+    public void setAudio(MotorAudio audio, SumideroEventos sonidosCombate) {
+        this.audio = audio;
+        SumideroEventos texto = salida == System.out ? SumideroConsola.INSTANCIA : new SumideroConsola(salida);
+        this.eventos = sonidosCombate == null ? texto : new SumideroMultiple(texto, sonidosCombate);
+    }
+
+    public Batalla getBatalla() { return batalla; }
+    public PrintStream getSalida() { return salida; }
+
+    // Ejecuta el menú principal hasta que el jugador sale o se acaba la entrada
+    public void ejecutar() {
+        salida.println("  ¡Bienvenido al Sistema de Batallas RPG!");
+        salida.println("==========================================");
+        try {
+            mostrarMenuPrincipal();
+        } catch (FinDeEntrada e) {
+            salida.println("\nNo hay entrada disponible. Terminando la sesión.");
+        }
+        salida.flush();
+    }
+    
+    private void mostrarMenuPrincipal() {
+        while (true) {
+            salida.println("\n=== MENÚ PRINCIPAL ===");
+            salida.println("1. Crear Equipos");
+            salida.println("2. Mostrar Equipos");
+            salida.println("3. Iniciar Batalla");
+            salida.println("4. Prueba de Mecánicas");
+            if (!remota) {
+                salida.println("5. Simulación Automática");
+                salida.println("6. Guardar Partida");
+                salida.println("7. Cargar Partida");
+            }
+            salida.println("8. Salir");
+            salida.print("Seleccione una opción: ");
+            
+            int opcion = leerEntero();
+            if (audio != null) audio.reproducir(SONIDO_MENU);
+            if (remota && opcion >= 5 && opcion <= 7) {
+                salida.println(" Opción no disponible en sesiones remotas.");
+                continue;
+            }
+            
+            switch (opcion) {
+                case 1 -> menuCrearEquipos();
+                case 2 -> batalla.mostrarEquipos(salida);
+                case 3 -> iniciarBatalla();
+                case 4 -> menuPruebaMecanicas();
+                case 5 -> simulacionAutomatica();
+                case 6 -> guardarPartida();
+                case 7 -> cargarPartida();
+                case 8 -> {
+                    salida.println("¡Gracias por jugar! ");
+                    return;
+                }
+                default -> salida.println(" Opción inválida. Intente de nuevo.");
+            }
+        }
+    }
+    
+    private void menuCrearEquipos() {
+        salida.println("\n=== CREACIÓN DE EQUIPOS ===");
+        salida.println("1. Crear Equipo de Héroes");
+        salida.println("2. Crear Equipo de Enemigos");
+        salida.println("3. Crear Héroe Individual");
+        salida.println("4. Crear Enemigo Individual");
+        salida.println("5. Volver al Menú Principal");
+        salida.print("Seleccione una opción: ");
+        
+        int opcion = leerEntero();
+        
+        switch (opcion) {
+            case 1 -> crearEquipoHeroes();
+            case 2 -> crearEquipoEnemigos();
+            case 3 -> crearHeroeIndividual();
+            case 4 -> crearEnemigoIndividual();
+            default -> salida.println(" Opción inválida.");
+        }
+    }
+    
+    private void crearHeroeIndividual() {
+        int tamaño = batalla.getEquipoHeroes().length;
+        salida.print("Ingrese la posición (1-" + tamaño + "): ");
+        int posicion = leerEntero() - 1;
+        
+        if (posicion >= 0 && posicion < tamaño) {
+            crearYAgregarHeroe(posicion);
+        } else {
+            salida.println(" Posición inválida.");
+        }
+    }
+    
+    private void crearEnemigoIndividual() {
+        int tamaño = batalla.getEquipoEnemigos().length;
+        salida.print("Ingrese la posición (1-" + tamaño + "): ");
+        int posicion = leerEntero() - 1;
+        
+        if (posicion >= 0 && posicion < tamaño) {
+            salida.println("Seleccione el tipo de enemigo:");
+            Tipo_Enemigo[] tipos = Tipo_Enemigo.values();
+            for (int i = 0; i < tipos.length; i++) {
+                salida.println((i + 1) + ". " + tipos[i].name() + " - " + tipos[i].getDescripcion());
+            }
+            salida.print("Tipo: ");
+            int tipoIndex = leerEntero() - 1;
+            
+            if (tipoIndex >= 0 && tipoIndex < tipos.length) {
+                salida.print("Nombre del enemigo: ");
+                String nombre = leerLinea();
+                Enemigo enemigo = Enemigo.crearEnemigo(tipos[tipoIndex], nombre, batalla.getAleatorio());
+                enemigo.setEventos(eventos);
+                batalla.agregarEnemigo(enemigo, posicion);
+                salida.println(" Enemigo creado exitosamente!");
+                enemigo.mostrarEstado(salida);
+            } else {
+                salida.println(" Tipo inválido.");
+            }
+        } else {
+            salida.println(" Posición inválida.");
+        }
+    }
+    
+    // Los personajes publican sus eventos en la salida de esta sesión
+    private void conectarEventos(Personaje[] personajes) {
+        for (Personaje personaje : personajes) {
+            if (personaje != null) personaje.setEventos(eventos);
+        }
+    }
+    
+    private void crearEquipoHeroes() {
+        salida.println("\n=== CREACIÓN DEL EQUIPO DE HÉROES ===");
+        for (int i = 0; i < batalla.getEquipoHeroes().length; i++) {
+            crearYAgregarHeroe(i);
+        }
+        salida.println("\n¡Equipo de héroes completo!");
+    }
+    
+    // Una oleada con todos los tipos mezclados, sacada de la fuente de la batalla
+    private void crearEquipoEnemigos() {
+        salida.println("\n=== CREACIÓN DEL EQUIPO DE ENEMIGOS ===");
+        Enemigo[] oleada = new Enemigo[batalla.getEquipoEnemigos().length];
+        GeneradorOleadas generador = GeneradorOleadas.uniforme();
+        generador.setNombres(i -> "Enemigo " + (i + 1));
+        generador.setEventos(eventos);
+        generador.generar(oleada, 0, oleada.length, batalla.getAleatorio().siguienteLargo());
+        for (int i = 0; i < oleada.length; i++) {
+            batalla.agregarEnemigo(oleada[i], i);
+            salida.println("Posición " + (i + 1) + ": " + oleada[i].getNombre() + " [" + oleada[i].getTipo().name() + "]");
+        }
+        salida.println("\n¡Equipo de enemigos completo!");
+    }
+    
+    private void crearYAgregarHeroe(int posicion) {
+        salida.println("\n=== Creando héroe para la posición " + (posicion + 1) + " ===");
+        Heroe heroe = crearHeroe();
+        heroe.setEventos(eventos);
+        batalla.agregarHeroe(heroe, posicion);
+        salida.println("¡Héroe agregado exitosamente!");
+    }
+    
+    // Pide los datos del héroe al jugador
+    private Heroe crearHeroe() {
+        salida.print("Crear héroe: ");
+        salida.print("Nombre: ");
+        String nombre = leerLinea();
+        
+        salida.print("Seleccione el tipo de heroe: ");
+        for (Tipo_Heroe t : Tipo_Heroe.values()) {
+            salida.println("- " + t.name() + ": " + t.getDescripcion());
+        }
+        
+        Tipo_Heroe tipo = null;
+        while (tipo == null) {
+            salida.print("Ingrese el tipo (MAGO/GUERRERO/PALADIN/DRUIDA): ");
+            String tipoIngresado = leerLinea().trim().toUpperCase();
+            try {
+                tipo = Tipo_Heroe.valueOf(tipoIngresado);
+            } catch (IllegalArgumentException e) {
+                salida.println("Tipo inválido. Intente de nuevo.");
+            }
+        }
+        
+        salida.print("\nIngrese los atributos dentro de los rasgos permitidos:");
+        salida.print("HP: " + tipo.getMinHP() + " - " + tipo.getMaxHP());
+        salida.print("MP: " + tipo.getMinMP() + " - " + tipo.getMaxMP());
+        salida.print("Ataque: " + tipo.getMinAtaque() + " - " + tipo.getMaxAtaque());
+        salida.print("Defensa: " + tipo.getMinDefensa() + " - " + tipo.getMaxDefensa());
+        
+        int hp = pedirEnRango("HP", tipo.getMinHP(), tipo.getMaxHP());
+        int mp = pedirEnRango("MP", tipo.getMinMP(), tipo.getMaxMP());
+        int ataque = pedirEnRango("Ataque", tipo.getMinAtaque(), tipo.getMaxAtaque());
+        int defensa = pedirEnRango("Defensa", tipo.getMinDefensa(), tipo.getMaxDefensa());
+        int velocidad = batalla.getAleatorio().enRango(10, 29);
+        
+        return new Heroe(nombre, tipo, hp, mp, ataque, defensa, velocidad);
+    }
+    
+    // Pide un número dentro de un rango hasta que sea válido
+    private int pedirEnRango(String atributo, int min, int max) {
+        while (true) {
+            salida.print(atributo + ": ");
+            try {
+                int valor = Integer.parseInt(leerLinea().trim());
+                if (valor >= min && valor <= max) return valor;
+                salida.println(" El valor debe estar entre " + min + " y " + max + ".");
+            } catch (NumberFormatException e) {
+                salida.println(" Ingresa un número válido.");
+            }
+        }
+    }
+    
+    private void iniciarBatalla() {
+        if (!equiposCompletos()) {
+            salida.println(" Ambos equipos deben tener al menos un miembro para iniciar la batalla.");
+            return;
+        }
+        
+        salida.println("\n ¡LA BATALLA COMIENZA! ");
+        batalla.mostrarEquipos(salida);
+        conectarEventos(batalla.getEquipoHeroes());
+        conectarEventos(batalla.getEquipoEnemigos());
+        
+        simulacionDeBatalla();
+    }
+    
+    // Verificar que ambos equipos tengan al menos un miembro
+    private boolean equiposCompletos() {
+        boolean hayHeroes = false, hayEnemigos = false;
+        
+        for (Heroe heroe : batalla.getEquipoHeroes()) {
+            if (heroe != null) { hayHeroes = true; break; }
+        }
+        
+        for (Enemigo enemigo : batalla.getEquipoEnemigos()) {
+            if (enemigo != null) { hayEnemigos = true; break; }
+        }
+        
+        return hayHeroes && hayEnemigos;
+    }
+    
+    // Guarda los equipos (y el estado de la batalla) en un archivo binario
+    private void guardarPartida() {
+        try {
+            Path archivo = leerArchivoPartida();
+            CodecBatalla.guardar(batalla, archivo);
+            salida.println(" Partida guardada en " + archivo);
+        } catch (IOException | IllegalArgumentException e) {
+            salida.println(" No se pudo guardar la partida: " + e.getMessage());
+        }
+    }
+    
+    private void cargarPartida() {
+        try {
+            Path archivo = leerArchivoPartida();
+            batalla = CodecBatalla.cargar(archivo);
+            salida.println(" Partida cargada desde " + archivo);
+            batalla.mostrarEquipos(salida);
+        } catch (IOException | IllegalArgumentException e) {
+            salida.println(" No se pudo cargar la partida: " + e.getMessage());
+        }
+    }
+    
+    private Path leerArchivoPartida() {
+        salida.print("Archivo de partida [partida.dqs]: ");
+        String nombre = leerLinea().trim();
+        return Path.of(nombre.isEmpty() ? "partida.dqs" : nombre);
+    }
+    
+    // Simula muchas batallas automáticas con los equipos actuales, sin modificarlos
+    private void simulacionAutomatica() {
+        if (!equiposCompletos()) {
+            salida.println(" Ambos equipos deben tener al menos un miembro para simular.");
+            return;
+        }
+        
+        salida.print("Número de batallas a simular: ");
+        int numeroBatallas = leerEntero();
+        if (numeroBatallas <= 0) {
+            salida.println(" El número de batallas debe ser positivo.");
+            return;
+        }
+        
+        long inicio = System.nanoTime();
+        ResultadoSimulacion resultado;
+        try {
+            resultado = new MotorSimulacion()
+                    .simular(batalla.getEquipoHeroes(), batalla.getEquipoEnemigos(), numeroBatallas);
+        } catch (IllegalArgumentException e) {
+            salida.println(" " + e.getMessage());
+            return;
+        }
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        
+        salida.println("\n=== RESULTADO DE LA SIMULACIÓN ===");
+        salida.println(resultado);
+        salida.println("Tiempo: " + duracionMs + " ms");
+    }
+    
+    private void simulacionDeBatalla() {
+        LineaIniciativa linea = batalla.iniciarLineaIniciativa();
+        // Una partida cargada sigue desde su turno; la línea de iniciativa empieza de nuevo
+        // en su turno 1, así que se compara con los turnos jugados desde aquí
+        int inicio = batalla.getTurnoActual();
+        int turno = inicio;
+        
+        while (!batalla.isBatallaTerminada()) {
+            turno++;
+            batalla.setTurnoActual(turno); // antes de actuar, para que los efectos venzan a tiempo
+            salida.println("\n=== TURNO " + turno + " ===");
+            mostrarEstadoActual();
+            EventoTurno evento = EventoTurno.iniciar(batalla, turno);
+            
+            // Actúan, por orden de velocidad, todos los personajes cuya acción cae en este turno.
+            // Los enemigos consecutivos se ejecutan juntos, con pausa entre acciones.
+            List<Enemigo> enemigosPendientes = new ArrayList<>();
+            while (!batalla.isBatallaTerminada() && linea.turnoSiguiente() <= turno - inicio) {
+                Personaje actor = linea.siguiente();
+                if (actor instanceof Heroe heroe) {
+                    if (!enemigosPendientes.isEmpty()) {
+                        turnoEnemigos(enemigosPendientes);
+                        enemigosPendientes.clear();
+                        if (verificarVictoria()) break;
+                    }
+                    turnoHeroeManual(heroe);
+                    verificarVictoria();
+                } else {
+                    enemigosPendientes.add((Enemigo) actor);
+                }
+            }
+            
+            if (!batalla.isBatallaTerminada() && !enemigosPendientes.isEmpty()) {
+                turnoEnemigos(enemigosPendientes);
+                verificarVictoria();
+            }
+            evento.terminar(batalla);
+            if (batalla.isBatallaTerminada()) break;
+            
+            if (turno - inicio >= MAX_TURNOS) { // Límite de seguridad
+                salida.println(" ¡La batalla ha durado demasiado! Es un empate.");
+                EventoBatallaTerminada.emitir(batalla, Desenlace.EMPATE.name());
+                break;
+            }
+            
+            esperarEnter("\nPresione Enter para continuar al siguiente turno...");
+        }
+        entrada.batallaTerminada();
+    }
+    
+    // Turno de los enemigos (automático pero con pausa)
+    private void turnoEnemigos(List<Enemigo> enemigos) {
+        salida.println("\n--- Turno de los Enemigos ---");
+        esperarEnter("Presione Enter para continuar con el turno de los enemigos...");
+        
+        // Las acciones se encolan en el bucle de batalla, que las ejecuta con la pausa del ritmo;
+        // sin bucle se ejecutan directamente
+        List<Runnable> acciones = new ArrayList<>();
+        for (Enemigo enemigo : enemigos) {
+            acciones.add(() -> {
+                if (!enemigo.esta_vivo()) return;
+                salida.println("\n" + enemigo.getNombre() + " está actuando...");
+                if (politicaEnemigos != null) {
+                    Intencion intencion = politicaEnemigos.decidir(InstantaneaBatalla.de(batalla),
+                            enemigo.getPosicionEquipo(), batalla.getAleatorio());
+                    FaseEnemigos.aplicar(enemigo, intencion, batalla.getEquipoHeroes());
+                } else {
+                    enemigo.atacarConProvocacion(convertirHeroesAPersonajes(batalla.getEquipoHeroes()));
+                }
+            });
+        }
+        if (bucle != null) {
+            bucle.ejecutar(acciones);
+        } else {
+            acciones.forEach(Runnable::run);
+        }
+    }
+    
+    private void mostrarEstadoActual() {
+        salida.println("\n ESTADO ACTUAL DE LA BATALLA:");
+        
+        salida.println("\n HÉROES VIVOS:");
+        for (int i = 0; i < batalla.getEquipoHeroes().length; i++) {
+            Heroe heroe = batalla.getEquipoHeroes()[i];
+            if (heroe != null && heroe.esta_vivo()) {
+                salida.println((i + 1) + ". " + heroe.getNombre() + " [" + heroe.getTipo().name() + "] " +
+                                 "HP: " + heroe.getHp() + " | MP: " + heroe.getMp());
+            }
+        }
+        
+        salida.println("\n ENEMIGOS VIVOS:");
+        for (int i = 0; i < batalla.getEquipoEnemigos().length; i++) {
+            Enemigo enemigo = batalla.getEquipoEnemigos()[i];
+            if (enemigo != null && enemigo.esta_vivo()) {
+                salida.println((i + 1) + ". " + enemigo.getNombre() + " [" + enemigo.getTipo().name() + "] " +
+                                 "HP: " + enemigo.getHp() + " | MP: " + enemigo.getMp());
+            }
+        }
+    }
+    
+    // Turno de un héroe (MANUAL)
+    private void turnoHeroeManual(Heroe heroe) {
+        salida.println("\n Es el turno de: " + heroe.getNombre() + " [" + heroe.getTipo().name() + "]");
+        salida.println("HP: " + heroe.getHp() + " | MP: " + heroe.getMp());
+        
+        mostrarMenuAccionHeroe(heroe);
+    }
+    
+    private void mostrarMenuAccionHeroe(Heroe heroe) {
+        while (true) {
+            salida.println("\n¿Qué acción desea realizar?");
+            salida.println("1. Atacar Enemigo");
+            
+            // Opciones que el tipo tiene en la tabla de habilidades
+            for (int opcion = 2; opcion < 9; opcion++) {
+                Habilidad habilidad = Habilidad.desdeOpcion(opcion);
+                if (habilidad != null && heroe.puede(habilidad)) {
+                    salida.println(opcion + ". " + habilidad.getTexto());
+                }
+            }
+            
+            salida.println("9. Pasar Turno");
+            salida.print("Seleccione una opción: ");
+            
+            int opcion = leerEntero();
+            
+            if (ejecutarAccionHeroe(heroe, opcion)) {
+                break; // Salir del bucle cuando se ejecute una acción válida
+            }
+        }
+    }
+    
+    private boolean ejecutarAccionHeroe(Heroe heroe, int opcion) {
+        if (opcion == 1) {
+            return atacarConHeroe(heroe);
+        }
+        if (opcion == 9) {
+            salida.println(heroe.getNombre() + " pasa su turno.");
+            return true;
+        }
+        Habilidad habilidad = Habilidad.desdeOpcion(opcion);
+        if (habilidad != null && heroe.puede(habilidad)) {
+            switch (habilidad) {
+                case DEFENDER -> { return defenderConHeroe(heroe); }
+                case PROVOCAR -> { return provocarConHeroe(heroe); }
+                case AUMENTAR_DEFENSA -> {
+                    heroe.aumentarDefensa();
+                    return true;
+                }
+                case CURAR -> { return curarConHeroe(heroe); }
+                case RESTAURAR_MANA -> { return restaurarManaConHeroe(heroe); }
+                case ELIMINAR_EFECTOS -> { return eliminarEfectoConHeroe(heroe); }
+                case REVIVIR -> { return revivirConHeroe(heroe); }
+                default -> { }
+            }
+        }
+        
+        salida.println(" Opción inválida o no disponible para este tipo de héroe.");
+        return false;
+    }
+    
+    private boolean verificarVictoria() {
+        boolean heroesVivos = batalla.getCantidadHeroesVivos() > 0;
+        boolean enemigosVivos = batalla.getCantidadEnemigosVivos() > 0;
+        
+        if (!heroesVivos) {
+            salida.println("\n ¡Los Enemigos han ganado la batalla!");
+            batalla.setBatallaTerminada(true);
+            EventoBatallaTerminada.emitir(batalla, Desenlace.VICTORIA_ENEMIGOS.name());
+            return true;
+        } else if (!enemigosVivos) {
+            salida.println("\n ¡Los Héroes han ganado la batalla!");
+            batalla.setBatallaTerminada(true);
+            EventoBatallaTerminada.emitir(batalla, Desenlace.VICTORIA_HEROES.name());
+            return true;
+        }
+        
+        return false;
+    }
+    
+    private void menuPruebaMecanicas() {
+        salida.println("\n=== PRUEBA DE MECÁNICAS ===");
+        salida.println("1. Prueba de Defensa del Tanque");
+        salida.println("2. Prueba de Provocación");
+        salida.println("3. Prueba de Curación");
+        salida.println("4. Volver al Menú Principal");
+        salida.print("Seleccione una opción: ");
+        
+        int opcion = leerEntero();
+        
+        switch (opcion) {
+            case 1 -> pruebaDefensaTanque();
+            case 2 -> pruebaProvocacion();
+            case 3 -> pruebaCuracion();
+            default -> salida.println(" Opción inválida.");
+        }
+    }
+    
+    private void pruebaDefensaTanque() {
+        salida.println("\n PRUEBA DE DEFENSA DEL TANQUE ");
+        
+    // Crear personajes de prueba
+        Heroe tanque = new Heroe("Tanque", Tipo_Heroe.GUERRERO, 200, 50, 40, 30, 15);
+        Heroe mago = new Heroe("Mago", Tipo_Heroe.MAGO, 80, 150, 35, 15, 20);
+        Enemigo enemigo = Enemigo.crearEnemigo(Tipo_Enemigo.ORCO, "Orco Feroz", batalla.getAleatorio());
+        conectarEventos(new Personaje[] {tanque, mago, enemigo});
+        
+        salida.println("Antes de la defensa:");
+        mago.mostrarEstado(salida);
+        
+        // El tanque defiende al mago
+        tanque.defender(mago);
+        
+        salida.println("\nEl enemigo ataca al mago defendido:");
+        enemigo.atacar(mago);
+        
+        salida.println("\nDespués del ataque:");
+        mago.mostrarEstado(salida);
+    }
+    
+    private void pruebaProvocacion() {
+        salida.println("\n PRUEBA DE PROVOCACIÓN ");
+        
+        // Crear personajes de prueba
+        Heroe tanque = new Heroe("Tanque", Tipo_Heroe.PALADIN, 180, 80, 35, 35, 18);
+        Heroe mago = new Heroe("Mago", Tipo_Heroe.MAGO, 80, 150, 50, 15, 20);
+        Enemigo enemigo = Enemigo.crearEnemigo(Tipo_Enemigo.TROLL, "Troll Gigante", batalla.getAleatorio());
+        conectarEventos(new Personaje[] {tanque, mago, enemigo});
+        
+        Personaje[] heroes = {tanque, mago};
+        
+        salida.println("Sin provocación - el enemigo puede atacar a cualquiera:");
+        enemigo.seleccionarObjetivo(heroes);
+        
+        // El tanque provoca al enemigo
+        tanque.provocarEnemigo(enemigo);
+        
+        salida.println("\nCon provocación - el enemigo DEBE atacar al tanque:");
+        enemigo.atacarConProvocacion(heroes);
+    }
+    
+    private void pruebaCuracion() {
+        salida.println("\n PRUEBA DE CURACIÓN ");
+        
+        // Crear personajes de prueba
+        Heroe sanador = new Heroe("Druida", Tipo_Heroe.DRUIDA, 120, 200, 30, 25, 18);
+        Heroe herido = new Heroe("Guerrero", Tipo_Heroe.GUERRERO, 50, 30, 45, 30, 15); // HP bajo
+        conectarEventos(new Personaje[] {sanador, herido});
+        
+        salida.println("Antes de la curación:");
+        herido.mostrarEstado(salida);
+        
+        sanador.curar(herido);
+        
+        salida.println("\nDespués de la curación:");
+        herido.mostrarEstado(salida);
+    }
+    
+    // Método auxiliar para convertir Heroe[] a Personaje[]
+    private Personaje[] convertirHeroesAPersonajes(Heroe[] heroes) {
+        Personaje[] personajes = new Personaje[heroes.length];
+        System.arraycopy(heroes, 0, personajes, 0, heroes.length);
+        return personajes;
+    }
+    
+    // Métodos para acciones específicas de héroes
+    private boolean atacarConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el enemigo a atacar:");
+        Enemigo objetivo = seleccionarEnemigo();
+        if (objetivo != null) {
+            heroe.atacar(objetivo);
+            return true;
+        }
+        return false;
+    }
+    
+    private boolean defenderConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el aliado a defender:");
+        Heroe aliado = seleccionarHeroe();
+        if (aliado != null && aliado != heroe) {
+            heroe.defender(aliado);
+            return true;
+        } else if (aliado == heroe) {
+            salida.println(" No puedes defenderte a ti mismo.");
+        }
+        return false;
+    }
+    
+    private boolean provocarConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el enemigo a provocar:");
+        Enemigo enemigo = seleccionarEnemigo();
+        if (enemigo != null) {
+            heroe.provocarEnemigo(enemigo);
+            return true;
+        }
+        return false;
+    }
+    
+    private boolean curarConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el aliado a curar:");
+        Heroe aliado = seleccionarHeroe();
+        if (aliado != null) {
+            heroe.curar(aliado);
+            return true;
+        }
+        return false;
+    }
+    
+    private boolean restaurarManaConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el aliado para restaurar mana:");
+        Heroe aliado = seleccionarHeroe();
+        if (aliado != null) {
+            heroe.restaurarMana(aliado);
+            return true;
+        }
+        return false;
+    }
+    
+    private boolean eliminarEfectoConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el aliado para eliminar efectos negativos:");
+        Heroe aliado = seleccionarHeroe();
+        if (aliado != null) {
+            heroe.eliminarEfectoNegativo(aliado);
+            return true;
+        }
+        return false;
+    }
+    
+    private boolean revivirConHeroe(Heroe heroe) {
+        salida.println("\n Seleccione el aliado a revivir:");
+        Heroe aliado = seleccionarHeroeMuerto();
+        if (aliado != null) {
+            heroe.revivir(aliado);
+            return true;
+        }
+        return false;
+    }
+    
+    private Enemigo seleccionarEnemigo() {
+        salida.println("Enemigos disponibles:");
+        int contador = 1;
+        for (Enemigo enemigo : batalla.getEquipoEnemigos()) {
+            if (enemigo != null && enemigo.esta_vivo()) {
+                salida.println(contador + ". " + enemigo.getNombre() + " [" + enemigo.getTipo().name() + "] " +
+                        "HP: " + enemigo.getHp());
+                contador++;
+            }
+        }
+        salida.println(contador + ". Cancelar");
+        salida.print("Seleccione: ");
+        
+        int opcion = leerEntero();
+        if (opcion == contador) return null; // Cancelar
+        
+        // Buscar el enemigo seleccionado
+        contador = 1;
+        for (Enemigo enemigo : batalla.getEquipoEnemigos()) {
+            if (enemigo != null && enemigo.esta_vivo()) {
+                if (contador == opcion) {
+                    return enemigo;
+                }
+                contador++;
+            }
+        }
+        
+        salida.println(" Selección inválida.");
+        return null;
+    }
+    
+    private Heroe seleccionarHeroe() {
+        salida.println("Héroes disponibles:");
+        int contador = 1;
+        for (Heroe heroe : batalla.getEquipoHeroes()) {
+            if (heroe != null && heroe.esta_vivo()) {
+                salida.println(contador + ". " + heroe.getNombre() + " [" + heroe.getTipo().name() + "] " +
+                        "HP: " + heroe.getHp() + " | MP: " + heroe.getMp());
+                contador++;
+            }
+        }
+        salida.println(contador + ". Cancelar");
+        salida.print("Seleccione: ");
+        
+        int opcion = leerEntero();
+        if (opcion == contador) return null; // Cancelar
+        
+        // Buscar el héroe seleccionado
+        contador = 1;
+        for (Heroe heroe : batalla.getEquipoHeroes()) {
+            if (heroe != null && heroe.esta_vivo()) {
+                if (contador == opcion) {
+                    return heroe;
+                }
+                contador++;
+            }
+        }
+        
+        salida.println(" Selección inválida.");
+        return null;
+    }
+    
+    private Heroe seleccionarHeroeMuerto() {
+        salida.println("Héroes caídos:");
+        int contador = 1;
+        for (Heroe heroe : batalla.getEquipoHeroes()) {
+            if (heroe != null && !heroe.esta_vivo()) {
+                salida.println(contador + ". " + heroe.getNombre() + " [" + heroe.getTipo().name() + "] " +
+                        "HP: " + heroe.getHp());
+                contador++;
+            }
+        }
+        
+        if (contador == 1) {
+            salida.println("No hay héroes caídos para revivir.");
+            return null;
+        }
+        
+        salida.println(contador + ". Cancelar");
+        salida.print("Seleccione: ");
+        
+        int opcion = leerEntero();
+        if (opcion == contador) return null; // Cancelar
+        
+        // Buscar el héroe muerto seleccionado
+        contador = 1;
+        for (Heroe heroe : batalla.getEquipoHeroes()) {
+            if (heroe != null && !heroe.esta_vivo()) {
+                if (contador == opcion) {
+                    return heroe;
+                }
+                contador++;
+            }
+        }
+        
+        salida.println(" Selección inválida.");
+        return null;
+    }
+    
+    private int leerEntero() {
+        while (true) {
+            try {
+                return Integer.parseInt(leerLinea().trim());
+            } catch (NumberFormatException e) {
+                salida.print(" Ingrese un número válido: ");
+            }
+        }
+    }
+    
+    // Si la entrada se acaba, la sesión termina de forma limpia (sin cerrar la JVM)
+    private String leerLinea() {
+        salida.flush();
+        String linea = entrada.leerLinea();
+        if (linea == null) throw new FinDeEntrada();
+        return linea;
+    }
+    
+    // Las pausas solo tienen sentido con una persona delante
+    private void esperarEnter(String mensaje) {
+        if (!pausas) return;
+        salida.println(mensaje);
+        leerLinea();
+    }
+    
+    private static final class FinDeEntrada extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        FinDeEntrada() {
+            super(null, null, false, false);
+        }
+    }
+}
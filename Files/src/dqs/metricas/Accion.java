@@ -0,0 +1,15 @@
+package dqs.metricas;
+
+// Acciones de combate que se cuentan (métodos de Agresivo, Tanque y Sanador)
+public enum Accion {
+    ATACAR,
+    HABILIDAD_ESPECIAL,
+    DEFENDER,
+    AUMENTAR_DEFENSA,
+    PROVOCAR,
+    PROVOCAR_TODOS,
+    CURAR,
+    REVIVIR,
+    RESTAURAR_MANA,
+    ELIMINAR_EFECTOS
+}
@@ -0,0 +1,46 @@
+package dqs.metricas;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Un LongAdder por acción: los hilos del barrido cuentan sin competir por la misma línea de caché
+public class ContadoresAcciones implements ContadoresAccionesMXBean {
+
+    private final LongAdder[] contadores = new LongAdder[Accion.values().length];
+
+    public ContadoresAcciones() {
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] = new LongAdder();
+        }
+    }
+
+    public void incrementar(Accion accion) {
+        contadores[accion.ordinal()].increment();
+    }
+
+    public long getConteo(Accion accion) {
+        return contadores[accion.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getConteos() {
+        Map<String, Long> conteos = new LinkedHashMap<>();
+        for (Accion accion : Accion.values()) {
+            conteos.put(accion.name(), getConteo(accion));
+        }
+        return conteos;
+    }
+
+    @Override
+    public long getTotal() {
+        long total = 0;
+        for (LongAdder contador : contadores) total += contador.sum();
+        return total;
+    }
+
+    @Override
+    public void reiniciar() {
+        for (LongAdder contador : contadores) contador.reset();
+    }
+}
@@ -0,0 +1,13 @@
+package dqs.metricas;
+
+import java.util.Map;
+
+// Vista JMX de los contadores de acciones (dqs:type=Acciones)
+public interface ContadoresAccionesMXBean {
+
+    Map<String, Long> getConteos();
+
+    long getTotal();
+
+    void reiniciar();
+}
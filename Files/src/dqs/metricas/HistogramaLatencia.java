@@ -0,0 +1,112 @@
+package dqs.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma log-lineal al estilo HDR: cada potencia de dos se divide en 32 cubetas, así que
+// cualquier valor se guarda con un error relativo menor del 3 %. Registrar es un incremento
+// atómico sin bloqueos; las lecturas recorren las cubetas y pueden ver un registro a medias.
+public class HistogramaLatencia implements HistogramaLatenciaMXBean {
+
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS;
+
+    private final String nombre;
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    public HistogramaLatencia(String nombre) {
+        if (nombre == null || nombre.isBlank()) {
+            throw new IllegalArgumentException("El histograma debe tener nombre.");
+        }
+        this.nombre = nombre;
+    }
+
+    public void registrar(long nanos) {
+        if (nanos < 0) nanos = 0;
+        cubetas.incrementAndGet(indice(nanos));
+        suma.add(nanos);
+        long actual = maximo.get();
+        while (nanos > actual && !maximo.compareAndSet(actual, nanos)) {
+            actual = maximo.get();
+        }
+    }
+
+    // Los valores menores que 32 tienen cubeta propia; el resto se agrupa por su
+    // potencia de dos y los 5 bits siguientes al más alto
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) return (int) valor;
+        int magnitud = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = magnitud - BITS_SUBCUBETA;
+        int sub = (int) (valor >>> desplazamiento) - SUBCUBETAS;
+        return (desplazamiento + 1) * SUBCUBETAS + sub;
+    }
+
+    // Mayor valor que cae en la cubeta (los percentiles nunca se informan por debajo)
+    static long techo(int indice) {
+        if (indice < SUBCUBETAS) return indice;
+        int grupo = indice / SUBCUBETAS;
+        long inferior = (long) (indice % SUBCUBETAS + SUBCUBETAS) << (grupo - 1);
+        return inferior + (1L << (grupo - 1)) - 1;
+    }
+
+    public long getCuenta() {
+        long cuenta = 0;
+        for (int i = 0; i < CUBETAS; i++) cuenta += cubetas.get(i);
+        return cuenta;
+    }
+
+    // Percentil en nanosegundos (0 < p <= 100)
+    public long percentil(double p) {
+        if (p <= 0 || p > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100.");
+        }
+        long cuenta = getCuenta();
+        if (cuenta == 0) return 0;
+        long objetivo = Math.max(1, (long) Math.ceil(cuenta * p / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cubetas.get(i);
+            if (acumulado >= objetivo) return Math.min(techo(i), maximo.get());
+        }
+        return maximo.get();
+    }
+
+    public long getMaximo() { return maximo.get(); }
+
+    public double getMedia() {
+        long cuenta = getCuenta();
+        return cuenta == 0 ? 0 : (double) suma.sum() / cuenta;
+    }
+
+    @Override
+    public String getNombre() { return nombre; }
+
+    @Override
+    public double getMediaMicros() { return getMedia() / 1_000.0; }
+
+    @Override
+    public double getP50Micros() { return percentil(50) / 1_000.0; }
+
+    @Override
+    public double getP90Micros() { return percentil(90) / 1_000.0; }
+
+    @Override
+    public double getP99Micros() { return percentil(99) / 1_000.0; }
+
+    @Override
+    public double getP999Micros() { return percentil(99.9) / 1_000.0; }
+
+    @Override
+    public double getMaximoMicros() { return getMaximo() / 1_000.0; }
+
+    @Override
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) cubetas.set(i, 0);
+        suma.reset();
+        maximo.set(0);
+    }
+}
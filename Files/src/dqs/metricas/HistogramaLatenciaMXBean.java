@@ -0,0 +1,23 @@
+package dqs.metricas;
+
+// Vista JMX de un histograma de latencia (dqs:type=Latencia,name=...). Tiempos en microsegundos.
+public interface HistogramaLatenciaMXBean {
+
+    String getNombre();
+
+    long getCuenta();
+
+    double getMediaMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaximoMicros();
+
+    void reiniciar();
+}
@@ -0,0 +1,121 @@
+package dqs.metricas;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Contadores de acciones e histogramas de latencia del combate.
+// Se activan con -Ddqs.metricas=true antes de usar la clase. ACTIVAS es una constante, así que
+// con las métricas apagadas el JIT elimina las llamadas y el coste es prácticamente nulo.
+public final class Metricas {
+
+    public static final boolean ACTIVAS = Boolean.getBoolean("dqs.metricas");
+
+    public static final ContadoresAcciones ACCIONES = new ContadoresAcciones();
+    public static final HistogramaLatencia BATALLA = new HistogramaLatencia("batalla");
+    public static final HistogramaLatencia TURNO = new HistogramaLatencia("turno");
+    public static final HistogramaLatencia FASE_ENEMIGOS = new HistogramaLatencia("faseEnemigos");
+    public static final HistogramaLatencia ACCION_HEROE = new HistogramaLatencia("accionHeroe");
+
+    private static final HistogramaLatencia[] HISTOGRAMAS = {BATALLA, TURNO, FASE_ENEMIGOS, ACCION_HEROE};
+
+    private static ScheduledExecutorService volcado = null;
+
+    private Metricas() {
+    }
+
+    public static void contar(Accion accion) {
+        if (ACTIVAS) ACCIONES.incrementar(accion);
+    }
+
+    // Marca de inicio para medir (0 si las métricas están apagadas)
+    public static long inicio() {
+        return ACTIVAS ? System.nanoTime() : 0L;
+    }
+
+    // Registra el tiempo transcurrido y devuelve la marca final, que sirve de inicio de la
+    // siguiente medida (así cada acción cuesta una sola lectura del reloj)
+    public static long registrar(HistogramaLatencia histograma, long inicio) {
+        if (!ACTIVAS) return 0L;
+        long fin = System.nanoTime();
+        histograma.registrar(fin - inicio);
+        return fin;
+    }
+
+    public static void registrar(HistogramaLatencia histograma, long inicio, long fin) {
+        if (ACTIVAS) histograma.registrar(fin - inicio);
+    }
+
+    // Publica los contadores y los histogramas en el servidor de MBeans de la plataforma.
+    // Intervalo en segundos del volcado de texto (-Ddqs.metricas.intervalo); 0 lo desactiva.
+    public static synchronized void iniciar(PrintStream salida) {
+        if (!ACTIVAS) return;
+        registrarMBeans();
+        long intervalo = Long.getLong("dqs.metricas.intervalo", 0L);
+        if (intervalo > 0 && volcado == null) {
+            volcado = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "volcado-metricas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            volcado.scheduleAtFixedRate(() -> salida.print(texto()), intervalo, intervalo, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized void detener() {
+        if (volcado != null) {
+            volcado.shutdownNow();
+            volcado = null;
+        }
+    }
+
+    private static void registrarMBeans() {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            registrar(servidor, ACCIONES, new ObjectName("dqs:type=Acciones"));
+            for (HistogramaLatencia histograma : HISTOGRAMAS) {
+                registrar(servidor, histograma, new ObjectName("dqs:type=Latencia,name=" + histograma.getNombre()));
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron registrar las métricas en JMX.", e);
+        }
+    }
+
+    private static void registrar(MBeanServer servidor, Object mbean, ObjectName nombre) throws JMException {
+        try {
+            servidor.registerMBean(mbean, nombre);
+        } catch (InstanceAlreadyExistsException e) {
+            // ya registrado
+        }
+    }
+
+    // Resumen legible de todas las métricas
+    public static String texto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== MÉTRICAS ===\n");
+        for (Accion accion : Accion.values()) {
+            long conteo = ACCIONES.getConteo(accion);
+            if (conteo > 0) sb.append(String.format(Locale.ROOT, "%-20s %12d%n", accion.name(), conteo));
+        }
+        sb.append(String.format(Locale.ROOT, "%-14s %10s %10s %10s %10s %10s %10s%n",
+                "latencia (µs)", "cuenta", "media", "p50", "p99", "p99.9", "máx"));
+        for (HistogramaLatencia h : HISTOGRAMAS) {
+            sb.append(String.format(Locale.ROOT, "%-14s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    h.getNombre(), h.getCuenta(), h.getMediaMicros(), h.getP50Micros(),
+                    h.getP99Micros(), h.getP999Micros(), h.getMaximoMicros()));
+        }
+        return sb.toString();
+    }
+
+    public static void reiniciar() {
+        ACCIONES.reiniciar();
+        for (HistogramaLatencia h : HISTOGRAMAS) h.reiniciar();
+    }
+}
@@ -1,23 +1,64 @@
 package dqs.modelos;
 
+import java.io.PrintStream;
+import java.util.function.Consumer;
+
 public class Batalla {
 
+    public static final int TAMAÑO_EQUIPO = 5;
+
     private final Heroe[] equipoHeroes;
     private final Enemigo[] equipoEnemigos;
+    private final IndiceVivos heroesVivos;
+    private final IndiceVivos enemigosVivos;
     private int turnoActual;
     private boolean batallaTerminada;
+    private final FuenteAleatoria aleatorio;
+    private LineaIniciativa lineaIniciativa; // null hasta iniciarLineaIniciativa()
+    private RuedaTurnos rueda; // null hasta el primer efecto temporal
+    private final Consumer<Efecto> vencidos = efecto -> efecto.objetivo.alVencerEfecto(efecto, turnoActual);
 
-    // Constructor
+    // Constructores
     public Batalla(){
-        this.equipoHeroes = new Heroe[5];
-        this.equipoEnemigos = new Enemigo[5];
+        this(FuenteAleatoria.POR_HILO);
+    }
+
+    // Batalla reproducible: con la misma semilla y los mismos equipos se repite exactamente
+    public Batalla(long semilla) {
+        this(FuenteAleatoria.conSemilla(semilla));
+    }
+
+    public Batalla(FuenteAleatoria aleatorio) {
+        this(TAMAÑO_EQUIPO, TAMAÑO_EQUIPO, aleatorio);
+    }
+
+    // Equipos de cualquier tamaño
+    public Batalla(int tamañoHeroes, int tamañoEnemigos, long semilla) {
+        this(tamañoHeroes, tamañoEnemigos, FuenteAleatoria.conSemilla(semilla));
+    }
+
+    public Batalla(int tamañoHeroes, int tamañoEnemigos, FuenteAleatoria aleatorio) {
+        if (aleatorio == null) {
+            throw new IllegalArgumentException("La fuente aleatoria no puede ser nula.");
+        }
+        if (tamañoHeroes < 1 || tamañoEnemigos < 1) {
+            throw new IllegalArgumentException("Cada equipo debe tener al menos una posición.");
+        }
+        this.equipoHeroes = new Heroe[tamañoHeroes];
+        this.equipoEnemigos = new Enemigo[tamañoEnemigos];
+        this.heroesVivos = new IndiceVivos(tamañoHeroes);
+        this.enemigosVivos = new IndiceVivos(tamañoEnemigos);
         this.turnoActual = 0;
         this.batallaTerminada = false;
+        this.aleatorio = aleatorio;
     }
 
     // metodos para agregar heroes y enemigos al equipo
+    // (los arreglos de getEquipoHeroes/getEquipoEnemigos no se deben modificar directamente,
+    //  para que el índice de vivos y la línea de iniciativa sigan al día)
     public void agregarHeroe(Heroe heroe, int posicion) {
         if (posicion >= 0 && posicion < equipoHeroes.length) {
+            ocuparPosicion(equipoHeroes[posicion], heroe, posicion);
             equipoHeroes[posicion] = heroe;
         } else {
             throw new IllegalArgumentException("Posición inválida para el equipo de héroes.");
@@ -26,88 +67,129 @@ public class Batalla {
 
     public void agregarEnemigo(Enemigo enemigo, int posicion) {
         if (posicion >= 0 && posicion < equipoEnemigos.length) {
+            if (enemigo != null) enemigo.setAleatorio(aleatorio); // los objetivos salen de la fuente de la batalla
+            ocuparPosicion(equipoEnemigos[posicion], enemigo, posicion);
             equipoEnemigos[posicion] = enemigo;
         } else {
             throw new IllegalArgumentException("Posición inválida para el equipo de enemigos.");
         }
     }
 
-    // Método para crear y agregar héroes directamente al arreglo
-    public void crearYAgregarHeroe(int posicion) {
-        if (posicion >= 0 && posicion < equipoHeroes.length) {
-            System.out.println("\n=== Creando héroe para la posición " + (posicion + 1) + " ===");
-            equipoHeroes[posicion] = Heroe.crearHeroePorConsola();
-            System.out.println("¡Héroe agregado exitosamente!");
-        } else {
-            throw new IllegalArgumentException("Posición inválida para el equipo de héroes.");
-        }
-    }
-
-    // Método para crear y agregar enemigos directamente al arreglo
-    public void crearYAgregarEnemigo(int posicion) {
-        if (posicion >= 0 && posicion < equipoEnemigos.length) {
-            System.out.println("\n=== Creando enemigo para la posición " + (posicion + 1) + " ===");
-            // Usar el primer tipo disponible como valor por defecto y un nombre generado automáticamente.
-            equipoEnemigos[posicion] = Enemigo.crearEnemigo(Tipo_Enemigo.values()[0], "Enemigo " + (posicion + 1));
-            System.out.println("¡Enemigo agregado exitosamente!");
-        } else {
-            throw new IllegalArgumentException("Posición inválida para el equipo de enemigos.");
-        }
-    }
-
-    // Método para crear todo el equipo de héroes
-    public void crearEquipoHeroes() {
-        System.out.println("\n=== CREACIÓN DEL EQUIPO DE HÉROES ===");
-        for (int i = 0; i < equipoHeroes.length; i++) {
-            crearYAgregarHeroe(i);
-        }
-        System.out.println("\n¡Equipo de héroes completo!");
-    }
-
-    // Método para crear todo el equipo de enemigos
-    public void crearEquipoEnemigos() {
-        System.out.println("\n=== CREACIÓN DEL EQUIPO DE ENEMIGOS ===");
-        for (int i = 0; i < equipoEnemigos.length; i++) {
-            crearYAgregarEnemigo(i);
-        }
-        System.out.println("\n¡Equipo de enemigos completo!");
-    }
-
     // Método para mostrar los equipos
     public void mostrarEquipos() {
-        System.out.println("\n=== EQUIPOS DE BATALLA ===");
+        mostrarEquipos(System.out);
+    }
+
+    public void mostrarEquipos(PrintStream salida) {
+        salida.println("\n=== EQUIPOS DE BATALLA ===");
         
-        System.out.println("\nEQUIPO DE HÉROES:");
+        salida.println("\nEQUIPO DE HÉROES:");
         for (int i = 0; i < equipoHeroes.length; i++) {
             if (equipoHeroes[i] != null) {
-                System.out.println((i + 1) + ". " + equipoHeroes[i].toString());
+                salida.println((i + 1) + ". " + equipoHeroes[i].toString());
             } else {
-                System.out.println((i + 1) + ". [Vacío]");
+                salida.println((i + 1) + ". [Vacío]");
             }
         }
         
-        System.out.println("\nEQUIPO DE ENEMIGOS:");
+        salida.println("\nEQUIPO DE ENEMIGOS:");
         for (int i = 0; i < equipoEnemigos.length; i++) {
             if (equipoEnemigos[i] != null) {
-                System.out.println((i + 1) + ". " + equipoEnemigos[i].toString());
+                salida.println((i + 1) + ". " + equipoEnemigos[i].toString());
             } else {
-                System.out.println((i + 1) + ". [Vacío]");
+                salida.println((i + 1) + ". [Vacío]");
             }
         }
     }
 
+    // Quita al personaje saliente de los índices y vincula al entrante
+    private void ocuparPosicion(Personaje saliente, Personaje entrante, int posicion) {
+        if (saliente != null) {
+            indiceDe(saliente).remover(posicion);
+            if (lineaIniciativa != null) lineaIniciativa.remover(saliente);
+            saliente.desvincularBatalla();
+        }
+        if (entrante != null) {
+            entrante.vincularBatalla(this, posicion);
+            if (entrante.esta_vivo()) alCambiarVida(entrante, posicion, true);
+        }
+    }
+
+    // Llamado por Personaje al ser derrotado o revivido. Sincronizado porque en modo concurrente
+    // pueden caer a la vez personajes golpeados desde distintos hilos.
+    synchronized void alCambiarVida(Personaje personaje, int posicion, boolean vivo) {
+        if (vivo) {
+            indiceDe(personaje).agregar(posicion);
+            if (lineaIniciativa != null) lineaIniciativa.agregar(personaje);
+        } else {
+            indiceDe(personaje).remover(posicion);
+            if (lineaIniciativa != null) lineaIniciativa.remover(personaje);
+        }
+    }
+
+    private IndiceVivos indiceDe(Personaje personaje) {
+        return personaje instanceof Heroe ? heroesVivos : enemigosVivos;
+    }
+
+    // Crea la línea de iniciativa con todos los vivos (héroes primero en caso de empate).
+    // Desde entonces los derrotados salen de la línea y los revividos vuelven a entrar.
+    public LineaIniciativa iniciarLineaIniciativa() {
+        lineaIniciativa = new LineaIniciativa();
+        for (Heroe heroe : equipoHeroes) {
+            if (heroe != null && heroe.esta_vivo()) lineaIniciativa.agregar(heroe);
+        }
+        for (Enemigo enemigo : equipoEnemigos) {
+            if (enemigo != null && enemigo.esta_vivo()) lineaIniciativa.agregar(enemigo);
+        }
+        return lineaIniciativa;
+    }
+
+    // Selección de objetivos al azar en O(1) usando el índice de vivos (null si no queda ninguno)
+    public Heroe heroeVivoAleatorio() {
+        int posicion = heroesVivos.elegir(aleatorio);
+        return posicion < 0 ? null : equipoHeroes[posicion];
+    }
+
+    public Enemigo enemigoVivoAleatorio() {
+        int posicion = enemigosVivos.elegir(aleatorio);
+        return posicion < 0 ? null : equipoEnemigos[posicion];
+    }
+
     // Getters
+    public int getCantidadHeroesVivos() { return heroesVivos.tamaño(); }
+    public int getCantidadEnemigosVivos() { return enemigosVivos.tamaño(); }
+    public int getPosicionHeroeVivo(int k) { return heroesVivos.get(k); }
+    public int getPosicionEnemigoVivo(int k) { return enemigosVivos.get(k); }
     public Heroe[] getEquipoHeroes() { return equipoHeroes; }
     public Enemigo[] getEquipoEnemigos() { return equipoEnemigos; }
     public boolean isBatallaTerminada() { return batallaTerminada; }
     public int getTurnoActual() { return turnoActual; }
+    public FuenteAleatoria getAleatorio() { return aleatorio; }
+    public LineaIniciativa getLineaIniciativa() { return lineaIniciativa; }
 
     // Setters
     public void setBatallaTerminada(boolean batallaTerminada){
          this.batallaTerminada = batallaTerminada; }
          
-    public void setTurnoActual(int turnoActual) {
-         this.turnoActual = turnoActual; }
+    // Al avanzar de turno vencen los efectos temporales programados hasta ese turno.
+    // La rueda y los efectos de los personajes se cambian siempre con el cerrojo de la batalla:
+    // en modo concurrente los hilos atacantes también aplican y terminan efectos.
+    public synchronized void setTurnoActual(int turnoActual) {
+         this.turnoActual = turnoActual;
+         if (rueda != null) rueda.avanzarHasta(turnoActual, vencidos);
+    }
+
+    // Vencimientos de efectos temporales, usados por Personaje con el cerrojo ya tomado
+    synchronized void programarEfecto(Efecto efecto, int turno) {
+        if (rueda == null) rueda = new RuedaTurnos(turnoActual);
+        rueda.programar(efecto, turno);
+    }
+
+    synchronized void cancelarEfecto(Efecto efecto) {
+        if (rueda != null) rueda.cancelar(efecto);
+    }
+
+    public synchronized int getEfectosProgramados() { return rueda == null ? 0 : rueda.getCantidad(); }
 
 
 }
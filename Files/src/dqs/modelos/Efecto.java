@@ -0,0 +1,37 @@
+package dqs.modelos;
+
+// Un efecto activo sobre un personaje. Es a la vez el nodo de la RuedaTurnos (lista
+// doblemente enlazada dentro de su ranura), así que programarlo o cancelarlo no crea objetos.
+// Cada personaje reutiliza el mismo Efecto cada vez que recibe un efecto de ese tipo.
+public final class Efecto {
+
+    final TipoEfecto tipo;
+    final Personaje objetivo;
+    boolean activo;
+    Personaje origen;
+    int valor;
+    int turnoFin;      // turno en que termina
+
+    // Estado dentro de la rueda
+    int vence;         // turno en que la rueda lo entrega
+    int nivel = -1;    // -1: no está programado
+    int ranura;
+    Efecto anterior;
+    Efecto siguiente;
+
+    Efecto(TipoEfecto tipo, Personaje objetivo) {
+        this.tipo = tipo;
+        this.objetivo = objetivo;
+    }
+
+    boolean isProgramado() {
+        return nivel >= 0;
+    }
+
+    // Getters
+    public TipoEfecto getTipo() { return tipo; }
+    public Personaje getObjetivo() { return objetivo; }
+    public Personaje getOrigen() { return origen; }
+    public int getValor() { return valor; }
+    public int getTurnoFin() { return turnoFin; }
+}
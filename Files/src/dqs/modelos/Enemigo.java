@@ -1,7 +1,13 @@
 package dqs.modelos;
 
+import dqs.eventos.TipoEvento;
+import dqs.metricas.Accion;
+import dqs.metricas.Metricas;
+import java.io.PrintStream;
+
 public class Enemigo extends Personaje implements Agresivo {
-	private final Tipo_Enemigo tipo;
+	private Tipo_Enemigo tipo; // solo cambia al reutilizarlo desde una ReservaEnemigos
+    private FuenteAleatoria aleatorio = FuenteAleatoria.POR_HILO;
 
 	public Enemigo(String nombre, int hp, int mp, int ataque, int defensa, int velocidad, Tipo_Enemigo tipo) {
 		super(nombre, hp, mp, ataque, defensa, velocidad);
@@ -17,55 +23,95 @@ public class Enemigo extends Personaje implements Agresivo {
         }
 	}
 
+    // Atributos ya sacados de los rangos del tipo (crearEnemigo, GeneradorOleadas): no se
+    // vuelven a validar
+    Enemigo(Tipo_Enemigo tipo, String nombre, int hp, int mp, int ataque, int defensa, int velocidad) {
+        super(nombre, hp, mp, ataque, defensa, velocidad);
+        this.tipo = tipo;
+    }
+
+    // Vuelve a usar un enemigo que ya no está en ninguna batalla como si fuera nuevo
+    void reiniciar(Tipo_Enemigo tipo, String nombre, int hp, int mp, int ataque, int defensa, int velocidad) {
+        reiniciar(nombre, hp, mp, ataque, defensa, velocidad);
+        this.tipo = tipo;
+        this.aleatorio = FuenteAleatoria.POR_HILO;
+    }
+
      public void mostrarEstado() {
-        System.out.println("\n " + nombre + " [" + tipo.name() + "]");
-        System.out.println("HP: " + hp + " | MP: " + mp +
-                           " | Ataque: " + ataque + " | Defensa: " + defensa +
+        mostrarEstado(System.out);
+    }
+
+    public void mostrarEstado(PrintStream salida) {
+        salida.println("\n " + nombre + " [" + tipo.name() + "]");
+        salida.println("HP: " + hp + " | MP: " + mp +
+                           " | Ataque: " + getAtaque() + " | Defensa: " + getDefensa() +
                            " | Velocidad: " + velocidad);
-        System.out.println("Descripción: " + tipo.getDescripcion());
-        System.out.println("--------------------------------------");
+        salida.println("Descripción: " + tipo.getDescripcion());
+        salida.println("--------------------------------------");
     }
 
     public static Enemigo crearEnemigo(Tipo_Enemigo tipo, String nombre) {
-        int hp = (int)(Math.random() * (tipo.getMaxHp() - tipo.getMinHp() + 1)) + tipo.getMinHp();
-        int mp = (int)(Math.random() * (tipo.getMaxMp() - tipo.getMinMp() + 1)) + tipo.getMinMp();
-        int ataque = (int)(Math.random() * (tipo.getMaxAtaque() - tipo.getMinAtaque() + 1)) + tipo.getMinAtaque();
-        int defensa = (int)(Math.random() * (tipo.getMaxDefensa() - tipo.getMinDefensa() + 1)) + tipo.getMinDefensa();
-        int velocidad = (int)(Math.random() * 20 + 10); // Velocidad aleatoria entre 10 y 30
+        return crearEnemigo(tipo, nombre, FuenteAleatoria.POR_HILO);
+    }
 
-        return new Enemigo(nombre, hp, mp, ataque, defensa, velocidad, tipo);
+    // Crea un enemigo con atributos aleatorios tomados de la fuente indicada (siempre dentro de
+    // los rangos del tipo). El enemigo usa la misma fuente para elegir objetivos.
+    public static Enemigo crearEnemigo(Tipo_Enemigo tipo, String nombre, FuenteAleatoria aleatorio) {
+        int hp = aleatorio.enRango(tipo.getMinHp(), tipo.getMaxHp());
+        int mp = aleatorio.enRango(tipo.getMinMp(), tipo.getMaxMp());
+        int ataque = aleatorio.enRango(tipo.getMinAtaque(), tipo.getMaxAtaque());
+        int defensa = aleatorio.enRango(tipo.getMinDefensa(), tipo.getMaxDefensa());
+        int velocidad = aleatorio.enRango(10, 29); // Velocidad aleatoria entre 10 y 30
+
+        Enemigo enemigo = new Enemigo(tipo, nombre, hp, mp, ataque, defensa, velocidad);
+        enemigo.aleatorio = aleatorio;
+        return enemigo;
     }
 
 	public Tipo_Enemigo getTipo() {
 		return tipo;
 	}
 
+    public FuenteAleatoria getAleatorio() {
+        return aleatorio;
+    }
+
+    public void setAleatorio(FuenteAleatoria aleatorio) {
+        if (aleatorio == null) {
+            throw new IllegalArgumentException("La fuente aleatoria no puede ser nula.");
+        }
+        this.aleatorio = aleatorio;
+    }
+
 	@Override
 	public void elegirAccion() {
-		System.out.println(nombre + " (" + tipo.name() + ") esta eligiendo su acción...");
+		publicar(TipoEvento.ELIGIENDO_ACCION, null);
 	}
 
 	@Override
 	public void atacar(Personaje objetivo) {
+        Metricas.contar(Accion.ATACAR);
 		if (objetivo != null && objetivo.esta_vivo()) {
-            int daño = this.ataque - objetivo.getDefensa();
+            int daño = getAtaque() - objetivo.getDefensa();
             if (daño < 1) daño = 1; // Daño mínimo de 1
             
-            objetivo.recibir_daño(daño);
-            System.out.println(this.nombre + " (" + tipo.name() + ") ataca a " + objetivo.getNombre() + 
-                             " causando " + daño + " puntos de daño!");
+            boolean derrotado = objetivo.recibir_daño(daño);
+            publicar(TipoEvento.ATAQUE, objetivo, daño);
             
-            if (!objetivo.esta_vivo()) {
-                System.out.println(objetivo.getNombre() + " ha sido derrotado!");
+            if (derrotado) {
+                publicar(TipoEvento.DERROTA, objetivo);
             }
         } else {
-            System.out.println(this.nombre + " no puede atacar a un objetivo inválido o muerto.");
+            publicar(TipoEvento.OBJETIVO_INVALIDO, objetivo);
         }
 	}
 
-    // Busca y devuelve un héroe vivo aleatorio del array proporcionado
+    // Busca y devuelve un héroe vivo aleatorio del array proporcionado. Si es el equipo de la
+    // batalla del enemigo se elige en O(1) con su índice de vivos; si no, se recorre el array.
     public Heroe buscarHeroeVivo(Heroe[] heroes) {
         if (heroes == null || heroes.length == 0) return null;
+        Batalla batalla = getBatalla();
+        if (batalla != null && heroes == batalla.getEquipoHeroes()) return batalla.heroeVivoAleatorio();
 
         // Contar héroes vivos
         int vivos = 0;
@@ -75,7 +121,7 @@ public class Enemigo extends Personaje implements Agresivo {
         if (vivos == 0) return null;
 
         // Elegir un índice aleatorio entre 0 y vivos-1
-        int elegido = (int) (Math.random() * vivos);
+        int elegido = aleatorio.siguienteEntero(vivos);
         int idx = 0;
         for (Heroe h : heroes) {
             if (h != null && h.esta_vivo()) {
@@ -89,42 +135,54 @@ public class Enemigo extends Personaje implements Agresivo {
     // Permite al enemigo elegir y atacar a un héroe vivo del array proporcionado
     public void atacarAleatorio(Heroe[] heroes) {
         if (heroes == null || heroes.length == 0) {
-            System.out.println(this.nombre + " no tiene héroes a los que atacar.");
+            publicar(TipoEvento.SIN_HEROES, null);
             return;
         }
         Heroe objetivo = buscarHeroeVivo(heroes);
         if (objetivo != null) {
             atacar(objetivo);
         } else {
-            System.out.println(this.nombre + " no encontró héroes vivos para atacar.");
+            publicar(TipoEvento.SIN_HEROES_VIVOS, null);
         }
     }
 
+    // Daño y efecto de la habilidad especial según TablaHabilidades
     @Override
     public void usarHabilidadEspecial(Personaje objetivo) {
-        int daño = this.ataque * 2 - objetivo.getDefensa();
+        Metricas.contar(Accion.HABILIDAD_ESPECIAL);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.HABILIDAD_ESPECIAL);
+        int daño = getAtaque() * tabla.getMultiplicador(i) - objetivo.getDefensa();
         if (daño < 1) daño = 1; // Daño mínimo de 1
         
-        objetivo.recibir_daño(daño);
-        System.out.println(this.nombre + " (" + tipo.name() + ") usa su habilidad especial contra " + objetivo.getNombre() + 
-                         " causando " + daño + " puntos de daño!");
+        boolean derrotado = objetivo.recibir_daño(daño);
+        publicar(TipoEvento.HABILIDAD_ESPECIAL, objetivo, daño);
         
-        if (!objetivo.esta_vivo()) {
-            System.out.println(objetivo.getNombre() + " ha sido derrotado!");
+        TipoEfecto efecto = tabla.getEfecto(i);
+        if (derrotado) {
+            publicar(TipoEvento.DERROTA, objetivo);
+        } else if (efecto != null) {
+            int valor = tabla.getValor(i);
+            int turnos = tabla.getTurnos(i);
+            objetivo.aplicarEfecto(efecto, this, valor, turnos);
+            eventos.publicar(efecto.getAplicado(), this, objetivo, valor, turnos, 0);
         }
     }
 
     public void setDaño(int daño) {
-        if (daño < 0) this.ataque = 0;
-        else this.ataque = daño;
+        synchronized (cerrojo()) {
+            if (daño < 0) this.ataque = 0;
+            else this.ataque = daño;
+            recalcularEfectivos();
+        }
     }
 
     @Override
     public String toString() {
         return "Enemigo: " + nombre + " | " + tipo.name() + " | HP: " + hp +
          " | MP: " + mp +
-         " | Ataque: " + ataque +
-         " | Defensa: " + defensa +
+         " | Ataque: " + getAtaque() +
+         " | Defensa: " + getDefensa() +
          " | Velocidad: " + velocidad;
     }
 }
@@ -0,0 +1,33 @@
+package dqs.modelos;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Fuente de números aleatorios para generar enemigos y elegir objetivos.
+// Sustituye a Math.random(), que comparte un único generador entre todos los hilos.
+@FunctionalInterface
+public interface FuenteAleatoria {
+
+    // Generador propio de cada hilo: sin contención, pero no reproducible
+    FuenteAleatoria POR_HILO = limite -> ThreadLocalRandom.current().nextInt(limite);
+
+    // Devuelve un entero entre 0 (incluido) y limite (excluido)
+    int siguienteEntero(int limite);
+
+    // Devuelve un entero entre min y max, ambos incluidos
+    default int enRango(int min, int max) {
+        return min + siguienteEntero(max - min + 1);
+    }
+
+    // Devuelve un entero largo no negativo (por ejemplo, para derivar otras semillas)
+    default long siguienteLargo() {
+        return ((long) siguienteEntero(Integer.MAX_VALUE) << 31) | siguienteEntero(Integer.MAX_VALUE);
+    }
+
+    // Fuente reproducible: la misma semilla produce siempre la misma secuencia.
+    // No es segura entre hilos; se usa una por batalla.
+    static FuenteAleatoria conSemilla(long semilla) {
+        SplittableRandom generador = new SplittableRandom(semilla);
+        return generador::nextInt;
+    }
+}
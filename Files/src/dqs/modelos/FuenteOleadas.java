@@ -0,0 +1,85 @@
+package dqs.modelos;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Fuente perezosa de enemigos para el modo sin fin (ver dqs.simulacion.BatallaInfinita).
+// Genera de a 'bloque' enemigos con un GeneradorOleadas y los entrega de uno en uno, así que
+// en memoria nunca hay más que un bloque pendiente. Si el generador tiene una ReservaEnemigos,
+// los enemigos devueltos a ella se reutilizan en los bloques siguientes.
+// Con la misma semilla y el mismo bloque la secuencia de enemigos se repite.
+// No se divide (trySplit devuelve null): la batalla los consume en orden.
+public final class FuenteOleadas implements Spliterator<Enemigo> {
+
+    public static final long SIN_LIMITE = -1;
+
+    private final GeneradorOleadas generador;
+    private final Enemigo[] pendientes;
+    private final long semilla;
+    private final long limite;  // SIN_LIMITE: no se agota nunca
+    private long entregados;
+    private long bloques;
+    private int siguiente;
+    private int disponibles;
+
+    public FuenteOleadas(GeneradorOleadas generador, int bloque, long semilla, long limite) {
+        if (generador == null) {
+            throw new IllegalArgumentException("El generador de oleadas no puede ser nulo.");
+        }
+        if (bloque < 1) {
+            throw new IllegalArgumentException("El bloque debe tener al menos un enemigo.");
+        }
+        if (limite < 0 && limite != SIN_LIMITE) {
+            throw new IllegalArgumentException("El límite de enemigos no puede ser negativo.");
+        }
+        this.generador = generador;
+        this.pendientes = new Enemigo[bloque];
+        this.semilla = semilla;
+        this.limite = limite;
+    }
+
+    // Fuente que no se agota
+    public static FuenteOleadas infinita(GeneradorOleadas generador, int bloque, long semilla) {
+        return new FuenteOleadas(generador, bloque, semilla, SIN_LIMITE);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Enemigo> accion) {
+        if (limite != SIN_LIMITE && entregados == limite) return false;
+        if (siguiente == disponibles) rellenar();
+        Enemigo enemigo = pendientes[siguiente];
+        pendientes[siguiente++] = null; // la fuente no retiene a los enemigos entregados
+        entregados++;
+        accion.accept(enemigo);
+        return true;
+    }
+
+    private void rellenar() {
+        int cantidad = pendientes.length;
+        if (limite != SIN_LIMITE) cantidad = (int) Math.min(cantidad, limite - entregados);
+        bloques++;
+        generador.generar(pendientes, 0, cantidad, semilla + bloques * 0x632BE59BD9B4E019L);
+        siguiente = 0;
+        disponibles = cantidad;
+    }
+
+    @Override
+    public Spliterator<Enemigo> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return limite == SIN_LIMITE ? Long.MAX_VALUE : limite - entregados;
+    }
+
+    @Override
+    public int characteristics() {
+        int caracteristicas = ORDERED | NONNULL;
+        return limite == SIN_LIMITE ? caracteristicas : caracteristicas | SIZED;
+    }
+
+    // Getters
+    public long getEntregados() { return entregados; }
+    public GeneradorOleadas getGenerador() { return generador; }
+}
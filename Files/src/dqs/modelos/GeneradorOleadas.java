@@ -0,0 +1,112 @@
+package dqs.modelos;
+
+import dqs.eventos.SumideroConsola;
+import dqs.eventos.SumideroEventos;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// Genera oleadas de enemigos con una mezcla de tipos por pesos.
+//  - El tipo se elige en O(1) con un MuestreoAlias.
+//  - Los atributos salen de los rangos del tipo, así que son válidos sin volver a comprobarlos.
+//  - El enemigo k de una oleada depende solo de la semilla y de k (mezcla SplitMix64, sin
+//    estado compartido): se puede generar en paralelo y repetir con la misma semilla.
+//  - Con una ReservaEnemigos se reutilizan enemigos ya descartados en lugar de crear objetos.
+// Generar es de un solo hilo a la vez (el reparto en paralelo es interno).
+public final class GeneradorOleadas {
+
+    // Por debajo de este tamaño generar en paralelo no compensa
+    public static final int UMBRAL_PARALELO = 4096;
+
+    private static final Tipo_Enemigo[] TIPOS = Tipo_Enemigo.values();
+    private static final int VELOCIDAD_MINIMA = 10; // como en Enemigo.crearEnemigo
+    private static final int VELOCIDAD_MAXIMA = 29;
+
+    private final MuestreoAlias muestreo;
+    private final String[] nombres = new String[TIPOS.length];
+    private ReservaEnemigos reserva;              // null: siempre crea enemigos nuevos
+    private IntFunction<String> nombrar;          // null: el nombre del tipo (sin crear cadenas)
+    private SumideroEventos eventos = SumideroConsola.INSTANCIA;
+    private boolean paralelo = true;
+
+    // Un peso por Tipo_Enemigo, en el orden de values()
+    public GeneradorOleadas(double... pesos) {
+        if (pesos == null || pesos.length != TIPOS.length) {
+            throw new IllegalArgumentException("Debe haber un peso por cada tipo de enemigo (" + TIPOS.length + ").");
+        }
+        this.muestreo = new MuestreoAlias(pesos);
+        for (Tipo_Enemigo tipo : TIPOS) {
+            String nombre = tipo.name();
+            nombres[tipo.ordinal()] = nombre.charAt(0) + nombre.substring(1).toLowerCase();
+        }
+    }
+
+    // Todos los tipos con la misma probabilidad
+    public static GeneradorOleadas uniforme() {
+        double[] pesos = new double[TIPOS.length];
+        Arrays.fill(pesos, 1);
+        return new GeneradorOleadas(pesos);
+    }
+
+    // Llena destino[desde .. desde+cantidad) con una oleada nueva
+    public void generar(Enemigo[] destino, int desde, int cantidad, long semilla) {
+        if (destino == null || desde < 0 || cantidad < 0 || desde + cantidad > destino.length) {
+            throw new IllegalArgumentException("Rango de destino inválido para la oleada.");
+        }
+        int reutilizados = reserva == null ? 0 : reserva.reservar(cantidad);
+        IntStream indices = IntStream.range(0, cantidad);
+        if (paralelo && cantidad >= UMBRAL_PARALELO) indices = indices.parallel();
+        indices.forEach(k -> destino[desde + k] =
+                crear(k < reutilizados ? reserva.tomado(k) : null, desde + k, mezclar(semilla + (k + 1) * 0x9E3779B97F4A7C15L)));
+    }
+
+    private Enemigo crear(Enemigo reutilizado, int posicion, long azar) {
+        Tipo_Enemigo tipo = TIPOS[muestreo.elegir(azar)];
+        long atributos = mezclar(azar); // 16 bits por atributo
+        int hp = enRango(tipo.getMinHp(), tipo.getMaxHp(), atributos);
+        int mp = enRango(tipo.getMinMp(), tipo.getMaxMp(), atributos >>> 16);
+        int ataque = enRango(tipo.getMinAtaque(), tipo.getMaxAtaque(), atributos >>> 32);
+        int defensa = enRango(tipo.getMinDefensa(), tipo.getMaxDefensa(), atributos >>> 48);
+        int velocidad = enRango(VELOCIDAD_MINIMA, VELOCIDAD_MAXIMA, mezclar(atributos));
+        String nombre = nombrar == null ? nombres[tipo.ordinal()] : nombrar.apply(posicion);
+
+        Enemigo enemigo;
+        if (reutilizado != null) {
+            enemigo = reutilizado;
+            enemigo.reiniciar(tipo, nombre, hp, mp, ataque, defensa, velocidad);
+        } else {
+            enemigo = new Enemigo(tipo, nombre, hp, mp, ataque, defensa, velocidad);
+        }
+        enemigo.setEventos(eventos);
+        return enemigo;
+    }
+
+    // Entero entre min y max (incluidos) a partir de los 16 bits bajos de 'bits'
+    private static int enRango(int min, int max, long bits) {
+        return min + (int) (((bits & 0xFFFF) * (max - min + 1)) >>> 16);
+    }
+
+    // Mezcla SplitMix64
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Getters
+    public MuestreoAlias getMuestreo() { return muestreo; }
+    public ReservaEnemigos getReserva() { return reserva; }
+    public boolean isParalelo() { return paralelo; }
+
+    // Setters
+    public void setReserva(ReservaEnemigos reserva) { this.reserva = reserva; }
+    public void setNombres(IntFunction<String> nombrar) { this.nombrar = nombrar; }
+    public void setParalelo(boolean paralelo) { this.paralelo = paralelo; }
+
+    public void setEventos(SumideroEventos eventos) {
+        if (eventos == null) {
+            throw new IllegalArgumentException("El sumidero de eventos no puede ser nulo.");
+        }
+        this.eventos = eventos;
+    }
+}
@@ -0,0 +1,51 @@
+package dqs.modelos;
+
+// Habilidades que se pueden dar a cada tipo en habilidades.properties (ver TablaHabilidades).
+// La opción es el número con el que aparece en el menú del héroe (0: no aparece).
+public enum Habilidad {
+    DEFENDER(2, "Defender Aliado", false),
+    PROVOCAR(3, "Provocar Enemigo", true),
+    AUMENTAR_DEFENSA(4, "Aumentar Defensa", true),
+    CURAR(5, "Curar Aliado", false),
+    RESTAURAR_MANA(6, "Restaurar Mana", false),
+    ELIMINAR_EFECTOS(7, "Eliminar Efecto Negativo", false),
+    REVIVIR(8, "Revivir Aliado", false),
+    PROVOCAR_TODOS(0, "Provocar a Todos", true),  // el costo es por enemigo vivo
+    HABILIDAD_ESPECIAL(0, "Habilidad Especial", false); // de los enemigos
+
+    static final int CANTIDAD = values().length;
+    private static final Habilidad[] VALORES = values();
+    private static final Habilidad[] POR_OPCION = new Habilidad[10];
+
+    static {
+        for (Habilidad habilidad : VALORES) {
+            if (habilidad.opcion > 0) POR_OPCION[habilidad.opcion] = habilidad;
+        }
+    }
+
+    private final int opcion;
+    private final String texto;
+    private final boolean conDuracion; // necesita 'turnos'
+
+    // Constructor
+    Habilidad(int opcion, String texto, boolean conDuracion) {
+        this.opcion = opcion;
+        this.texto = texto;
+        this.conDuracion = conDuracion;
+    }
+
+    public int getOpcion() { return opcion; }
+    public String getTexto() { return texto; }
+    public boolean isConDuracion() { return conDuracion; }
+    int getBit() { return 1 << ordinal(); }
+
+    // Habilidad con ese número de menú, o null
+    public static Habilidad desdeOpcion(int opcion) {
+        return opcion > 0 && opcion < POR_OPCION.length ? POR_OPCION[opcion] : null;
+    }
+
+    // Acceso sin copiar el arreglo de values()
+    public static Habilidad desdeOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+}
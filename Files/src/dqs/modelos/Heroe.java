@@ -1,6 +1,9 @@
 package dqs.modelos;
 
-import java.util.Scanner;
+import dqs.eventos.TipoEvento;
+import dqs.metricas.Accion;
+import dqs.metricas.Metricas;
+import java.io.PrintStream;
 
 public class Heroe extends Personaje implements Sanador, Tanque {
     private final Tipo_Heroe tipo;
@@ -20,141 +23,103 @@ public class Heroe extends Personaje implements Sanador, Tanque {
         }
     }
     
-    //METODO PARA CREAR UN HEROE PIDIENDO DATOS POR CONSOLA
-    public static Heroe crearHeroePorConsola() {
-        Scanner sc = new Scanner(System.in);
-
-        System.out.print("Crear héroe: ");
-        System.out.print("Nombre: ");
-        String nombre = sc.nextLine();
-
-        System.out.print("Seleccione el tipo de heroe: ");
-        for (Tipo_Heroe t : Tipo_Heroe.values()) {
-            System.out.println("- " + t.name() + ": " + t.getDescripcion());
-        }
-
-        Tipo_Heroe tipo = null;
-        while (tipo == null) {
-            System.out.print("Ingrese el tipo (MAGO/GUERRERO/PALADIN/DRUIDA): ");
-            String entrada = sc.nextLine().toUpperCase();
-            try {
-                tipo = Tipo_Heroe.valueOf(entrada);
-            } catch (IllegalArgumentException e) {
-                System.out.println("Tipo inválido. Intente de nuevo.");
-            } 
-        }
-
-        System.out.print("\nIngrese los atributos dentro de los rasgos permitidos:");
-        System.out.print("HP: " + tipo.getMinHP() + " - " + tipo.getMaxHP());
-        System.out.print("MP: " + tipo.getMinMP() + " - " + tipo.getMaxMP());
-        System.out.print("Ataque: " + tipo.getMinAtaque() + " - " + tipo.getMaxAtaque());
-        System.out.print("Defensa: " + tipo.getMinDefensa() + " - " + tipo.getMaxDefensa());
-
-        int hp = pedirEnRango(sc, "HP", tipo.getMinHP(), tipo.getMaxHP());
-        int mp = pedirEnRango(sc, "MP", tipo.getMinMP(), tipo.getMaxMP());
-        int ataque = pedirEnRango(sc, "Ataque", tipo.getMinAtaque(), tipo.getMaxAtaque());
-        int defensa = pedirEnRango(sc, "Defensa", tipo.getMinDefensa(), tipo.getMaxDefensa());
-        int velocidad = (int)(Math.random() * 20 + 10);
-
-        return new Heroe(nombre, tipo, hp, mp, ataque, defensa, velocidad);
-    }
-
-//METODO AUXILIAR PARA PEDIR NUMEROS DENTRO DE UN RANGO
- private static int pedirEnRango(Scanner sc, String atributo, int min, int max) {
-        int valor;
-        while (true) {
-            System.out.print(atributo + ": ");
-            try {
-                valor = Integer.parseInt(sc.nextLine());
-                if (valor >= min && valor <= max) {
-                    break;
-                } else {
-                    System.out.println(" El valor debe estar entre " + min + " y " + max + ".");
-                }
-            } catch (NumberFormatException e) {
-                System.out.println(" Ingresa un número válido.");
-            }
-        }
-        return valor;
+    public void mostrarEstado() {
+        mostrarEstado(System.out);
     }
 
-    public void mostrarEstado() {
-        System.out.println("\n " + nombre + " [" + tipo.name() + "]");
-        System.out.println("HP: " + hp + " | MP: " + mp +
-                           " | Ataque: " + ataque + " | Defensa: " + defensa +
+    public void mostrarEstado(PrintStream salida) {
+        salida.println("\n " + nombre + " [" + tipo.name() + "]");
+        salida.println("HP: " + hp + " | MP: " + mp +
+                           " | Ataque: " + getAtaque() + " | Defensa: " + getDefensa() +
                            " | Velocidad: " + velocidad);
-        System.out.println("Descripción: " + tipo.getDescripcion());
-        System.out.println("--------------------------------------");
+        salida.println("Descripción: " + tipo.getDescripcion());
+        salida.println("--------------------------------------");
     }
 
     public Tipo_Heroe getTipo() {
         return tipo;
     }
 
+    // Crea una copia independiente con los mismos atributos (sin defensa ni provocación activas)
+    public Heroe copiar() {
+        Heroe copia = new Heroe(nombre, tipo, hp, mp, ataque, defensa, velocidad);
+        copia.eventos = this.eventos;
+        return copia;
+    }
+
     @Override
     public void elegirAccion() {
-        System.out.println(nombre + " (" + tipo.name() + ") esta eligiendo su acción...");
+        publicar(TipoEvento.ELIGIENDO_ACCION, null);
     }
     
     // MÉTODOS DE LA INTERFAZ TANQUE
+    // Qué puede hacer cada tipo y cuánto cuesta sale de TablaHabilidades: un índice < 0
+    // significa que el tipo no tiene la habilidad.
     @Override
     public void aumentarDefensa(int defensa) {
-        if (tipo == Tipo_Heroe.GUERRERO || tipo == Tipo_Heroe.PALADIN) {
-            if (mp >= 10) {
-                mp -= 10;
-                this.defensa += defensa;
-                System.out.println(nombre + " aumenta su defensa en " + defensa + " puntos.");
-            } else {
-                System.out.println(nombre + " no tiene suficiente MP para aumentar defensa.");
-            }
+        Metricas.contar(Accion.AUMENTAR_DEFENSA);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.AUMENTAR_DEFENSA);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_AUMENTAR_DEFENSA, null);
+        } else if (gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            // Temporal: volver a usarlo renueva el aumento, no lo acumula
+            int turnos = tabla.getTurnos(i);
+            aplicarEfecto(TipoEfecto.AUMENTO_DEFENSA, this, defensa, turnos);
+            eventos.publicar(TipoEvento.DEFENSA_AUMENTADA, this, this, defensa, turnos, 0);
         } else {
-            System.out.println(nombre + " no puede aumentar defensa.");
+            publicar(TipoEvento.MP_INSUFICIENTE_AUMENTAR_DEFENSA, null);
         }
     }
 
+    // Aumento de defensa con el valor de la tabla
+    public void aumentarDefensa() {
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.AUMENTAR_DEFENSA);
+        aumentarDefensa(i < 0 ? 0 : tabla.getValor(i));
+    }
+
     @Override
     public void defender(Personaje aliado) {
-        if (tipo == Tipo_Heroe.GUERRERO || tipo == Tipo_Heroe.PALADIN) {
-            if (mp >= 10) {
-                mp -= 10;
-                
-                // Remover defensa anterior si existe
-                if (aliado.estaSiendoDefendido()) {
-                    aliado.removerDefensa();
-                }
-                
-                // Activar nueva defensa
-                aliado.recibirDefensa(this);
-                System.out.println(nombre + " está defendiendo a " + aliado.getNombre() + 
-                                 "! Los próximos ataques tendrán defensa combinada.");
-            } else {
-                System.out.println(nombre + " no tiene suficiente MP para defender.");
+        Metricas.contar(Accion.DEFENDER);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.DEFENDER);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_DEFENDER, aliado);
+        } else if (gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            
+            // Remover defensa anterior si existe
+            if (aliado.estaSiendoDefendido()) {
+                aliado.removerDefensa();
             }
+            
+            // Activar nueva defensa
+            aliado.recibirDefensa(this);
+            publicar(TipoEvento.DEFENDIENDO, aliado);
         } else {
-            System.out.println(nombre + " no puede defender a otros.");
+            publicar(TipoEvento.MP_INSUFICIENTE_DEFENDER, aliado);
         }
     }
     
     @Override
     public void provocarEnemigo(Personaje enemigo) {
-        if (tipo == Tipo_Heroe.GUERRERO || tipo == Tipo_Heroe.PALADIN) {
-            if (mp >= 5) {
-                mp -= 5;
-                
-                // Remover provocación anterior si existe
-                if (enemigo.estaProvocado()) {
-                    enemigo.removerProvocacion();
-                }
-                
-                // Aplicar nueva provocación
-                enemigo.serProvocado(this);
-                System.out.println(nombre + " provoca a " + enemigo.getNombre() + 
-                                 "! El enemigo debe atacar al tanque en su próximo turno.");
-            } else {
-                System.out.println(nombre + " no tiene suficiente MP para provocar.");
+        Metricas.contar(Accion.PROVOCAR);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.PROVOCAR);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_PROVOCAR, null);
+        } else if (gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            
+            // Remover provocación anterior si existe
+            if (enemigo.estaProvocado()) {
+                enemigo.removerProvocacion();
             }
+            
+            // Aplicar nueva provocación
+            enemigo.serProvocado(this, tabla.getTurnos(i));
+            publicar(TipoEvento.PROVOCANDO, enemigo);
         } else {
-            System.out.println(nombre + " no puede provocar enemigos.");
+            publicar(TipoEvento.MP_INSUFICIENTE_PROVOCAR, enemigo);
         }
     }
     
@@ -162,117 +127,137 @@ public class Heroe extends Personaje implements Sanador, Tanque {
     public void dejarDeDefender(Personaje aliado) {
         if (aliado.estaSiendoDefendido() && aliado.getDefensor() == this) {
             aliado.removerDefensa();
-            System.out.println(nombre + " ha dejado de defender a " + aliado.getNombre());
+            publicar(TipoEvento.DEFENSA_ABANDONADA, aliado);
         }
     }
     
     // Método para provocar a todos los enemigos en un arreglo (área de efecto)
     public void provocarTodosLosEnemigos(Personaje[] enemigos) {
-        if (tipo == Tipo_Heroe.GUERRERO || tipo == Tipo_Heroe.PALADIN) {    
-            int costoPorEnemigo = 3;
-            int enemigosVivos = 0;
+        Metricas.contar(Accion.PROVOCAR_TODOS);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.PROVOCAR_TODOS);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_PROVOCAR, null);
+            return;
+        }
+        int enemigosVivos = 0;
+        
+        // Contar enemigos vivos
+        for (Personaje enemigo : enemigos) {
+            if (enemigo != null && enemigo.esta_vivo()) {
+                enemigosVivos++;
+            }
+        }
+        
+        // Costo y mínimo son por enemigo vivo
+        int costoTotal = tabla.getCosto(i) * enemigosVivos;
+        
+        if (gastarMp(costoTotal, tabla.getMinimo(i) * enemigosVivos)) {
+            publicar(TipoEvento.PROVOCACION_MASIVA, null);
             
-            // Contar enemigos vivos
             for (Personaje enemigo : enemigos) {
                 if (enemigo != null && enemigo.esta_vivo()) {
-                    enemigosVivos++;
-                }
-            }
-            
-            int costoTotal = costoPorEnemigo * enemigosVivos;
-            
-            if (mp >= costoTotal) {
-                mp -= costoTotal;
-                System.out.println(nombre + " provoca a todos los enemigos vivos!");
-                
-                for (Personaje enemigo : enemigos) {
-                    if (enemigo != null && enemigo.esta_vivo()) {
-                        if (enemigo.estaProvocado()) {
-                            enemigo.removerProvocacion();
-                        }
-                        enemigo.serProvocado(this);
+                    if (enemigo.estaProvocado()) {
+                        enemigo.removerProvocacion();
                     }
+                    enemigo.serProvocado(this, tabla.getTurnos(i));
                 }
-            } else {
-                System.out.println(nombre + " no tiene suficiente MP para provocar a todos los enemigos. Costo: " + costoTotal);
             }
         } else {
-            System.out.println(nombre + " no puede provocar enemigos.");
+            publicar(TipoEvento.MP_INSUFICIENTE_PROVOCAR_TODOS, null, costoTotal);
         }
     }
     // MÉTODOS DE LA INTERFAZ SANADOR
     @Override
     public void curar(Personaje objetivo) {
-        if (tipo == Tipo_Heroe.DRUIDA || tipo == Tipo_Heroe.PALADIN) {
-            if (mp >= 15) {
-                mp -= 15;
-                int curacion = 30;
-                objetivo.setHp(objetivo.getHp() + curacion);
-                System.out.println(nombre + " ha curado a " + objetivo.getNombre() + " por " + curacion + " puntos de vida.");
-            } else {
-                System.out.println(nombre + " no tiene suficiente MP para curar.");
-            }
+        Metricas.contar(Accion.CURAR);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.CURAR);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_CURAR, objetivo);
+        } else if (gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            int curacion = tabla.getValor(i);
+            objetivo.sumarHp(curacion);
+            publicar(TipoEvento.CURACION, objetivo, curacion);
         } else {
-            System.out.println(nombre + " no puede curar.");
+            publicar(TipoEvento.MP_INSUFICIENTE_CURAR, objetivo);
         }
     }
 
     @Override
     public void revivir(Personaje objetivo) {
-        if (tipo == Tipo_Heroe.PALADIN) {
-            if (!objetivo.esta_vivo() && mp >= 25) {
-                mp -= 25;
-                objetivo.setHp(50);
-                System.out.println(nombre + " ha revivido a " + objetivo.getNombre() + " con 50 puntos de vida.");
-            } else if(objetivo.esta_vivo()) {
-                System.out.println(objetivo.getNombre() + " ya está vivo.");
+        Metricas.contar(Accion.REVIVIR);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.REVIVIR);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_REVIVIR, objetivo);
+        } else if (!objetivo.esta_vivo() && gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            int vida = tabla.getValor(i);
+            if (objetivo.revivirCon(vida)) {
+                publicar(TipoEvento.REVIVIR, objetivo, vida);
             } else {
-                System.out.println(nombre + " no tiene suficiente MP para revivir.");
+                // Otro lo revivió a la vez: se devuelve el MP
+                sumarMp(tabla.getCosto(i));
+                publicar(TipoEvento.YA_VIVO, objetivo);
             }
+        } else if(objetivo.esta_vivo()) {
+            publicar(TipoEvento.YA_VIVO, objetivo);
         } else {
-            System.out.println(nombre + " no puede revivir a otros.");
+            publicar(TipoEvento.MP_INSUFICIENTE_REVIVIR, objetivo);
         }
     }
     @Override
     public void restaurarMana(Personaje objetivo) {
-        if (tipo == Tipo_Heroe.DRUIDA) {
-            if (mp >= 20) {
-                mp -= 10;
-                objetivo.setMp(objetivo.getMp() + 25);
-                System.out.println(nombre + " ha restaurado 25 puntos de MP a " + objetivo.getNombre() + ".");
-            } else {
-                System.out.println(nombre + " no tiene suficiente MP para restaurar.");
-            }
+        Metricas.contar(Accion.RESTAURAR_MANA);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.RESTAURAR_MANA);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_RESTAURAR_MANA, objetivo);
+        } else if (gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            int mana = tabla.getValor(i);
+            objetivo.sumarMp(mana);
+            publicar(TipoEvento.MANA_RESTAURADO, objetivo, mana);
         } else {
-            System.out.println(nombre + " no puede restaurar mana.");
+            publicar(TipoEvento.MP_INSUFICIENTE_RESTAURAR, objetivo);
         }
     }
 
     @Override
     public void eliminarEfectoNegativo(Personaje objetivo) {
-        if (tipo == Tipo_Heroe.DRUIDA || tipo == Tipo_Heroe.PALADIN) {
-            System.out.println(nombre + " elimina efectos negativos de " + objetivo.getNombre() + ".");
-            // Lógica para limpiar estados negativos
+        Metricas.contar(Accion.ELIMINAR_EFECTOS);
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        int i = tabla.indice(tipo, Habilidad.ELIMINAR_EFECTOS);
+        if (i < 0) {
+            publicar(TipoEvento.NO_PUEDE_ELIMINAR_EFECTOS, objetivo);
+        } else if (gastarMp(tabla.getCosto(i), tabla.getMinimo(i))) {
+            // Cada efecto quitado anuncia su final
+            int quitados = objetivo.quitarEfectosNegativos();
+            publicar(TipoEvento.EFECTOS_ELIMINADOS, objetivo, quitados);
         } else {
-            System.out.println(nombre + " no puede eliminar efectos negativos de " + objetivo.getNombre() + ".");
+            publicar(TipoEvento.MP_INSUFICIENTE_ELIMINAR_EFECTOS, objetivo);
         }
     }
 
+    // Puede usar la habilidad según la tabla en uso
+    public boolean puede(Habilidad habilidad) {
+        return TablaHabilidades.getActual().permite(tipo, habilidad);
+    }
+
     // MÉTODO DE ATAQUE
     public void atacar(Personaje objetivo) {
+        Metricas.contar(Accion.ATACAR);
         if (objetivo != null && objetivo.esta_vivo()) {
-            int daño = this.ataque - objetivo.getDefensa();
+            int daño = getAtaque() - objetivo.getDefensa();
             if (daño < 1) daño = 1; // Daño mínimo de 1
             
-            objetivo.recibir_daño(daño);
-            System.out.println(this.nombre + " (" + tipo.name() + ") ataca a " + objetivo.getNombre() + 
-                             " causando " + daño + " puntos de daño!");
+            boolean derrotado = objetivo.recibir_daño(daño);
+            publicar(TipoEvento.ATAQUE, objetivo, daño);
             
-            if (!objetivo.esta_vivo()) {
-                System.out.println(objetivo.getNombre() + " ha sido derrotado!");
+            if (derrotado) {
+                publicar(TipoEvento.DERROTA, objetivo);
             }
         } else {
-            System.out.println(this.nombre + " no puede atacar a un objetivo inválido o muerto.");
+            publicar(TipoEvento.OBJETIVO_INVALIDO, objetivo);
         }
     }
 
@@ -282,7 +267,7 @@ public class Heroe extends Personaje implements Sanador, Tanque {
         if (objetivo != null) {
             atacar(objetivo);
         } else {
-            System.out.println(this.nombre + " no encuentra enemigos vivos para atacar.");
+            publicar(TipoEvento.SIN_ENEMIGOS_VIVOS, null);
         }
     }
 
@@ -300,8 +285,8 @@ public class Heroe extends Personaje implements Sanador, Tanque {
     public String toString() {
         return "Heroe: " + nombre + " | " + tipo.name() + " | HP: " + hp +
          " | MP: " + mp +
-         " | Ataque: " + ataque +
-         " | Defensa: " + defensa +
+         " | Ataque: " + getAtaque() +
+         " | Defensa: " + getDefensa() +
          " | Velocidad: " + velocidad;
     }
 }
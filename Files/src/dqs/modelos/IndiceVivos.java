@@ -0,0 +1,68 @@
+package dqs.modelos;
+
+import java.util.Arrays;
+
+// Índice denso de las posiciones vivas de un equipo. Agregar, remover y elegir un
+// vivo al azar cuestan O(1): al remover, el último vivo ocupa el hueco.
+public class IndiceVivos {
+
+    private final int[] vivos;      // posiciones de los vivos, sin huecos
+    private final int[] ubicacion;  // posición del equipo -> lugar en vivos, o -1
+    private int tamaño;
+
+    // Constructor
+    public IndiceVivos(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa.");
+        }
+        this.vivos = new int[capacidad];
+        this.ubicacion = new int[capacidad];
+        Arrays.fill(ubicacion, -1);
+    }
+
+    // Copia el contenido de otro índice de la misma capacidad (sin crear arreglos)
+    public void copiarDesde(IndiceVivos otro) {
+        if (otro.vivos.length != vivos.length) {
+            throw new IllegalArgumentException("Los índices deben tener la misma capacidad.");
+        }
+        System.arraycopy(otro.vivos, 0, vivos, 0, vivos.length);
+        System.arraycopy(otro.ubicacion, 0, ubicacion, 0, ubicacion.length);
+        tamaño = otro.tamaño;
+    }
+
+    public void agregar(int posicion) {
+        if (ubicacion[posicion] >= 0) return;
+        ubicacion[posicion] = tamaño;
+        vivos[tamaño++] = posicion;
+    }
+
+    public void remover(int posicion) {
+        int lugar = ubicacion[posicion];
+        if (lugar < 0) return;
+        int ultimo = vivos[--tamaño];
+        vivos[lugar] = ultimo;
+        ubicacion[ultimo] = lugar;
+        ubicacion[posicion] = -1;
+    }
+
+    public boolean contiene(int posicion) {
+        return ubicacion[posicion] >= 0;
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    // Posición del k-ésimo vivo del índice (el orden cambia al remover)
+    public int get(int k) {
+        if (k < 0 || k >= tamaño) {
+            throw new IndexOutOfBoundsException("No hay un vivo número " + k + " entre " + tamaño + ".");
+        }
+        return vivos[k];
+    }
+
+    // Posición de un vivo al azar, o -1 si no queda ninguno
+    public int elegir(FuenteAleatoria aleatorio) {
+        return tamaño == 0 ? -1 : vivos[aleatorio.siguienteEntero(tamaño)];
+    }
+}
@@ -0,0 +1,158 @@
+package dqs.modelos;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Línea de tiempo de iniciativa: cada personaje actúa cada ESCALA / velocidad unidades
+// de tiempo, así que los más rápidos actúan más seguido. Es un montículo binario
+// indexado: agregar, remover y cambiar la velocidad cuestan O(log n).
+public class LineaIniciativa {
+
+    public static final long ESCALA = 1_000_000L;
+    public static final int VELOCIDAD_REFERENCIA = 20; // actúa una vez por turno
+    public static final long DURACION_TURNO = ESCALA / VELOCIDAD_REFERENCIA;
+
+    private Entrada[] monticulo = new Entrada[16];
+    private int tamaño;
+    private long ahora;
+    private long secuencia; // desempata acciones simultáneas por orden de llegada
+    private final Map<Personaje, Entrada> entradas = new IdentityHashMap<>();
+
+    private static final class Entrada {
+        final Personaje actor;
+        long tiempo;
+        long orden;
+        int velocidad;
+        int posicion;
+
+        Entrada(Personaje actor) {
+            this.actor = actor;
+        }
+    }
+
+    // Programa la próxima acción del personaje (no hace nada si ya está en la línea)
+    public void agregar(Personaje actor) {
+        if (actor == null || entradas.containsKey(actor)) return;
+        Entrada e = new Entrada(actor);
+        e.velocidad = actor.getVelocidad();
+        e.tiempo = ahora + intervalo(e.velocidad);
+        e.orden = secuencia++;
+        entradas.put(actor, e);
+
+        if (tamaño == monticulo.length) {
+            monticulo = Arrays.copyOf(monticulo, tamaño * 2);
+        }
+        e.posicion = tamaño;
+        monticulo[tamaño++] = e;
+        subir(e.posicion);
+    }
+
+    // Quita al personaje de la línea (por ejemplo, al ser derrotado)
+    public void remover(Personaje actor) {
+        Entrada e = entradas.remove(actor);
+        if (e == null) return;
+        int i = e.posicion;
+        Entrada ultima = monticulo[--tamaño];
+        monticulo[tamaño] = null;
+        if (i < tamaño) {
+            colocar(ultima, i);
+            subir(i);
+            bajar(ultima.posicion);
+        }
+    }
+
+    // Devuelve el personaje al que le toca actuar, avanza el reloj hasta su acción
+    // y lo vuelve a programar según su velocidad. Devuelve null si la línea está vacía.
+    public Personaje siguiente() {
+        if (tamaño == 0) return null;
+        Entrada e = monticulo[0];
+        ahora = e.tiempo;
+        e.tiempo = ahora + intervalo(e.velocidad);
+        e.orden = secuencia++;
+        bajar(0);
+        return e.actor;
+    }
+
+    // Cambia la velocidad a mitad de batalla: el tiempo que le faltaba para actuar
+    // se escala en proporción a la nueva velocidad
+    public void cambiarVelocidad(Personaje actor, int velocidad) {
+        actor.setVelocidad(velocidad);
+        Entrada e = entradas.get(actor);
+        if (e == null) return;
+        int anterior = Math.max(e.velocidad, 1);
+        e.velocidad = actor.getVelocidad();
+        long restante = (e.tiempo - ahora) * anterior / Math.max(e.velocidad, 1);
+        e.tiempo = ahora + restante;
+        subir(e.posicion);
+        bajar(e.posicion);
+    }
+
+    public boolean contiene(Personaje actor) {
+        return entradas.containsKey(actor);
+    }
+
+    public boolean estaVacia() {
+        return tamaño == 0;
+    }
+
+    public int tamaño() {
+        return tamaño;
+    }
+
+    // Momento de la próxima acción, o Long.MAX_VALUE si no hay ninguna
+    public long tiempoSiguiente() {
+        return tamaño == 0 ? Long.MAX_VALUE : monticulo[0].tiempo;
+    }
+
+    // Turno (desde 1) en el que cae la próxima acción
+    public int turnoSiguiente() {
+        return tamaño == 0 ? Integer.MAX_VALUE : turnoDe(monticulo[0].tiempo);
+    }
+
+    public long getAhora() {
+        return ahora;
+    }
+
+    public static int turnoDe(long tiempo) {
+        return (int) Math.min((tiempo + DURACION_TURNO - 1) / DURACION_TURNO, Integer.MAX_VALUE);
+    }
+
+    private static long intervalo(int velocidad) {
+        return ESCALA / Math.max(velocidad, 1);
+    }
+
+    private static boolean antes(Entrada a, Entrada b) {
+        return a.tiempo < b.tiempo || (a.tiempo == b.tiempo && a.orden < b.orden);
+    }
+
+    private void subir(int i) {
+        Entrada e = monticulo[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!antes(e, monticulo[padre])) break;
+            colocar(monticulo[padre], i);
+            i = padre;
+        }
+        colocar(e, i);
+    }
+
+    private void bajar(int i) {
+        Entrada e = monticulo[i];
+        int mitad = tamaño >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            int derecho = hijo + 1;
+            if (derecho < tamaño && antes(monticulo[derecho], monticulo[hijo])) hijo = derecho;
+            if (!antes(monticulo[hijo], e)) break;
+            colocar(monticulo[hijo], i);
+            i = hijo;
+        }
+        colocar(e, i);
+    }
+
+    private void colocar(Entrada e, int i) {
+        monticulo[i] = e;
+        e.posicion = i;
+    }
+}
@@ -0,0 +1,93 @@
+package dqs.modelos;
+
+import java.util.Arrays;
+
+// Elige un índice con probabilidad proporcional a su peso en O(1) (método alias de Vose).
+// Cada columna tiene su propio índice y un alias: con 64 bits aleatorios se elige la columna
+// y se decide entre los dos. Inmutable, así que se puede usar desde varios hilos.
+public final class MuestreoAlias {
+
+    private static final int ESCALA = 1 << 30; // umbrales en enteros: sin coma flotante al elegir
+
+    private final int[] umbral;
+    private final int[] alias;
+
+    public MuestreoAlias(double[] pesos) {
+        int n = pesos.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Debe haber al menos un peso.");
+        }
+        double total = 0;
+        for (double peso : pesos) {
+            if (!(peso >= 0) || Double.isInfinite(peso)) {
+                throw new IllegalArgumentException("Los pesos deben ser números finitos no negativos.");
+            }
+            total += peso;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Al menos un peso debe ser mayor que cero.");
+        }
+
+        umbral = new int[n];
+        alias = new int[n];
+        double[] escalado = new double[n];
+        int[] pequeños = new int[n];
+        int[] grandes = new int[n];
+        int cantidadPequeños = 0, cantidadGrandes = 0;
+        for (int i = 0; i < n; i++) {
+            escalado[i] = pesos[i] * n / total;
+            if (escalado[i] < 1) pequeños[cantidadPequeños++] = i;
+            else grandes[cantidadGrandes++] = i;
+        }
+        // Cada columna pequeña se completa con lo que le sobra a una grande
+        while (cantidadPequeños > 0 && cantidadGrandes > 0) {
+            int pequeño = pequeños[--cantidadPequeños];
+            int grande = grandes[cantidadGrandes - 1];
+            umbral[pequeño] = (int) Math.round(escalado[pequeño] * ESCALA);
+            alias[pequeño] = grande;
+            escalado[grande] -= 1 - escalado[pequeño];
+            if (escalado[grande] < 1) {
+                cantidadGrandes--;
+                pequeños[cantidadPequeños++] = grande;
+            }
+        }
+        // Lo que queda vale 1 salvo errores de redondeo: siempre se elige a sí mismo
+        while (cantidadGrandes > 0) {
+            int i = grandes[--cantidadGrandes];
+            umbral[i] = ESCALA;
+            alias[i] = i;
+        }
+        while (cantidadPequeños > 0) {
+            int i = pequeños[--cantidadPequeños];
+            umbral[i] = ESCALA;
+            alias[i] = i;
+        }
+    }
+
+    // Índice elegido con los 64 bits aleatorios dados: los 32 altos eligen la columna
+    // (sin módulo) y los 30 bajos deciden entre la columna y su alias
+    public int elegir(long aleatorio) {
+        int i = (int) (((aleatorio >>> 32) * umbral.length) >>> 32);
+        return ((int) aleatorio & (ESCALA - 1)) < umbral[i] ? i : alias[i];
+    }
+
+    public int getCantidad() {
+        return umbral.length;
+    }
+
+    // Probabilidad de cada índice según la tabla construida (para comprobarla)
+    public double[] probabilidades() {
+        double[] p = new double[umbral.length];
+        for (int i = 0; i < umbral.length; i++) {
+            double propia = (double) umbral[i] / ESCALA;
+            p[i] += propia / umbral.length;
+            p[alias[i]] += (1 - propia) / umbral.length;
+        }
+        return p;
+    }
+
+    @Override
+    public String toString() {
+        return "MuestreoAlias" + Arrays.toString(probabilidades());
+    }
+}
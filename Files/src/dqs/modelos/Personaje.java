@@ -1,30 +1,100 @@
 package dqs.modelos;
 
+import dqs.eventos.SumideroConsola;
+import dqs.eventos.SumideroEventos;
+import dqs.eventos.TipoEvento;
+import dqs.jfr.EventoImpacto;
+import dqs.jfr.EventoProvocacion;
+import dqs.metricas.Accion;
+import dqs.metricas.Metricas;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public abstract class Personaje {
+    // Modo concurrente (-Ddqs.concurrente=true): HP y MP se actualizan con CAS para que varios
+    // hilos puedan golpear o curar al mismo personaje sin un cerrojo global. Apagado se usan
+    // escrituras simples. El cambio de vida y los vínculos de defensa y provocación son
+    // atómicos siempre, porque cambian poco. Los efectos temporales y el paso entre vivo y
+    // derrotado se hacen con el cerrojo de la batalla (ver cerrojo).
+    public static final boolean CONCURRENTE = Boolean.getBoolean("dqs.concurrente");
+
+    public static final int DURACION_PROVOCACION = 2;
+
+    private static final VarHandle HP;
+    private static final VarHandle MP;
+    private static final VarHandle VIVO;
+    private static final VarHandle DEFENSOR;
+    private static final VarHandle PROVOCADOR;
+    private static final VarHandle ATAQUE_EFECTIVO;
+    private static final VarHandle DEFENSA_EFECTIVA;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HP = lookup.findVarHandle(Personaje.class, "hp", int.class);
+            MP = lookup.findVarHandle(Personaje.class, "mp", int.class);
+            VIVO = lookup.findVarHandle(Personaje.class, "esta_vivo", boolean.class);
+            DEFENSOR = lookup.findVarHandle(Personaje.class, "defensor", Personaje.class);
+            PROVOCADOR = lookup.findVarHandle(Personaje.class, "provocador", Personaje.class);
+            ATAQUE_EFECTIVO = lookup.findVarHandle(Personaje.class, "ataqueEfectivo", int.class);
+            DEFENSA_EFECTIVA = lookup.findVarHandle(Personaje.class, "defensaEfectiva", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected String nombre;
     protected int hp;
     protected int mp;
     protected int ataque;
     protected int defensa;
     protected int velocidad;
-    protected boolean esta_vivo = true;
-    protected boolean siendo_defendido = false;
-    protected Personaje defensor = null;
-    protected boolean esta_provocado = false;
-    protected Personaje provocador = null;
+    private boolean esta_vivo = true;
+    private Personaje defensor = null;   // null: nadie lo defiende
+    private Personaje provocador = null; // null: no está provocado
+    protected SumideroEventos eventos = SumideroConsola.INSTANCIA;
+    private Batalla batalla = null; // batalla en la que participa, avisada al morir o revivir
+    private int posicionEquipo = -1;
+    // Efectos temporales por TipoEfecto (null hasta el primero). Ataque y defensa efectivos se
+    // recalculan solo al aplicar o quitar un efecto, no en cada lectura, y se publican con
+    // setRelease porque en modo concurrente los leen los hilos atacantes.
+    private Efecto[] efectos = null;
+    private int ataqueEfectivo;
+    private int defensaEfectiva;
     public String getNombre() { return nombre; }
-    public int getHp() { return hp; }
-    public int getMp() { return mp; }
-    public int getAtaque() { return ataque; }
-    public int getDefensa() { return defensa; }
+    public int getHp() { return CONCURRENTE ? (int) HP.getAcquire(this) : hp; }
+    public int getMp() { return CONCURRENTE ? (int) MP.getAcquire(this) : mp; }
+    public int getAtaque() { return CONCURRENTE ? (int) ATAQUE_EFECTIVO.getAcquire(this) : ataqueEfectivo; }
+    public int getDefensa() { return CONCURRENTE ? (int) DEFENSA_EFECTIVA.getAcquire(this) : defensaEfectiva; }
+    public int getAtaqueBase() { return ataque; }
+    public int getDefensaBase() { return defensa; }
     public int getVelocidad() { return velocidad; }
     public void setHp(int hp) {
-        if (hp < 0) this.hp = 0;
-        else this.hp = hp;
+        HP.setRelease(this, Math.max(hp, 0));
     }
     public void setMp(int mp) {
-        if (mp < 0) this.mp = 0;
-        else this.mp = mp;}
+        MP.setRelease(this, Math.max(mp, 0));
+    }
+    public void setVelocidad(int velocidad) {
+        if (velocidad < 0) this.velocidad = 0;
+        else this.velocidad = velocidad;
+    }
+    public SumideroEventos getEventos() { return eventos; }
+    public void setEventos(SumideroEventos eventos) {
+        if (eventos == null) {
+            throw new IllegalArgumentException("El sumidero de eventos no puede ser nulo.");
+        }
+        this.eventos = eventos;
+    }
+
+    // Métodos auxiliares para publicar eventos de combate
+    protected void publicar(TipoEvento tipo, Personaje objetivo) {
+        eventos.publicar(tipo, this, objetivo, 0, 0, 0);
+    }
+
+    protected void publicar(TipoEvento tipo, Personaje objetivo, int valor) {
+        eventos.publicar(tipo, this, objetivo, valor, 0, 0);
+    }
 
     public Personaje(String nombre, int hp, int mp, int ataque, int defensa, int velocidad) {
         this.nombre = nombre;
@@ -34,92 +104,249 @@ public abstract class Personaje {
         this.defensa = defensa;
         this.velocidad = velocidad;
         this.esta_vivo = hp > 0;
+        this.ataqueEfectivo = ataque;
+        this.defensaEfectiva = defensa;
+    }
+
+    // Cambios de HP y MP: nunca bajan de cero y, en modo concurrente, no se pierde ninguno
+    // aunque lleguen desde varios hilos a la vez. Devuelven el valor resultante.
+    protected final int restarHp(int cantidad) {
+        if (!CONCURRENTE) {
+            hp = Math.max(hp - cantidad, 0);
+            return hp;
+        }
+        int actual, nuevo;
+        do {
+            actual = (int) HP.getAcquire(this);
+            nuevo = Math.max(actual - cantidad, 0);
+        } while (!HP.compareAndSet(this, actual, nuevo));
+        return nuevo;
+    }
+
+    protected final int sumarHp(int cantidad) {
+        if (!CONCURRENTE) {
+            hp = Math.max(hp + cantidad, 0);
+            return hp;
+        }
+        return Math.max((int) HP.getAndAdd(this, cantidad) + cantidad, 0);
+    }
+
+    protected final int sumarMp(int cantidad) {
+        if (!CONCURRENTE) {
+            mp = Math.max(mp + cantidad, 0);
+            return mp;
+        }
+        return Math.max((int) MP.getAndAdd(this, cantidad) + cantidad, 0);
+    }
+
+    // Gasta 'costo' de MP si hay al menos 'minimo'; false (sin gastar nada) si no alcanza
+    protected final boolean gastarMp(int costo) {
+        return gastarMp(costo, costo);
+    }
+
+    protected final boolean gastarMp(int costo, int minimo) {
+        if (!CONCURRENTE) {
+            if (mp < minimo) return false;
+            mp -= costo;
+            return true;
+        }
+        int actual;
+        do {
+            actual = (int) MP.getAcquire(this);
+            if (actual < minimo) return false;
+        } while (!MP.compareAndSet(this, actual, actual - costo));
+        return true;
     }
-    public void recibir_daño(int cantidad){
+
+    // Devuelve true si este golpe lo derrotó (solo uno de los golpes simultáneos lo hace)
+    public boolean recibir_daño(int cantidad){
         int dañoFinal = cantidad;
+        Personaje defensor = getDefensor();
+        Personaje defensorAplicado = null;
         
         // Si está siendo defendido por un tanque, aplicar defensa combinada
-        if (siendo_defendido && defensor != null && defensor.esta_vivo()) {
-            int defensaCombinada = this.defensa + defensor.getDefensa();
+        if (defensor != null && defensor.esta_vivo()) {
+            defensorAplicado = defensor;
+            int defensaCombinada = getDefensa() + defensor.getDefensa();
             dañoFinal = cantidad - defensaCombinada;
             
             // Daño mínimo de 1
             if (dañoFinal < 1) dañoFinal = 1;
             
-            System.out.println(defensor.getNombre() + " defiende a " + this.nombre + 
-                             "! Defensa combinada: " + defensaCombinada + 
-                             " | Daño reducido de " + cantidad + " a " + dañoFinal);
+            eventos.publicar(TipoEvento.DEFENSA_APLICADA, defensor, this, dañoFinal, cantidad, defensaCombinada);
         } else {
             // Defensa normal
-            dañoFinal = cantidad - this.defensa;
+            dañoFinal = cantidad - getDefensa();
             if (dañoFinal < 1) dañoFinal = 1;
         }
         
-        hp -= dañoFinal;
-        if (hp < 0) hp = 0;
-        esta_vivo = hp > 0;
-        
-        // Si el personaje muere, remover la defensa
-        if (!esta_vivo) {
+        int restante = restarHp(dañoFinal);
+        EventoImpacto.emitir(nombre, cantidad, dañoFinal,
+                defensorAplicado == null ? null : defensorAplicado.getNombre(), restante);
+        return restante == 0 && derrotar();
+    }
+
+    // Si el personaje muere, remover la defensa y sus efectos. Con el cerrojo, para que no se
+    // cruce con revivirCon: un golpe que dejó el HP en 0 antes de que lo revivieran ya no lo derrota.
+    private boolean derrotar() {
+        synchronized (cerrojo()) {
+            if (getHp() > 0 || !actualizarVida(false)) return false;
             removerDefensa();
+            terminarEfectos();
+            return true;
+        }
+    }
+
+    // Revive con 'hp' si estaba derrotado; false si ya estaba vivo. El HP y el estado de vida
+    // cambian juntos con el cerrojo, así que un golpe simultáneo no lo deja vivo con 0 de HP
+    // ni derrotado con HP.
+    protected final boolean revivirCon(int hp) {
+        synchronized (cerrojo()) {
+            if (esta_vivo()) return false;
+            setHp(hp);
+            return actualizarVida(true);
         }
     }
     public boolean esta_vivo() {
-        return esta_vivo;
+        return (boolean) VIVO.getAcquire(this);
+    }
+
+    // Cambia el estado de vida y avisa a la batalla para que actualice sus índices.
+    // Devuelve false si ya estaba en ese estado: entre varios hilos solo uno hace el cambio.
+    protected boolean actualizarVida(boolean vivo) {
+        if (!VIVO.compareAndSet(this, !vivo, vivo)) return false;
+        if (batalla != null) batalla.alCambiarVida(this, posicionEquipo, vivo);
+        return true;
+    }
+
+    // Deja al personaje como recién creado (reservas de personajes reutilizables)
+    void reiniciar(String nombre, int hp, int mp, int ataque, int defensa, int velocidad) {
+        if (batalla != null) {
+            throw new IllegalStateException("No se puede reutilizar un personaje que sigue en una batalla.");
+        }
+        synchronized (cerrojo()) {
+            quitarEfectos();
+            this.ataque = ataque;
+            this.defensa = defensa;
+            recalcularEfectivos();
+        }
+        this.nombre = nombre;
+        setHp(hp);
+        setMp(mp);
+        this.velocidad = velocidad;
+        VIVO.setRelease(this, hp > 0);
+        DEFENSOR.setRelease(this, null);
+        PROVOCADOR.setRelease(this, null);
+    }
+
+    // Métodos usados por Batalla al colocar o quitar al personaje de un equipo
+    // (los efectos pertenecen a la batalla: al entrar o salir de una se quitan)
+    void vincularBatalla(Batalla batalla, int posicion) {
+        synchronized (cerrojo()) {
+            quitarEfectos();
+        }
+        this.batalla = batalla;
+        this.posicionEquipo = posicion;
+    }
+
+    void desvincularBatalla() {
+        synchronized (cerrojo()) {
+            quitarEfectos();
+        }
+        this.batalla = null;
+        this.posicionEquipo = -1;
+    }
+
+    // Batalla en la que participa, o null
+    Batalla getBatalla() {
+        return batalla;
+    }
+
+    // Posición en su equipo dentro de la batalla, o -1 si no participa en ninguna
+    public int getPosicionEquipo() {
+        return posicionEquipo;
+    }
+
+    // Restaura el estado de combate sin publicar eventos (estados compactos e instantáneas).
+    // Ataque y defensa son los efectivos: se quitan los efectos y pasan a ser los valores base.
+    public void restaurarEstado(int hp, int mp, int ataque, int defensa, boolean vivo,
+                                Personaje defensor, Personaje provocador) {
+        synchronized (cerrojo()) {
+            quitarEfectos();
+            this.ataque = ataque;
+            this.defensa = defensa;
+            recalcularEfectivos();
+        }
+        setHp(hp);
+        setMp(mp);
+        actualizarVida(vivo);
+        DEFENSOR.setRelease(this, defensor);
+        PROVOCADOR.setRelease(this, provocador);
     }
     
-    // Métodos para manejar la defensa por tanque
+    // Métodos para manejar la defensa por tanque.
+    // El vínculo se publica con una sola escritura y se retira con getAndSet, así que
+    // cada retirada se anuncia una sola vez aunque varios hilos la intenten.
     public void recibirDefensa(Personaje tanque) {
-        this.siendo_defendido = true;
-        this.defensor = tanque;
-        System.out.println(tanque.getNombre() + " ahora está defendiendo a " + this.nombre);
+        DEFENSOR.setRelease(this, tanque);
+        eventos.publicar(TipoEvento.DEFENSA_ASIGNADA, tanque, this, 0, 0, 0);
     }
     
     public void removerDefensa() {
-        if (siendo_defendido) {
-            System.out.println(this.nombre + " ya no está siendo defendido.");
-            this.siendo_defendido = false;
-            this.defensor = null;
+        Personaje anterior = (Personaje) DEFENSOR.getAndSet(this, null);
+        if (anterior != null) {
+            eventos.publicar(TipoEvento.DEFENSA_RETIRADA, anterior, this, 0, 0, 0);
         }
     }
     
     public boolean estaSiendoDefendido() {
-        return siendo_defendido;
+        return getDefensor() != null;
     }
     
     public Personaje getDefensor() {
-        return defensor;
+        return (Personaje) DEFENSOR.getAcquire(this);
     }
     
     // Métodos para manejar la provocación
     public void serProvocado(Personaje tanque) {
-        this.esta_provocado = true;
-        this.provocador = tanque;
-        System.out.println(this.nombre + " ha sido provocado por " + tanque.getNombre() + 
-                         "! Debe atacar al tanque en su próximo turno.");
+        serProvocado(tanque, DURACION_PROVOCACION);
+    }
+
+    public void serProvocado(Personaje tanque, int turnos) {
+        synchronized (cerrojo()) {
+            quitarEfecto(TipoEfecto.PROVOCACION);
+            PROVOCADOR.setRelease(this, tanque);
+            EventoProvocacion.emitir(nombre, tanque.getNombre(), true);
+            eventos.publicar(TipoEvento.PROVOCACION_APLICADA, tanque, this, 0, turnos, 0);
+            aplicarEfecto(TipoEfecto.PROVOCACION, tanque, 0, turnos);
+        }
     }
     
     public void removerProvocacion() {
-        if (esta_provocado) {
-            System.out.println(this.nombre + " ya no está provocado.");
-            this.esta_provocado = false;
-            this.provocador = null;
+        synchronized (cerrojo()) {
+            quitarEfecto(TipoEfecto.PROVOCACION);
+        }
+        Personaje anterior = (Personaje) PROVOCADOR.getAndSet(this, null);
+        if (anterior != null) {
+            EventoProvocacion.emitir(nombre, anterior.getNombre(), false);
+            eventos.publicar(TipoEvento.PROVOCACION_RETIRADA, anterior, this, 0, 0, 0);
         }
     }
     
     public boolean estaProvocado() {
-        return esta_provocado;
+        return getProvocador() != null;
     }
     
     public Personaje getProvocador() {
-        return provocador;
+        return (Personaje) PROVOCADOR.getAcquire(this);
     }
     
     // Método para seleccionar objetivo respetando la provocación
     public Personaje seleccionarObjetivo(Personaje[] objetivos) {
         // Si está provocado, debe atacar al provocador si está vivo
-        if (esta_provocado && provocador != null && provocador.esta_vivo()) {
-            System.out.println(this.nombre + " está provocado y debe atacar a " + provocador.getNombre());
+        Personaje provocador = getProvocador();
+        if (provocador != null && provocador.esta_vivo()) {
+            publicar(TipoEvento.OBJETIVO_FORZADO, provocador);
             return provocador;
         }
         
@@ -135,27 +362,202 @@ public abstract class Personaje {
     
     // Método de ataque que respeta la provocación automáticamente
     public void atacarConProvocacion(Personaje[] objetivos) {
+        Metricas.contar(Accion.ATACAR);
         Personaje objetivo = seleccionarObjetivo(objetivos);
         
         if (objetivo != null) {
-            int daño = this.ataque - objetivo.getDefensa();
+            int daño = getAtaque() - objetivo.getDefensa();
             if (daño < 1) daño = 1;
             
-            objetivo.recibir_daño(daño);
-            System.out.println(this.nombre + " ataca a " + objetivo.getNombre() + 
-                             " causando " + daño + " puntos de daño!");
+            boolean derrotado = objetivo.recibir_daño(daño);
+            publicar(TipoEvento.DAÑO, objetivo, daño);
             
-            if (!objetivo.esta_vivo()) {
-                System.out.println(objetivo.getNombre() + " ha sido derrotado!");
+            if (derrotado) {
+                publicar(TipoEvento.DERROTA, objetivo);
                 // Si el objetivo derrotado era el provocador, remover provocación
-                if (objetivo == this.provocador) {
+                if (objetivo == getProvocador()) {
                     this.removerProvocacion();
                 }
             }
         } else {
-            System.out.println(this.nombre + " no encuentra objetivos válidos para atacar.");
+            publicar(TipoEvento.SIN_OBJETIVO, null);
         }
     }
     
+    // EFECTOS TEMPORALES
+    // Duran 'turnos' turnos de la batalla y vencen en su RuedaTurnos; fuera de una batalla no
+    // vencen. Hay como mucho uno de cada tipo: volver a aplicarlo termina el anterior y reutiliza
+    // el mismo Efecto. En modo concurrente los aplican y terminan los hilos atacantes (golpes que
+    // derrotan, habilidades especiales), así que todo cambio de efectos y de la rueda se hace con
+    // cerrojo().
+    public Efecto aplicarEfecto(TipoEfecto tipo, Personaje origen, int valor, int turnos) {
+        if (turnos < 1) {
+            throw new IllegalArgumentException("Un efecto debe durar al menos un turno.");
+        }
+        synchronized (cerrojo()) {
+            Efecto efecto = efecto(tipo);
+            if (efecto.activo) terminarEfecto(efecto);
+            int turno = batalla == null ? 0 : batalla.getTurnoActual();
+            activar(efecto, origen, valor, turno + turnos);
+            return efecto;
+        }
+    }
+
+    // Vuelve a poner un efecto guardado sin publicar eventos (partidas guardadas).
+    // turnoFin es absoluto y debe ser posterior al turno actual de la batalla.
+    public Efecto restaurarEfecto(TipoEfecto tipo, Personaje origen, int valor, int turnoFin) {
+        synchronized (cerrojo()) {
+            int turno = batalla == null ? 0 : batalla.getTurnoActual();
+            if (turnoFin <= turno) {
+                throw new IllegalArgumentException("El efecto " + tipo.name() + " ya terminó en el turno " + turnoFin + ".");
+            }
+            if ((long) turnoFin - turno >= RuedaTurnos.HORIZONTE) {
+                throw new IllegalArgumentException("Un efecto no puede durar más de " + (RuedaTurnos.HORIZONTE - 1) + " turnos.");
+            }
+            Efecto efecto = efecto(tipo);
+            if (efecto.activo) desactivar(efecto);
+            activar(efecto, origen, valor, turnoFin);
+            return efecto;
+        }
+    }
+
+    // Cerrojo de los efectos y de derrotar y revivir: el de la batalla, que también protege su
+    // rueda y sus índices de vivos (alCambiarVida), o el propio personaje si no participa en ninguna
+    final Object cerrojo() {
+        Batalla batalla = this.batalla;
+        return batalla != null ? batalla : this;
+    }
+
+    private Efecto efecto(TipoEfecto tipo) {
+        if (efectos == null) efectos = new Efecto[TipoEfecto.CANTIDAD];
+        Efecto efecto = efectos[tipo.ordinal()];
+        if (efecto == null) {
+            efecto = new Efecto(tipo, this);
+            efectos[tipo.ordinal()] = efecto;
+        }
+        return efecto;
+    }
+
+    private void activar(Efecto efecto, Personaje origen, int valor, int turnoFin) {
+        efecto.activo = true;
+        efecto.origen = origen;
+        efecto.valor = valor;
+        efecto.turnoFin = turnoFin;
+        if (batalla != null) {
+            // El veneno vence cada turno para hacer daño; el resto, solo al terminar
+            int turno = batalla.getTurnoActual();
+            batalla.programarEfecto(efecto, efecto.tipo == TipoEfecto.VENENO ? turno + 1 : turnoFin);
+        }
+        recalcularEfectivos();
+    }
+
+    public boolean tieneEfecto(TipoEfecto tipo) {
+        return getEfecto(tipo) != null;
+    }
+
+    // Efecto activo de ese tipo, o null
+    public Efecto getEfecto(TipoEfecto tipo) {
+        synchronized (cerrojo()) {
+            return efectoActivo(tipo);
+        }
+    }
+
+    private Efecto efectoActivo(TipoEfecto tipo) {
+        if (efectos == null) return null;
+        Efecto efecto = efectos[tipo.ordinal()];
+        return efecto != null && efecto.activo ? efecto : null;
+    }
+
+    // Quita los efectos negativos anunciando cada uno. Devuelve cuántos quitó.
+    public int quitarEfectosNegativos() {
+        synchronized (cerrojo()) {
+            if (efectos == null) return 0;
+            int quitados = 0;
+            for (Efecto efecto : efectos) {
+                if (efecto != null && efecto.activo && efecto.tipo.isNegativo()) {
+                    terminarEfecto(efecto);
+                    quitados++;
+                }
+            }
+            return quitados;
+        }
+    }
+
+    // Llamado por la batalla, con su cerrojo, cuando la rueda entrega el efecto
+    void alVencerEfecto(Efecto efecto, int turno) {
+        if (efecto.tipo == TipoEfecto.VENENO) {
+            int restante = restarHp(efecto.valor);
+            eventos.publicar(TipoEvento.DAÑO_VENENO, efecto.origen, this, efecto.valor, 0, 0);
+            if (restante == 0 && derrotar()) {
+                eventos.publicar(TipoEvento.DERROTA, efecto.origen, this, 0, 0, 0);
+                return;
+            }
+            if (turno < efecto.turnoFin) {
+                batalla.programarEfecto(efecto, turno + 1);
+                return;
+            }
+        }
+        terminarEfecto(efecto);
+    }
+
+    // Retira el efecto y anuncia su final
+    private void terminarEfecto(Efecto efecto) {
+        Personaje origen = efecto.origen;
+        desactivar(efecto);
+        switch (efecto.tipo) {
+            case AUMENTO_DEFENSA -> eventos.publicar(TipoEvento.AUMENTO_DEFENSA_TERMINADO, origen, this, efecto.valor, 0, 0);
+            case DEBILIDAD -> eventos.publicar(TipoEvento.DEBILIDAD_TERMINADA, origen, this, efecto.valor, 0, 0);
+            case ARMADURA_ROTA -> eventos.publicar(TipoEvento.ARMADURA_RESTAURADA, origen, this, efecto.valor, 0, 0);
+            case VENENO -> eventos.publicar(TipoEvento.VENENO_TERMINADO, origen, this, 0, 0, 0);
+            case PROVOCACION -> {
+                if (getProvocador() == origen) removerProvocacion();
+            }
+        }
+    }
+
+    // Retira un efecto sin anunciarlo (quien llama ya publica lo suyo)
+    private void quitarEfecto(TipoEfecto tipo) {
+        Efecto efecto = efectoActivo(tipo);
+        if (efecto != null) desactivar(efecto);
+    }
+
+    // Al morir se anuncia el final de cada efecto (las repeticiones lo necesitan para deshacer
+    // los cambios de ataque y defensa); la provocación se conserva como antes
+    private void terminarEfectos() {
+        synchronized (cerrojo()) {
+            if (efectos == null) return;
+            for (Efecto efecto : efectos) {
+                if (efecto == null || !efecto.activo) continue;
+                if (efecto.tipo == TipoEfecto.PROVOCACION) desactivar(efecto);
+                else terminarEfecto(efecto);
+            }
+        }
+    }
+
+    private void quitarEfectos() {
+        if (efectos == null) return;
+        for (Efecto efecto : efectos) {
+            if (efecto != null && efecto.activo) desactivar(efecto);
+        }
+    }
+
+    private void desactivar(Efecto efecto) {
+        if (batalla != null) batalla.cancelarEfecto(efecto);
+        efecto.activo = false;
+        recalcularEfectivos();
+    }
+
+    // Con cerrojo() tomado
+    void recalcularEfectivos() {
+        ATAQUE_EFECTIVO.setRelease(this, Math.max(ataque - valorActivo(TipoEfecto.DEBILIDAD), 0));
+        DEFENSA_EFECTIVA.setRelease(this, Math.max(defensa + valorActivo(TipoEfecto.AUMENTO_DEFENSA)
+                - valorActivo(TipoEfecto.ARMADURA_ROTA), 0));
+    }
+
+    private int valorActivo(TipoEfecto tipo) {
+        Efecto efecto = efectoActivo(tipo);
+        return efecto == null ? 0 : efecto.valor;
+    }
+
     public abstract void elegirAccion();
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package dqs.modelos;
+
+// Enemigos que ya no están en ninguna batalla, guardados para reutilizarlos en la próxima
+// oleada en lugar de crear objetos nuevos (ver GeneradorOleadas). Pila de capacidad fija;
+// no es segura entre hilos.
+public final class ReservaEnemigos {
+
+    private final Enemigo[] enemigos;
+    private int cantidad;
+
+    public ReservaEnemigos(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1.");
+        }
+        this.enemigos = new Enemigo[capacidad];
+    }
+
+    // Guarda el enemigo. Devuelve false (y no lo guarda) si la reserva está llena o si el
+    // enemigo sigue ocupando una posición en una batalla.
+    public boolean devolver(Enemigo enemigo) {
+        if (enemigo == null || enemigo.getPosicionEquipo() >= 0 || cantidad == enemigos.length) return false;
+        enemigos[cantidad++] = enemigo;
+        return true;
+    }
+
+    // Devuelve los primeros 'cantidad' enemigos del arreglo y deja sus casillas en null
+    public int devolverTodos(Enemigo[] origen, int cantidad) {
+        int devueltos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (devolver(origen[i])) {
+                origen[i] = null;
+                devueltos++;
+            }
+        }
+        return devueltos;
+    }
+
+    // Usados por GeneradorOleadas: toma los 'n' de arriba de la pila (el k-ésimo con tomado(k))
+    int reservar(int n) {
+        int tomados = Math.min(n, cantidad);
+        cantidad -= tomados;
+        return tomados;
+    }
+
+    Enemigo tomado(int k) {
+        Enemigo enemigo = enemigos[cantidad + k];
+        enemigos[cantidad + k] = null;
+        return enemigo;
+    }
+
+    // Getters
+    public int getCantidad() { return cantidad; }
+    public int getCapacidad() { return enemigos.length; }
+}
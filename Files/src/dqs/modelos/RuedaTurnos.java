@@ -0,0 +1,108 @@
+package dqs.modelos;
+
+import java.util.function.Consumer;
+
+// Rueda de tiempo jerárquica por turnos para los vencimientos de efectos.
+// Hay NIVELES ruedas de 64 ranuras: en el nivel n cada ranura abarca 64^n turnos.
+// Programar y cancelar cuestan O(1). Al avanzar un turno solo se recorre la ranura que vence
+// (y, cada 64^n turnos, se reparte una ranura del nivel n en los niveles de abajo), así que
+// el costo depende de los efectos que vencen y no de los efectos activos.
+// No es segura entre hilos: Batalla la usa siempre con su cerrojo.
+public final class RuedaTurnos {
+
+    private static final int BITS = 6;
+    private static final int RANURAS = 1 << BITS;
+    private static final int MASCARA = RANURAS - 1;
+    private static final int NIVELES = 4;
+    public static final int HORIZONTE = 1 << (BITS * NIVELES); // máximo de turnos hacia adelante
+
+    private final Efecto[][] ranuras = new Efecto[NIVELES][RANURAS];
+    private int ahora;
+    private int cantidad;
+
+    public RuedaTurnos(int turnoInicial) {
+        this.ahora = turnoInicial;
+    }
+
+    // Programa el efecto para el turno indicado (o el siguiente, si ese turno ya pasó).
+    // Si ya estaba programado, se mueve.
+    public void programar(Efecto efecto, int turno) {
+        if (turno - ahora >= HORIZONTE) {
+            throw new IllegalArgumentException("Un efecto no puede durar más de " + (HORIZONTE - 1) + " turnos.");
+        }
+        if (efecto.isProgramado()) cancelar(efecto);
+        efecto.vence = Math.max(turno, ahora + 1);
+        insertar(efecto);
+        cantidad++;
+    }
+
+    public void cancelar(Efecto efecto) {
+        if (!efecto.isProgramado()) return;
+        quitar(efecto);
+        cantidad--;
+    }
+
+    // Avanza hasta el turno indicado entregando cada efecto que vence, en orden de turno.
+    // El efecto ya está fuera de la rueda al entregarse: se puede volver a programar o cancelar
+    // otros efectos desde 'vencido'. Retroceder no hace nada.
+    public void avanzarHasta(int turno, Consumer<Efecto> vencido) {
+        while (ahora < turno) {
+            if (cantidad == 0) {
+                ahora = turno;
+                return;
+            }
+            ahora++;
+            // Primero se reparten las ranuras de arriba que empiezan en este turno
+            for (int nivel = NIVELES - 1; nivel > 0; nivel--) {
+                if ((ahora & ((1 << (BITS * nivel)) - 1)) == 0) {
+                    repartir(nivel, (ahora >>> (BITS * nivel)) & MASCARA);
+                }
+            }
+            Efecto[] nivelCero = ranuras[0];
+            int ranura = ahora & MASCARA;
+            Efecto efecto;
+            while ((efecto = nivelCero[ranura]) != null) {
+                quitar(efecto);
+                cantidad--;
+                vencido.accept(efecto);
+            }
+        }
+    }
+
+    private void repartir(int nivel, int ranura) {
+        Efecto efecto;
+        while ((efecto = ranuras[nivel][ranura]) != null) {
+            quitar(efecto);
+            insertar(efecto);
+        }
+    }
+
+    // El nivel sale de cuántos turnos faltan y la ranura, de los bits del turno de vencimiento
+    private void insertar(Efecto efecto) {
+        int faltan = efecto.vence - ahora;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && (faltan >>> (BITS * (nivel + 1))) != 0) nivel++;
+        int ranura = (efecto.vence >>> (BITS * nivel)) & MASCARA;
+
+        Efecto primero = ranuras[nivel][ranura];
+        efecto.nivel = nivel;
+        efecto.ranura = ranura;
+        efecto.anterior = null;
+        efecto.siguiente = primero;
+        if (primero != null) primero.anterior = efecto;
+        ranuras[nivel][ranura] = efecto;
+    }
+
+    private void quitar(Efecto efecto) {
+        if (efecto.anterior != null) efecto.anterior.siguiente = efecto.siguiente;
+        else ranuras[efecto.nivel][efecto.ranura] = efecto.siguiente;
+        if (efecto.siguiente != null) efecto.siguiente.anterior = efecto.anterior;
+        efecto.anterior = null;
+        efecto.siguiente = null;
+        efecto.nivel = -1;
+    }
+
+    // Getters
+    public int getTurno() { return ahora; }
+    public int getCantidad() { return cantidad; }
+}
@@ -0,0 +1,202 @@
+package dqs.modelos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+// Qué habilidades tiene cada tipo y con qué parámetros (ver habilidades.properties).
+// Se compila a arreglos densos por fila (un Tipo_Heroe o un Tipo_Enemigo) y habilidad:
+// comprobar si un tipo puede usar una habilidad es mirar un bit y sus parámetros están
+// en la misma posición de cada arreglo.
+public final class TablaHabilidades {
+
+    public static final String RECURSO_POR_DEFECTO = "/dqs/modelos/habilidades.properties";
+
+    private static final int TIPOS_HEROE = Tipo_Heroe.values().length;
+    private static final int FILAS = TIPOS_HEROE + Tipo_Enemigo.values().length;
+    private static final int SIN_EFECTO = -1;
+
+    private static volatile TablaHabilidades actual;
+
+    private final int[] capacidades = new int[FILAS]; // bits de Habilidad por fila
+    private final int[] costo = new int[FILAS * Habilidad.CANTIDAD];
+    private final int[] minimo = new int[FILAS * Habilidad.CANTIDAD];
+    private final int[] valor = new int[FILAS * Habilidad.CANTIDAD];
+    private final int[] turnos = new int[FILAS * Habilidad.CANTIDAD];
+    private final int[] multiplicador = new int[FILAS * Habilidad.CANTIDAD];
+    private final int[] efecto = new int[FILAS * Habilidad.CANTIDAD];
+
+    private TablaHabilidades() {
+        Arrays.fill(efecto, SIN_EFECTO);
+    }
+
+    // Tabla en uso: la incluida en el jar hasta que se llame a usar()
+    public static TablaHabilidades getActual() {
+        TablaHabilidades tabla = actual;
+        if (tabla == null) {
+            synchronized (TablaHabilidades.class) {
+                if (actual == null) actual = porDefecto();
+                tabla = actual;
+            }
+        }
+        return tabla;
+    }
+
+    public static void usar(TablaHabilidades tabla) {
+        if (tabla == null) {
+            throw new IllegalArgumentException("La tabla de habilidades no puede ser nula.");
+        }
+        actual = tabla;
+    }
+
+    // Tabla incluida en el jar
+    public static TablaHabilidades porDefecto() {
+        try (InputStream entrada = TablaHabilidades.class.getResourceAsStream(RECURSO_POR_DEFECTO)) {
+            if (entrada == null) {
+                throw new IOException("No se encontró " + RECURSO_POR_DEFECTO + " en el classpath.");
+            }
+            return leer(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static TablaHabilidades leer(Path archivo) throws IOException {
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return leer(lector);
+        }
+    }
+
+    public static TablaHabilidades leer(Reader lector) throws IOException {
+        Properties propiedades = new Properties();
+        propiedades.load(lector);
+        TablaHabilidades tabla = new TablaHabilidades();
+        for (String clave : propiedades.stringPropertyNames()) {
+            tabla.agregar(clave, propiedades.getProperty(clave));
+        }
+        for (Tipo_Enemigo tipo : Tipo_Enemigo.values()) {
+            if (tabla.indice(tipo, Habilidad.HABILIDAD_ESPECIAL) < 0) {
+                throw new IllegalArgumentException("Falta " + tipo.name() + ".HABILIDAD_ESPECIAL en la tabla de habilidades.");
+            }
+        }
+        return tabla;
+    }
+
+    private void agregar(String clave, String texto) {
+        int punto = clave.indexOf('.');
+        if (punto < 0) {
+            throw new IllegalArgumentException("Clave inválida: " + clave + " (se espera TIPO.HABILIDAD).");
+        }
+        int fila = fila(clave.substring(0, punto).trim());
+        Habilidad habilidad;
+        try {
+            habilidad = Habilidad.valueOf(clave.substring(punto + 1).trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Habilidad desconocida en " + clave);
+        }
+        boolean esEnemigo = fila >= TIPOS_HEROE;
+        if (esEnemigo != (habilidad == Habilidad.HABILIDAD_ESPECIAL)) {
+            throw new IllegalArgumentException(clave + ": HABILIDAD_ESPECIAL es solo para enemigos y el resto solo para héroes.");
+        }
+
+        int i = fila * Habilidad.CANTIDAD + habilidad.ordinal();
+        int costoLeido = 0, minimoLeido = -1, valorLeido = 0, turnosLeidos = 0, multiplicadorLeido = 1;
+        int efectoLeido = SIN_EFECTO;
+        for (String parte : texto.split(";")) {
+            if (parte.isBlank()) continue;
+            String[] opcion = parte.split("=", 2);
+            if (opcion.length != 2) {
+                throw new IllegalArgumentException("Opción inválida en " + clave + ": " + parte.trim());
+            }
+            String nombre = opcion[0].trim();
+            String dato = opcion[1].trim();
+            try {
+                switch (nombre) {
+                    case "costo" -> costoLeido = Integer.parseInt(dato);
+                    case "minimo" -> minimoLeido = Integer.parseInt(dato);
+                    case "valor" -> valorLeido = Integer.parseInt(dato);
+                    case "turnos" -> turnosLeidos = Integer.parseInt(dato);
+                    case "multiplicador" -> multiplicadorLeido = Integer.parseInt(dato);
+                    case "efecto" -> efectoLeido = efectoNegativo(clave, dato).ordinal();
+                    default -> throw new IllegalArgumentException("Opción desconocida en " + clave + ": " + nombre);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido en " + clave + ": " + parte.trim());
+            }
+        }
+        if (minimoLeido < 0) minimoLeido = costoLeido;
+        if (costoLeido < 0 || minimoLeido < costoLeido || valorLeido < 0 || multiplicadorLeido < 1) {
+            throw new IllegalArgumentException("Valores fuera de rango en " + clave
+                    + " (costo >= 0, minimo >= costo, valor >= 0, multiplicador >= 1).");
+        }
+        boolean necesitaTurnos = habilidad.isConDuracion() || efectoLeido != SIN_EFECTO;
+        if (necesitaTurnos && (turnosLeidos < 1 || turnosLeidos >= RuedaTurnos.HORIZONTE)) {
+            throw new IllegalArgumentException(clave + " necesita turnos entre 1 y " + (RuedaTurnos.HORIZONTE - 1) + ".");
+        }
+
+        capacidades[fila] |= habilidad.getBit();
+        costo[i] = costoLeido;
+        minimo[i] = minimoLeido;
+        valor[i] = valorLeido;
+        turnos[i] = turnosLeidos;
+        multiplicador[i] = multiplicadorLeido;
+        efecto[i] = efectoLeido;
+    }
+
+    private static int fila(String tipo) {
+        for (Tipo_Heroe t : Tipo_Heroe.values()) {
+            if (t.name().equals(tipo)) return t.ordinal();
+        }
+        for (Tipo_Enemigo t : Tipo_Enemigo.values()) {
+            if (t.name().equals(tipo)) return TIPOS_HEROE + t.ordinal();
+        }
+        throw new IllegalArgumentException("Tipo desconocido en la tabla de habilidades: " + tipo);
+    }
+
+    private static TipoEfecto efectoNegativo(String clave, String nombre) {
+        try {
+            TipoEfecto tipo = TipoEfecto.valueOf(nombre);
+            if (tipo.isNegativo()) return tipo;
+        } catch (IllegalArgumentException e) {
+            // se informa abajo
+        }
+        throw new IllegalArgumentException("Efecto inválido en " + clave + ": " + nombre + " (debe ser un TipoEfecto negativo).");
+    }
+
+    // Posición de la habilidad del tipo en los arreglos de parámetros, o -1 si no la tiene
+    public int indice(Tipo_Heroe tipo, Habilidad habilidad) {
+        return indice(tipo.ordinal(), habilidad);
+    }
+
+    public int indice(Tipo_Enemigo tipo, Habilidad habilidad) {
+        return indice(TIPOS_HEROE + tipo.ordinal(), habilidad);
+    }
+
+    private int indice(int fila, Habilidad habilidad) {
+        if ((capacidades[fila] & habilidad.getBit()) == 0) return -1;
+        return fila * Habilidad.CANTIDAD + habilidad.ordinal();
+    }
+
+    public boolean permite(Tipo_Heroe tipo, Habilidad habilidad) {
+        return (capacidades[tipo.ordinal()] & habilidad.getBit()) != 0;
+    }
+
+    // Parámetros de una habilidad, con el índice que devuelve indice()
+    public int getCosto(int i) { return costo[i]; }
+    public int getMinimo(int i) { return minimo[i]; }
+    public int getValor(int i) { return valor[i]; }
+    public int getTurnos(int i) { return turnos[i]; }
+    public int getMultiplicador(int i) { return multiplicador[i]; }
+
+    // Efecto que deja la habilidad, o null
+    public TipoEfecto getEfecto(int i) {
+        return efecto[i] == SIN_EFECTO ? null : TipoEfecto.desdeOrdinal(efecto[i]);
+    }
+}
@@ -0,0 +1,38 @@
+package dqs.modelos;
+
+import dqs.eventos.TipoEvento;
+
+// Efectos temporales que puede tener un personaje (como mucho uno de cada tipo a la vez).
+// Los negativos son los que quita Sanador.eliminarEfectoNegativo.
+public enum TipoEfecto {
+    AUMENTO_DEFENSA(false, TipoEvento.DEFENSA_AUMENTADA),  // +valor de defensa
+    PROVOCACION(false, TipoEvento.PROVOCACION_APLICADA),  // debe atacar al provocador
+    DEBILIDAD(true, TipoEvento.DEBILITADO),               // -valor de ataque
+    ARMADURA_ROTA(true, TipoEvento.ARMADURA_ROTA),        // -valor de defensa
+    VENENO(true, TipoEvento.ENVENENADO);                  // valor de daño al comienzo de cada turno
+
+    static final int CANTIDAD = values().length;
+    private static final TipoEfecto[] VALORES = values();
+
+    private final boolean negativo;
+    private final TipoEvento aplicado; // evento que anuncia el efecto
+
+    // Constructor
+    TipoEfecto(boolean negativo, TipoEvento aplicado) {
+        this.negativo = negativo;
+        this.aplicado = aplicado;
+    }
+
+    public boolean isNegativo() {
+        return negativo;
+    }
+
+    public TipoEvento getAplicado() {
+        return aplicado;
+    }
+
+    // Acceso sin copiar el arreglo de values()
+    public static TipoEfecto desdeOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+}
@@ -0,0 +1,301 @@
+package dqs.persistencia;
+
+import dqs.eventos.SumideroConsola;
+import dqs.eventos.SumideroEventos;
+import dqs.modelos.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Guarda y restaura una Batalla completa en formato binario versionado (little endian).
+// Los vínculos defensor/provocador se guardan como posiciones, no como referencias.
+//
+//   int MAGIA  short VERSION  short reservado  int longitud total
+//   int turnoActual  byte terminada  int héroes  int enemigos
+//   por posición: byte presente, byte tipo, byte vivo, short largo + nombre UTF-8,
+//                 int hp, mp, ataque, defensa, velocidad, defensor, provocador
+//                 (desde la versión 2) byte efectos y, por efecto activo,
+//                 byte tipo, int origen, valor, turnoFin
+//
+// La versión 2 guarda ataque y defensa base más los efectos activos, que se vuelven a
+// programar al cargar. La versión 1 guardaba los valores efectivos y ningún efecto; se
+// sigue pudiendo leer (los valores guardados pasan a ser la base).
+// No se guardan la fuente aleatoria ni la línea de iniciativa: al restaurar se indica
+// la fuente a usar y la línea se vuelve a iniciar.
+// Los datos leídos se validan contra los bytes disponibles: unos datos dañados o manipulados
+// producen IllegalArgumentException (o IOException al leer de un canal), nunca otra excepción.
+public final class CodecBatalla {
+
+    public static final int MAGIA = 0x44515342; // "DQSB"
+    public static final short VERSION = 2;
+
+    // Máximo que se acepta al cargar de un canal, para no reservar lo que diga una cabecera dañada
+    public static final int LONGITUD_MAXIMA = 1 << 24;
+
+    private static final int TAMAÑO_CABECERA = 25;
+    private static final int POS_LONGITUD = 8;
+    private static final int TAMAÑO_DATOS_POSICION = 7 * Integer.BYTES;
+
+    private CodecBatalla() {
+    }
+
+    // Bytes que ocupa la batalla codificada
+    public static int tamaño(Batalla batalla) {
+        int tamaño = TAMAÑO_CABECERA;
+        for (Heroe heroe : batalla.getEquipoHeroes()) tamaño += tamañoPosicion(heroe);
+        for (Enemigo enemigo : batalla.getEquipoEnemigos()) tamaño += tamañoPosicion(enemigo);
+        return tamaño;
+    }
+
+    private static int tamañoPosicion(Personaje personaje) {
+        if (personaje == null) return 1;
+        return 1 + 1 + 1 + 2 + StandardCharsets.UTF_8.encode(personaje.getNombre()).remaining() + TAMAÑO_DATOS_POSICION
+                + FabricaPersonajes.tamañoEfectos(personaje);
+    }
+
+    // Codifica la batalla a partir de la posición actual del buffer
+    public static void escribir(Batalla batalla, ByteBuffer destino) {
+        ByteOrder ordenPrevio = destino.order();
+        destino.order(ByteOrder.LITTLE_ENDIAN);
+        int inicio = destino.position();
+        Heroe[] heroes = batalla.getEquipoHeroes();
+        Enemigo[] enemigos = batalla.getEquipoEnemigos();
+
+        destino.putInt(MAGIA);
+        destino.putShort(VERSION);
+        destino.putShort((short) 0);
+        destino.putInt(0); // longitud, se completa al final
+        destino.putInt(batalla.getTurnoActual());
+        destino.put((byte) (batalla.isBatallaTerminada() ? 1 : 0));
+        destino.putInt(heroes.length);
+        destino.putInt(enemigos.length);
+        for (Heroe heroe : heroes) {
+            escribirPosicion(destino, heroe, heroe != null ? heroe.getTipo().ordinal() : 0);
+        }
+        for (Enemigo enemigo : enemigos) {
+            escribirPosicion(destino, enemigo, enemigo != null ? enemigo.getTipo().ordinal() : 0);
+        }
+        destino.putInt(inicio + POS_LONGITUD, destino.position() - inicio);
+        destino.order(ordenPrevio);
+    }
+
+    private static void escribirPosicion(ByteBuffer destino, Personaje personaje, int tipo) {
+        if (personaje == null) {
+            destino.put((byte) 0);
+            return;
+        }
+        byte[] nombre = personaje.getNombre().getBytes(StandardCharsets.UTF_8);
+        if (nombre.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Nombre demasiado largo: " + personaje.getNombre());
+        }
+        destino.put((byte) 1);
+        destino.put((byte) tipo);
+        destino.put((byte) (personaje.esta_vivo() ? 1 : 0));
+        destino.putShort((short) nombre.length);
+        destino.put(nombre);
+        destino.putInt(personaje.getHp());
+        destino.putInt(personaje.getMp());
+        destino.putInt(personaje.getAtaqueBase());
+        destino.putInt(personaje.getDefensaBase());
+        destino.putInt(personaje.getVelocidad());
+        destino.putInt(FabricaPersonajes.referencia(personaje.getDefensor()));
+        destino.putInt(FabricaPersonajes.referencia(personaje.getProvocador()));
+        FabricaPersonajes.escribirEfectos(destino, personaje);
+    }
+
+    public static ByteBuffer codificar(Batalla batalla) {
+        ByteBuffer buffer = ByteBuffer.allocate(tamaño(batalla));
+        escribir(batalla, buffer);
+        return buffer.flip();
+    }
+
+    public static Batalla leer(ByteBuffer origen) {
+        return leer(origen, FuenteAleatoria.POR_HILO, SumideroConsola.INSTANCIA);
+    }
+
+    // Decodifica una batalla desde la posición actual del buffer y la deja después de ella
+    public static Batalla leer(ByteBuffer origen, FuenteAleatoria aleatorio, SumideroEventos eventos) {
+        if (aleatorio == null || eventos == null) {
+            throw new IllegalArgumentException("La fuente aleatoria y el sumidero no pueden ser nulos.");
+        }
+        ByteOrder ordenPrevio = origen.order();
+        int limitePrevio = origen.limit();
+        origen.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int inicio = origen.position();
+            if (origen.remaining() < TAMAÑO_CABECERA || origen.getInt() != MAGIA) {
+                throw new IllegalArgumentException("Los datos no son una batalla guardada.");
+            }
+            short version = origen.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Versión de batalla no soportada: " + version);
+            }
+            origen.getShort();
+            int longitud = origen.getInt();
+            if (longitud < TAMAÑO_CABECERA || longitud > origen.limit() - inicio) {
+                throw new IllegalArgumentException("Longitud de batalla inválida: " + longitud);
+            }
+            origen.limit(inicio + longitud); // no se lee más allá de la batalla
+            int turno = origen.getInt();
+            boolean terminada = origen.get() != 0;
+            int cantidadHeroes = origen.getInt();
+            int cantidadEnemigos = origen.getInt();
+            // Cada posición ocupa al menos un byte
+            if (cantidadHeroes < 1 || cantidadEnemigos < 1 || cantidadHeroes > FabricaPersonajes.MAX_POSICIONES
+                    || cantidadEnemigos > FabricaPersonajes.MAX_POSICIONES
+                    || cantidadHeroes + cantidadEnemigos > origen.remaining()) {
+                throw new IllegalArgumentException("Tamaño de equipos inválido: " + cantidadHeroes + " héroes y "
+                        + cantidadEnemigos + " enemigos.");
+            }
+
+            Batalla batalla = new Batalla(cantidadHeroes, cantidadEnemigos, aleatorio);
+            int total = cantidadHeroes + cantidadEnemigos;
+            int[] defensores = new int[total];
+            int[] provocadores = new int[total];
+            List<int[]> efectos = new ArrayList<>(); // posición, tipo, origen, valor, turnoFin
+            Tipo_Heroe[] tiposHeroe = Tipo_Heroe.values();
+            Tipo_Enemigo[] tiposEnemigo = Tipo_Enemigo.values();
+
+            for (int i = 0; i < total; i++) {
+                defensores[i] = FabricaPersonajes.SIN_REFERENCIA;
+                provocadores[i] = FabricaPersonajes.SIN_REFERENCIA;
+                requerir(origen, 1);
+                if (origen.get() == 0) continue;
+                requerir(origen, 1 + 1 + Short.BYTES);
+                int tipo = origen.get();
+                if (tipo < 0 || tipo >= (i < cantidadHeroes ? tiposHeroe.length : tiposEnemigo.length)) {
+                    throw new IllegalArgumentException("Tipo de personaje inválido en la posición " + i + ": " + tipo);
+                }
+                boolean vivo = origen.get() != 0;
+                int largoNombre = origen.getShort();
+                if (largoNombre < 0) {
+                    throw new IllegalArgumentException("Largo de nombre inválido en la posición " + i + ": " + largoNombre);
+                }
+                requerir(origen, largoNombre + TAMAÑO_DATOS_POSICION);
+                byte[] bytesNombre = new byte[largoNombre];
+                origen.get(bytesNombre);
+                String nombre = new String(bytesNombre, StandardCharsets.UTF_8);
+                int hp = origen.getInt(), mp = origen.getInt(), ataque = origen.getInt();
+                int defensa = origen.getInt(), velocidad = origen.getInt();
+                defensores[i] = origen.getInt();
+                provocadores[i] = origen.getInt();
+                if (version >= 2) leerEfectos(origen, i, efectos);
+                if (i < cantidadHeroes) {
+                    batalla.agregarHeroe(FabricaPersonajes.heroe(eventos, nombre, tiposHeroe[tipo],
+                            hp, mp, ataque, defensa, velocidad, vivo), i);
+                } else {
+                    batalla.agregarEnemigo(FabricaPersonajes.enemigo(eventos, nombre, tiposEnemigo[tipo],
+                            hp, mp, ataque, defensa, velocidad, vivo), i - cantidadHeroes);
+                }
+            }
+
+            // Los vínculos se resuelven cuando ya existen todos los personajes
+            for (int i = 0; i < total; i++) {
+                if (defensores[i] == FabricaPersonajes.SIN_REFERENCIA && provocadores[i] == FabricaPersonajes.SIN_REFERENCIA) continue;
+                Personaje p = personaje(batalla, i);
+                p.restaurarEstado(p.getHp(), p.getMp(), p.getAtaqueBase(), p.getDefensaBase(), p.esta_vivo(),
+                        FabricaPersonajes.resolver(batalla, defensores[i]), FabricaPersonajes.resolver(batalla, provocadores[i]));
+            }
+
+            if (origen.hasRemaining()) {
+                throw new IllegalArgumentException("Sobran " + origen.remaining() + " bytes al final de la batalla.");
+            }
+            // Los efectos se programan a partir del turno guardado
+            batalla.setTurnoActual(turno);
+            for (int[] efecto : efectos) {
+                personaje(batalla, efecto[0]).restaurarEfecto(FabricaPersonajes.TIPOS_EFECTO[efecto[1]],
+                        FabricaPersonajes.resolver(batalla, efecto[2]), efecto[3], efecto[4]);
+            }
+            batalla.setBatallaTerminada(terminada);
+            return batalla;
+        } finally {
+            origen.limit(limitePrevio);
+            origen.order(ordenPrevio);
+        }
+    }
+
+    private static void leerEfectos(ByteBuffer origen, int posicion, List<int[]> efectos) {
+        requerir(origen, 1);
+        int cantidad = origen.get() & 0xFF;
+        if (cantidad > FabricaPersonajes.TIPOS_EFECTO.length) {
+            throw new IllegalArgumentException("Cantidad de efectos inválida en la posición " + posicion + ": " + cantidad);
+        }
+        requerir(origen, cantidad * FabricaPersonajes.TAMAÑO_EFECTO);
+        for (int k = 0; k < cantidad; k++) {
+            int tipo = origen.get();
+            if (tipo < 0 || tipo >= FabricaPersonajes.TIPOS_EFECTO.length) {
+                throw new IllegalArgumentException("Tipo de efecto inválido en la posición " + posicion + ": " + tipo);
+            }
+            efectos.add(new int[] {posicion, tipo, origen.getInt(), origen.getInt(), origen.getInt()});
+        }
+    }
+
+    private static Personaje personaje(Batalla batalla, int i) {
+        int heroes = batalla.getEquipoHeroes().length;
+        return i < heroes ? batalla.getEquipoHeroes()[i] : batalla.getEquipoEnemigos()[i - heroes];
+    }
+
+    private static void requerir(ByteBuffer origen, int bytes) {
+        if (origen.remaining() < bytes) {
+            throw new IllegalArgumentException("Datos de batalla incompletos.");
+        }
+    }
+
+    // Copia independiente de la batalla (para bifurcar estados de simulación)
+    public static Batalla bifurcar(Batalla batalla, FuenteAleatoria aleatorio, SumideroEventos eventos) {
+        return leer(codificar(batalla), aleatorio, eventos);
+    }
+
+    // Canales
+    public static void guardar(Batalla batalla, WritableByteChannel canal) throws IOException {
+        ByteBuffer buffer = codificar(batalla);
+        while (buffer.hasRemaining()) canal.write(buffer);
+    }
+
+    public static Batalla cargar(ReadableByteChannel canal, FuenteAleatoria aleatorio, SumideroEventos eventos) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(POS_LONGITUD + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        leerCompleto(canal, cabecera);
+        int longitud = cabecera.getInt(POS_LONGITUD);
+        if (cabecera.getInt(0) != MAGIA) {
+            throw new IllegalArgumentException("Los datos no son una batalla guardada.");
+        }
+        if (longitud < TAMAÑO_CABECERA || longitud > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("Longitud de batalla inválida: " + longitud);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(longitud);
+        buffer.put(cabecera.flip());
+        leerCompleto(canal, buffer);
+        return leer(buffer.flip(), aleatorio, eventos);
+    }
+
+    private static void leerCompleto(ReadableByteChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer) < 0) {
+                throw new IOException("Fin de datos inesperado al leer la batalla.");
+            }
+        }
+    }
+
+    // Archivos
+    public static void guardar(Batalla batalla, Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            guardar(batalla, canal);
+        }
+    }
+
+    public static Batalla cargar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return cargar(canal, FuenteAleatoria.POR_HILO, SumideroConsola.INSTANCIA);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package dqs.persistencia;
+
+import dqs.eventos.SumideroEventos;
+import dqs.modelos.*;
+import java.nio.ByteBuffer;
+
+// Reconstruye personajes guardados. Se crean con los mínimos del tipo (siempre válidos)
+// y luego se restaura el estado real, que a mitad de batalla puede estar fuera de rango.
+final class FabricaPersonajes {
+
+    // Referencias a personajes guardadas como posiciones: -1, posición de héroe,
+    // o posición de enemigo | BIT_ENEMIGO
+    static final int SIN_REFERENCIA = -1;
+    static final int BIT_ENEMIGO = 0x10000;
+    static final int MAX_POSICIONES = BIT_ENEMIGO; // posiciones que caben en una referencia
+
+    // Efectos activos guardados: byte cantidad y, por efecto, byte tipo, int origen, valor, turnoFin
+    static final TipoEfecto[] TIPOS_EFECTO = TipoEfecto.values();
+    static final int TAMAÑO_EFECTO = 1 + 3 * Integer.BYTES;
+
+    private FabricaPersonajes() {
+    }
+
+    static int referencia(Personaje personaje) {
+        if (personaje == null || personaje.getPosicionEquipo() < 0) return SIN_REFERENCIA;
+        return (personaje instanceof Enemigo ? BIT_ENEMIGO : 0) | personaje.getPosicionEquipo();
+    }
+
+    // Las referencias leídas de un archivo pueden estar dañadas: fuera de rango son un error
+    static Personaje resolver(Batalla batalla, int referencia) {
+        if (referencia == SIN_REFERENCIA) return null;
+        Personaje[] equipo = (referencia & BIT_ENEMIGO) != 0 ? batalla.getEquipoEnemigos() : batalla.getEquipoHeroes();
+        int posicion = referencia & (BIT_ENEMIGO - 1);
+        if ((referencia & ~(BIT_ENEMIGO | (BIT_ENEMIGO - 1))) != 0 || posicion >= equipo.length) {
+            throw new IllegalArgumentException("Referencia a personaje inválida: " + referencia);
+        }
+        return equipo[posicion];
+    }
+
+    static int tamañoEfectos(Personaje personaje) {
+        int cantidad = 0;
+        for (TipoEfecto tipo : TIPOS_EFECTO) {
+            if (personaje.tieneEfecto(tipo)) cantidad++;
+        }
+        return 1 + cantidad * TAMAÑO_EFECTO;
+    }
+
+    static void escribirEfectos(ByteBuffer destino, Personaje personaje) {
+        int posicionCantidad = destino.position();
+        destino.put((byte) 0);
+        int cantidad = 0;
+        for (TipoEfecto tipo : TIPOS_EFECTO) {
+            Efecto efecto = personaje.getEfecto(tipo);
+            if (efecto == null) continue;
+            destino.put((byte) tipo.ordinal());
+            destino.putInt(referencia(efecto.getOrigen()));
+            destino.putInt(efecto.getValor());
+            destino.putInt(efecto.getTurnoFin());
+            cantidad++;
+        }
+        destino.put(posicionCantidad, (byte) cantidad);
+    }
+
+    static Heroe heroe(SumideroEventos eventos, String nombre, Tipo_Heroe tipo, int hp, int mp, int ataque, int defensa, int velocidad, boolean vivo) {
+        Heroe heroe = new Heroe(nombre, tipo, tipo.getMinHP(), tipo.getMinMP(),
+                tipo.getMinAtaque(), tipo.getMinDefensa(), velocidad);
+        heroe.setEventos(eventos);
+        heroe.restaurarEstado(hp, mp, ataque, defensa, vivo, null, null);
+        return heroe;
+    }
+
+    static Enemigo enemigo(SumideroEventos eventos, String nombre, Tipo_Enemigo tipo, int hp, int mp, int ataque, int defensa, int velocidad, boolean vivo) {
+        Enemigo enemigo = new Enemigo(nombre, tipo.getMinHp(), tipo.getMinMp(),
+                tipo.getMinAtaque(), tipo.getMinDefensa(), velocidad, tipo);
+        enemigo.setEventos(eventos);
+        enemigo.restaurarEstado(hp, mp, ataque, defensa, vivo, null, null);
+        return enemigo;
+    }
+}
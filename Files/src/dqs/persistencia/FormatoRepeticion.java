@@ -0,0 +1,55 @@
+package dqs.persistencia;
+
+// Formato binario del registro de repeticiones (little endian).
+//
+// Cabecera:
+//   int   MAGIA            short VERSION        short TAMAÑO_REGISTRO
+//   long  semilla          long  registros      int   inicioRegistros
+//   int   turnoInicial     int   héroes         int   enemigos
+//   por posición: byte presente (0 vacía, PRESENTE o PRESENTE_DERROTADO), byte tipo,
+//                 short largo + nombre UTF-8,
+//                 int hp, mp, ataque, defensa, velocidad, defensor, provocador
+//                 (desde la versión 2) byte efectos y, por efecto activo,
+//                 byte tipo, int origen, valor, turnoFin
+//   En la versión 2 ataque y defensa son los base; en la 1 eran los efectivos.
+//
+// Registro (TAMAÑO_REGISTRO bytes, uno por evento):
+//   byte  tipo (ordinal de TipoEvento, o MARCA_TURNO)
+//   byte  bandos (bit 0: origen es enemigo, bit 1: objetivo es enemigo)
+//   short posición del origen (-1 si no hay)
+//   short posición del objetivo (-1 si no hay)
+//   short reservado
+//   int   valor (en MARCA_TURNO, el número de turno)
+//   int   hp del objetivo después del evento
+//   int   mp del objetivo después del evento
+//   int   mp del origen después del evento
+final class FormatoRepeticion {
+
+    static final int MAGIA = 0x44515352; // "DQSR"
+    static final short VERSION = 2;
+    static final int TAMAÑO_REGISTRO = 24;
+
+    static final int POS_REGISTROS = 16;
+    static final int TAMAÑO_CABECERA_FIJA = 40;
+
+    static final byte MARCA_TURNO = (byte) 0xFF;
+    // Un derrotado puede tener HP (curar no mira si está vivo), así que la vida no sale del HP.
+    // Los grabadores anteriores escribían siempre PRESENTE: entonces vale hp > 0.
+    static final byte PRESENTE = 1;
+    static final byte PRESENTE_DERROTADO = 2;
+    static final int ENEMIGO_ORIGEN = 1;
+    static final int ENEMIGO_OBJETIVO = 2;
+
+    // Desplazamientos dentro de un registro
+    static final int TIPO = 0;
+    static final int BANDOS = 1;
+    static final int ORIGEN = 2;
+    static final int OBJETIVO = 4;
+    static final int VALOR = 8;
+    static final int HP_OBJETIVO = 12;
+    static final int MP_OBJETIVO = 16;
+    static final int MP_ORIGEN = 20;
+
+    private FormatoRepeticion() {
+    }
+}
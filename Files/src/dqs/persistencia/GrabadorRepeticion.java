@@ -0,0 +1,200 @@
+package dqs.persistencia;
+
+import dqs.eventos.*;
+import dqs.modelos.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static dqs.persistencia.FormatoRepeticion.*;
+
+// Graba los eventos de una batalla como registros binarios de ancho fijo en un archivo
+// mapeado en memoria. Escribir un registro no hace llamadas al sistema: solo se mapea
+// un bloque nuevo cada REGISTROS_POR_BLOQUE registros. No es seguro entre hilos.
+public class GrabadorRepeticion implements SumideroEventos, AutoCloseable {
+
+    public static final int REGISTROS_POR_BLOQUE = 1 << 16;
+    private static final long TAMAÑO_BLOQUE = (long) REGISTROS_POR_BLOQUE * TAMAÑO_REGISTRO;
+
+    private final Batalla batalla;
+    private final FileChannel canal;
+    private final int inicioRegistros;
+    private MappedByteBuffer bloque;
+    private long bloquesMapeados;
+    private long registros;
+    private int ultimoTurno;
+    private boolean cerrado;
+
+    // Crea (o reemplaza) el archivo y escribe la cabecera con el estado actual de la batalla
+    public GrabadorRepeticion(Path archivo, Batalla batalla, long semilla) throws IOException {
+        if (archivo == null || batalla == null) {
+            throw new IllegalArgumentException("El archivo y la batalla no pueden ser nulos.");
+        }
+        if (batalla.getEquipoHeroes().length > Short.MAX_VALUE || batalla.getEquipoEnemigos().length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Los equipos no pueden superar " + Short.MAX_VALUE + " posiciones.");
+        }
+        this.batalla = batalla;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.ultimoTurno = batalla.getTurnoActual();
+
+        ByteBuffer cabecera = escribirCabecera(batalla, semilla);
+        this.inicioRegistros = cabecera.limit();
+        cabecera.putInt(24, inicioRegistros);
+        while (cabecera.hasRemaining()) canal.write(cabecera, cabecera.position());
+    }
+
+    // Hace que todos los personajes de la batalla publiquen en este grabador
+    public void adjuntar() {
+        for (Heroe heroe : batalla.getEquipoHeroes()) {
+            if (heroe != null) heroe.setEventos(this);
+        }
+        for (Enemigo enemigo : batalla.getEquipoEnemigos()) {
+            if (enemigo != null) enemigo.setEventos(this);
+        }
+    }
+
+    @Override
+    public void publicar(TipoEvento tipo, Personaje origen, Personaje objetivo, int valor, int valorPrevio, int detalle) {
+        if (cerrado) {
+            throw new IllegalStateException("El grabador ya está cerrado.");
+        }
+        int turno = batalla.getTurnoActual();
+        if (turno != ultimoTurno) {
+            ultimoTurno = turno;
+            escribir(MARCA_TURNO, 0, -1, -1, turno, 0, 0, 0);
+        }
+
+        int bandos = 0;
+        if (origen instanceof Enemigo) bandos |= ENEMIGO_ORIGEN;
+        if (objetivo instanceof Enemigo) bandos |= ENEMIGO_OBJETIVO;
+        escribir((byte) tipo.ordinal(), bandos,
+                origen != null ? origen.getPosicionEquipo() : -1,
+                objetivo != null ? objetivo.getPosicionEquipo() : -1,
+                valor,
+                objetivo != null ? objetivo.getHp() : 0,
+                objetivo != null ? objetivo.getMp() : 0,
+                origen != null ? origen.getMp() : 0);
+    }
+
+    private void escribir(byte tipo, int bandos, int origen, int objetivo, int valor,
+                          int hpObjetivo, int mpObjetivo, int mpOrigen) {
+        if (bloque == null || !bloque.hasRemaining()) mapearBloque();
+        int base = bloque.position();
+        bloque.put(base + TIPO, tipo);
+        bloque.put(base + BANDOS, (byte) bandos);
+        bloque.putShort(base + ORIGEN, (short) origen);
+        bloque.putShort(base + OBJETIVO, (short) objetivo);
+        bloque.putShort(base + OBJETIVO + 2, (short) 0);
+        bloque.putInt(base + VALOR, valor);
+        bloque.putInt(base + HP_OBJETIVO, hpObjetivo);
+        bloque.putInt(base + MP_OBJETIVO, mpObjetivo);
+        bloque.putInt(base + MP_ORIGEN, mpOrigen);
+        bloque.position(base + TAMAÑO_REGISTRO);
+        registros++;
+    }
+
+    private void mapearBloque() {
+        try {
+            bloque = canal.map(FileChannel.MapMode.READ_WRITE, inicioRegistros + bloquesMapeados * TAMAÑO_BLOQUE, TAMAÑO_BLOQUE);
+            bloque.order(ByteOrder.LITTLE_ENDIAN);
+            bloquesMapeados++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo ampliar el registro de repetición", e);
+        }
+    }
+
+    // Escribe el número de registros en la cabecera, vuelca los bloques al disco y recorta
+    // el archivo al último registro (el último bloque mapeado suele quedar a medias)
+    @Override
+    public void close() throws IOException {
+        if (cerrado) return;
+        cerrado = true;
+        try {
+            if (bloque != null) bloque.force();
+            bloque = null;
+            canal.truncate(inicioRegistros + registros * TAMAÑO_REGISTRO);
+            ByteBuffer total = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            total.putLong(0, registros);
+            canal.write(total, POS_REGISTROS);
+            canal.force(false);
+        } finally {
+            canal.close();
+        }
+    }
+
+    private static ByteBuffer escribirCabecera(Batalla batalla, long semilla) {
+        Heroe[] heroes = batalla.getEquipoHeroes();
+        Enemigo[] enemigos = batalla.getEquipoEnemigos();
+
+        int tamaño = TAMAÑO_CABECERA_FIJA;
+        byte[][] nombresHeroes = nombres(heroes);
+        byte[][] nombresEnemigos = nombres(enemigos);
+        for (int i = 0; i < heroes.length; i++) tamaño += tamañoPosicion(heroes[i], nombresHeroes[i]);
+        for (int i = 0; i < enemigos.length; i++) tamaño += tamañoPosicion(enemigos[i], nombresEnemigos[i]);
+
+        ByteBuffer cabecera = ByteBuffer.allocate(tamaño).order(ByteOrder.LITTLE_ENDIAN);
+        cabecera.putInt(MAGIA);
+        cabecera.putShort(VERSION);
+        cabecera.putShort((short) TAMAÑO_REGISTRO);
+        cabecera.putLong(semilla);
+        cabecera.putLong(0);                 // registros, se completa al cerrar
+        cabecera.putInt(0);                  // inicio de registros
+        cabecera.putInt(batalla.getTurnoActual());
+        cabecera.putInt(heroes.length);
+        cabecera.putInt(enemigos.length);
+        for (int i = 0; i < heroes.length; i++) {
+            escribirPosicion(cabecera, heroes[i], heroes[i] != null ? heroes[i].getTipo().ordinal() : 0, nombresHeroes[i]);
+        }
+        for (int i = 0; i < enemigos.length; i++) {
+            escribirPosicion(cabecera, enemigos[i], enemigos[i] != null ? enemigos[i].getTipo().ordinal() : 0, nombresEnemigos[i]);
+        }
+        cabecera.flip();
+        return cabecera;
+    }
+
+    private static byte[][] nombres(Personaje[] equipo) {
+        byte[][] nombres = new byte[equipo.length][];
+        for (int i = 0; i < equipo.length; i++) {
+            nombres[i] = equipo[i] != null ? equipo[i].getNombre().getBytes(StandardCharsets.UTF_8) : null;
+            if (nombres[i] != null && nombres[i].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Nombre demasiado largo: " + equipo[i].getNombre());
+            }
+        }
+        return nombres;
+    }
+
+    private static int tamañoPosicion(Personaje personaje, byte[] nombre) {
+        if (personaje == null) return 1;
+        return 1 + 1 + 2 + nombre.length + 7 * Integer.BYTES + FabricaPersonajes.tamañoEfectos(personaje);
+    }
+
+    private static void escribirPosicion(ByteBuffer cabecera, Personaje personaje, int tipo, byte[] nombre) {
+        if (personaje == null) {
+            cabecera.put((byte) 0);
+            return;
+        }
+        cabecera.put(personaje.esta_vivo() ? PRESENTE : PRESENTE_DERROTADO);
+        cabecera.put((byte) tipo);
+        cabecera.putShort((short) nombre.length);
+        cabecera.put(nombre);
+        cabecera.putInt(personaje.getHp());
+        cabecera.putInt(personaje.getMp());
+        cabecera.putInt(personaje.getAtaqueBase());
+        cabecera.putInt(personaje.getDefensaBase());
+        cabecera.putInt(personaje.getVelocidad());
+        cabecera.putInt(FabricaPersonajes.referencia(personaje.getDefensor()));
+        cabecera.putInt(FabricaPersonajes.referencia(personaje.getProvocador()));
+        FabricaPersonajes.escribirEfectos(cabecera, personaje);
+    }
+
+    public long getRegistros() { return registros; }
+    public Batalla getBatalla() { return batalla; }
+}
@@ -0,0 +1,240 @@
+package dqs.persistencia;
+
+import dqs.eventos.SumideroNulo;
+import dqs.eventos.TipoEvento;
+import dqs.modelos.*;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static dqs.persistencia.FormatoRepeticion.*;
+
+// Lee un registro de GrabadorRepeticion y reconstruye la batalla turno a turno.
+// Los registros se mapean en bloques del mismo tamaño que los del grabador, así que el
+// archivo puede superar los 2 GB. Los personajes reconstruidos son silenciosos (SumideroNulo).
+public class ReproductorRepeticion {
+
+    private static final long TAMAÑO_BLOQUE = (long) GrabadorRepeticion.REGISTROS_POR_BLOQUE * TAMAÑO_REGISTRO;
+
+    private final MappedByteBuffer datos;    // cabecera
+    private final MappedByteBuffer[] bloques; // registros
+    private final long semilla;
+    private final long registros;
+    private final short version;
+    private final int inicioRegistros;
+    private final Batalla batalla;
+    private long cursor;     // siguiente registro a aplicar
+    private int turno;
+
+    public ReproductorRepeticion(Path archivo) throws IOException {
+        if (archivo == null) {
+            throw new IllegalArgumentException("El archivo no puede ser nulo.");
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            if (tamaño < TAMAÑO_CABECERA_FIJA) {
+                throw new IllegalArgumentException("El archivo no es un registro de repetición.");
+            }
+            MappedByteBuffer fija = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMAÑO_CABECERA_FIJA);
+            fija.order(ByteOrder.LITTLE_ENDIAN);
+            if (fija.getInt(0) != MAGIA) {
+                throw new IllegalArgumentException("El archivo no es un registro de repetición.");
+            }
+            version = fija.getShort(4);
+            if (version < 1 || version > VERSION || fija.getShort(6) != TAMAÑO_REGISTRO) {
+                throw new IllegalArgumentException("Versión de registro no soportada: " + version);
+            }
+            semilla = fija.getLong(8);
+            registros = fija.getLong(POS_REGISTROS);
+            inicioRegistros = fija.getInt(24);
+            turno = fija.getInt(28);
+            if (inicioRegistros < TAMAÑO_CABECERA_FIJA || registros < 0
+                    || registros > (tamaño - inicioRegistros) / TAMAÑO_REGISTRO) {
+                throw new IllegalArgumentException("Registro de repetición incompleto.");
+            }
+
+            datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, inicioRegistros);
+            datos.order(ByteOrder.LITTLE_ENDIAN);
+            bloques = new MappedByteBuffer[(int) ((registros + GrabadorRepeticion.REGISTROS_POR_BLOQUE - 1)
+                    / GrabadorRepeticion.REGISTROS_POR_BLOQUE)];
+            for (int b = 0; b < bloques.length; b++) {
+                long inicio = inicioRegistros + b * TAMAÑO_BLOQUE;
+                bloques[b] = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                        Math.min(TAMAÑO_BLOQUE, inicioRegistros + registros * TAMAÑO_REGISTRO - inicio));
+                bloques[b].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        batalla = leerEquipos();
+        batalla.setTurnoActual(turno);
+    }
+
+    private Batalla leerEquipos() {
+        int cantidadHeroes = datos.getInt(32);
+        int cantidadEnemigos = datos.getInt(36);
+        Batalla reconstruida = new Batalla(cantidadHeroes, cantidadEnemigos, semilla);
+        int[] defensores = new int[cantidadHeroes + cantidadEnemigos];
+        int[] provocadores = new int[cantidadHeroes + cantidadEnemigos];
+
+        datos.position(TAMAÑO_CABECERA_FIJA);
+        for (int i = 0; i < cantidadHeroes + cantidadEnemigos; i++) {
+            defensores[i] = -1;
+            provocadores[i] = -1;
+            byte presente = datos.get();
+            if (presente == 0) continue;
+            int tipo = datos.get();
+            byte[] nombre = new byte[datos.getShort()];
+            datos.get(nombre);
+            String texto = new String(nombre, StandardCharsets.UTF_8);
+            int hp = datos.getInt(), mp = datos.getInt(), ataque = datos.getInt();
+            int defensa = datos.getInt(), velocidad = datos.getInt();
+            boolean vivo = presente != PRESENTE_DERROTADO && hp > 0;
+            defensores[i] = datos.getInt();
+            provocadores[i] = datos.getInt();
+            if (version >= 2) {
+                // La repetición no programa efectos: sigue los eventos de comienzo y final, así que
+                // los activos al empezar se suman a los valores base (sin recortar, para deshacerlos)
+                int efectos = datos.get();
+                for (int k = 0; k < efectos; k++) {
+                    TipoEfecto efecto = TipoEfecto.desdeOrdinal(datos.get());
+                    datos.getInt(); // origen
+                    int valor = datos.getInt();
+                    datos.getInt(); // turnoFin
+                    switch (efecto) {
+                        case AUMENTO_DEFENSA -> defensa += valor;
+                        case ARMADURA_ROTA -> defensa -= valor;
+                        case DEBILIDAD -> ataque -= valor;
+                        default -> { }
+                    }
+                }
+            }
+            if (i < cantidadHeroes) {
+                reconstruida.agregarHeroe(FabricaPersonajes.heroe(SumideroNulo.INSTANCIA, texto, Tipo_Heroe.values()[tipo],
+                        hp, mp, ataque, defensa, velocidad, vivo), i);
+            } else {
+                reconstruida.agregarEnemigo(FabricaPersonajes.enemigo(SumideroNulo.INSTANCIA, texto, Tipo_Enemigo.values()[tipo],
+                        hp, mp, ataque, defensa, velocidad, vivo), i - cantidadHeroes);
+            }
+        }
+
+        // Los vínculos se resuelven cuando ya existen todos los personajes
+        for (int i = 0; i < defensores.length; i++) {
+            Personaje p = i < cantidadHeroes ? reconstruida.getEquipoHeroes()[i]
+                    : reconstruida.getEquipoEnemigos()[i - cantidadHeroes];
+            if (p == null) continue;
+            p.restaurarEstado(p.getHp(), p.getMp(), p.getAtaqueBase(), p.getDefensaBase(), p.esta_vivo(),
+                    FabricaPersonajes.resolver(reconstruida, defensores[i]), FabricaPersonajes.resolver(reconstruida, provocadores[i]));
+        }
+        return reconstruida;
+    }
+
+    // Aplica los registros del turno en curso hasta la siguiente marca de turno.
+    // Devuelve false si ya no quedan registros.
+    public boolean avanzarTurno() {
+        if (cursor >= registros) return false;
+        if (esMarcaTurno(cursor)) {
+            turno = getValor(cursor);
+            batalla.setTurnoActual(turno);
+            cursor++;
+        }
+        while (cursor < registros && !esMarcaTurno(cursor)) {
+            aplicar(cursor++);
+        }
+        return true;
+    }
+
+    // Avanza hasta terminar el turno indicado (o el final del registro)
+    public void avanzarHasta(int turnoObjetivo) {
+        while (cursor < registros) {
+            if (esMarcaTurno(cursor) && getValor(cursor) > turnoObjetivo) return;
+            avanzarTurno();
+        }
+    }
+
+    // Aplica todo el registro
+    public void avanzarHastaElFinal() {
+        while (avanzarTurno()) {
+            // sigue
+        }
+    }
+
+    private void aplicar(long i) {
+        MappedByteBuffer datos = bloque(i);
+        int base = desplazamiento(i);
+        int bandos = datos.get(base + BANDOS);
+        Personaje origen = personaje((bandos & ENEMIGO_ORIGEN) != 0, datos.getShort(base + ORIGEN));
+        Personaje objetivo = personaje((bandos & ENEMIGO_OBJETIVO) != 0, datos.getShort(base + OBJETIVO));
+        TipoEvento tipo = TipoEvento.desdeOrdinal(datos.get(base + TIPO));
+
+        if (objetivo != null) {
+            Personaje defensor = objetivo.getDefensor();
+            Personaje provocador = objetivo.getProvocador();
+            int ataque = objetivo.getAtaqueBase(); // sin recortar a cero, para deshacer cada efecto
+            int defensa = objetivo.getDefensaBase();
+            boolean vivo = objetivo.esta_vivo(); // solo cambia con DERROTA y REVIVIR, no con el HP
+            switch (tipo) {
+                case DERROTA -> vivo = false;
+                case REVIVIR -> vivo = true;
+                case DEFENSA_ASIGNADA -> defensor = origen;
+                case DEFENSA_RETIRADA -> defensor = null;
+                case PROVOCACION_APLICADA -> provocador = origen;
+                case PROVOCACION_RETIRADA -> provocador = null;
+                // Los efectos temporales anuncian su comienzo y su final con el valor
+                case DEFENSA_AUMENTADA, ARMADURA_RESTAURADA -> defensa += datos.getInt(base + VALOR);
+                case ARMADURA_ROTA, AUMENTO_DEFENSA_TERMINADO -> defensa -= datos.getInt(base + VALOR);
+                case DEBILITADO -> ataque -= datos.getInt(base + VALOR);
+                case DEBILIDAD_TERMINADA -> ataque += datos.getInt(base + VALOR);
+                default -> { }
+            }
+            int hp = datos.getInt(base + HP_OBJETIVO);
+            objetivo.restaurarEstado(hp, datos.getInt(base + MP_OBJETIVO), ataque, defensa,
+                    vivo, defensor, provocador);
+        }
+        if (origen != null) {
+            origen.setMp(datos.getInt(base + MP_ORIGEN));
+        }
+    }
+
+    private Personaje personaje(boolean enemigo, int posicion) {
+        if (posicion < 0) return null;
+        return enemigo ? batalla.getEquipoEnemigos()[posicion] : batalla.getEquipoHeroes()[posicion];
+    }
+
+    // Bloque mapeado que contiene el registro i y posición del registro dentro del bloque
+    private MappedByteBuffer bloque(long i) {
+        if (i < 0 || i >= registros) {
+            throw new IllegalArgumentException("Registro fuera de rango: " + i);
+        }
+        return bloques[(int) (i / GrabadorRepeticion.REGISTROS_POR_BLOQUE)];
+    }
+
+    private static int desplazamiento(long i) {
+        return (int) (i % GrabadorRepeticion.REGISTROS_POR_BLOQUE) * TAMAÑO_REGISTRO;
+    }
+
+    // Acceso directo a los registros (auditorías sin reconstruir la batalla)
+    public boolean esMarcaTurno(long i) { return bloque(i).get(desplazamiento(i) + TIPO) == MARCA_TURNO; }
+
+    public TipoEvento getTipo(long i) {
+        byte tipo = bloque(i).get(desplazamiento(i) + TIPO);
+        return tipo == MARCA_TURNO ? null : TipoEvento.desdeOrdinal(tipo);
+    }
+
+    public int getOrigen(long i) { return bloque(i).getShort(desplazamiento(i) + ORIGEN); }
+    public int getObjetivo(long i) { return bloque(i).getShort(desplazamiento(i) + OBJETIVO); }
+    public boolean origenEsEnemigo(long i) { return (bloque(i).get(desplazamiento(i) + BANDOS) & ENEMIGO_ORIGEN) != 0; }
+    public boolean objetivoEsEnemigo(long i) { return (bloque(i).get(desplazamiento(i) + BANDOS) & ENEMIGO_OBJETIVO) != 0; }
+    public int getValor(long i) { return bloque(i).getInt(desplazamiento(i) + VALOR); }
+    public int getHpObjetivo(long i) { return bloque(i).getInt(desplazamiento(i) + HP_OBJETIVO); }
+
+    // Getters
+    public Batalla getBatalla() { return batalla; }
+    public int getTurno() { return turno; }
+    public long getSemilla() { return semilla; }
+    public long getCantidadRegistros() { return registros; }
+    public long getRegistrosAplicados() { return cursor; }
+}
@@ -0,0 +1,130 @@
+package dqs.servidor;
+
+import dqs.main.EntradaGuion;
+import dqs.metricas.HistogramaLatencia;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cliente de carga para ServidorBatallas: juega un guion (el mismo formato que ConductorGuiones)
+// en muchas sesiones remotas a la vez y mide el tiempo de ida y vuelta de cada respuesta.
+// Opcionalmente mantiene además conexiones inactivas abiertas mientras dura la prueba.
+public class ClienteCarga {
+
+    private final SocketAddress direccion;
+    private final List<String> respuestas;
+    private final HistogramaLatencia pasos = new HistogramaLatencia("pasoRemoto");
+    private final HistogramaLatencia sesiones = new HistogramaLatencia("sesionRemota");
+    private final AtomicLong completas = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+
+    public ClienteCarga(SocketAddress direccion, List<String> respuestas) {
+        if (direccion == null || respuestas == null) {
+            throw new IllegalArgumentException("La dirección y las respuestas no pueden ser nulas.");
+        }
+        this.direccion = direccion;
+        this.respuestas = List.copyOf(respuestas);
+    }
+
+    // Juega 'cantidad' sesiones con 'concurrentes' conexiones activas a la vez
+    public void ejecutar(int cantidad, int concurrentes) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrentes);
+        for (int i = 0; i < cantidad; i++) pool.execute(this::jugar);
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    // Una sesión: responde con el guion cada vez que el servidor espera y sale del bloque
+    // de combate cuando el servidor anuncia el fin de la batalla
+    public void jugar() {
+        EntradaGuion guion = new EntradaGuion(respuestas, pasos);
+        long inicio = System.nanoTime();
+        try (SocketChannel canal = conectar()) {
+            BufferedReader lector = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(canal), StandardCharsets.UTF_8), 1024);
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.equals(EntradaCanal.FIN_BATALLA)) {
+                    guion.batallaTerminada();
+                } else if (linea.equals(EntradaCanal.ESPERA)) {
+                    String respuesta = guion.leerLinea();
+                    if (respuesta == null) break;
+                    canal.write(ByteBuffer.wrap((respuesta + "\n").getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+            sesiones.registrar(System.nanoTime() - inicio);
+            completas.incrementAndGet();
+        } catch (IOException e) {
+            fallos.incrementAndGet();
+        }
+    }
+
+    // Conexiones que no envían nada, para medir cuántas sesiones en espera aguanta el servidor
+    public List<SocketChannel> abrirInactivas(int cantidad) throws IOException {
+        List<SocketChannel> canales = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) canales.add(conectar());
+        return canales;
+    }
+
+    private SocketChannel conectar() throws IOException {
+        SocketChannel canal = direccion instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open();
+        try {
+            if (!(direccion instanceof UnixDomainSocketAddress)) canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            canal.connect(direccion);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        return canal;
+    }
+
+    // Getters
+    public HistogramaLatencia getPasos() { return pasos; }
+    public HistogramaLatencia getSesiones() { return sesiones; }
+    public long getCompletas() { return completas.get(); }
+    public long getFallos() { return fallos.get(); }
+
+    // Uso: ClienteCarga <puerto | host:puerto | unix:ruta> <guion> [sesiones] [concurrentes] [inactivas]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Uso: ClienteCarga <puerto | host:puerto | unix:ruta> <guion> [sesiones] [concurrentes] [inactivas]");
+            return;
+        }
+        int cantidad = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int concurrentes = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        int inactivas = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        ClienteCarga cliente = new ClienteCarga(ServidorBatallas.direccion(args[0]), EntradaGuion.leer(Path.of(args[1])));
+
+        List<SocketChannel> abiertas = cliente.abrirInactivas(inactivas);
+        long inicio = System.nanoTime();
+        cliente.ejecutar(cantidad, concurrentes);
+        long nanos = System.nanoTime() - inicio;
+        for (SocketChannel canal : abiertas) canal.close();
+
+        HistogramaLatencia pasos = cliente.getPasos();
+        HistogramaLatencia sesiones = cliente.getSesiones();
+        System.out.printf("%d sesiones (%d concurrentes, %d inactivas) en %d ms (%.0f sesiones/minuto)%n",
+                cantidad, concurrentes, inactivas, nanos / 1_000_000, cantidad * 60e9 / Math.max(nanos, 1));
+        System.out.printf("Respuestas: %d | p50 %.1f us | p99 %.1f us | máx %.1f us%n",
+                pasos.getCuenta(), pasos.getP50Micros(), pasos.getP99Micros(), pasos.getMaximoMicros());
+        System.out.printf("Sesiones: p50 %.1f us | p99 %.1f us | máx %.1f us%n",
+                sesiones.getP50Micros(), sesiones.getP99Micros(), sesiones.getMaximoMicros());
+        System.out.printf("Completas: %d | fallos: %d%n", cliente.getCompletas(), cliente.getFallos());
+    }
+}
@@ -0,0 +1,71 @@
+package dqs.servidor;
+
+import dqs.main.EntradaJuego;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Respuestas de un cliente remoto, leídas de su canal con búferes fijos: una línea nunca
+// ocupa más de LONGITUD_MAXIMA bytes (el resto se descarta). Antes de cada lectura avisa al
+// cliente con una línea ESPERA, y al terminar una batalla con FIN_BATALLA.
+public class EntradaCanal implements EntradaJuego {
+
+    public static final String ESPERA = ">";
+    public static final String FIN_BATALLA = "@fin";
+    public static final int LONGITUD_MAXIMA = 256;
+
+    private final ReadableByteChannel canal;
+    private final PrintStream salida;
+    private final ByteBuffer recibido = ByteBuffer.allocate(LONGITUD_MAXIMA);
+    private final byte[] linea = new byte[LONGITUD_MAXIMA];
+    private boolean cerrado;
+
+    public EntradaCanal(ReadableByteChannel canal, PrintStream salida) {
+        if (canal == null || salida == null) {
+            throw new IllegalArgumentException("El canal y la salida no pueden ser nulos.");
+        }
+        this.canal = canal;
+        this.salida = salida;
+        recibido.flip(); // vacío
+    }
+
+    @Override
+    public String leerLinea() {
+        if (cerrado) return null;
+        salida.print("\n" + ESPERA + "\n");
+        salida.flush();
+
+        int longitud = 0;
+        while (true) {
+            if (!recibido.hasRemaining() && !recibir()) {
+                cerrado = true;
+                return null;
+            }
+            byte b = recibido.get();
+            if (b == '\n') break;
+            if (longitud < linea.length) linea[longitud++] = b;
+        }
+        if (longitud > 0 && linea[longitud - 1] == '\r') longitud--;
+        return new String(linea, 0, longitud, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void batallaTerminada() {
+        salida.print("\n" + FIN_BATALLA + "\n");
+    }
+
+    // false si el cliente cerró la conexión
+    private boolean recibir() {
+        recibido.clear();
+        try {
+            int leidos = canal.read(recibido);
+            recibido.flip();
+            return leidos > 0;
+        } catch (IOException e) {
+            recibido.flip();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package dqs.servidor;
+
+import dqs.main.SesionJuego;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Servidor de batallas: cada conexión (TCP o socket Unix) es una SesionJuego independiente,
+// con su propia Batalla, que juega el mismo menú que App sin pausas.
+// Protocolo de líneas en UTF-8: el cliente envía una respuesta por línea; el servidor envía
+// el texto del juego y termina cada mensaje con una línea ">" cuando espera respuesta
+// y con una línea "@fin" cuando acaba una batalla (ver EntradaCanal).
+//
+// Cada sesión tiene su hilo con una pila pequeña y búferes fijos, y el número de sesiones
+// simultáneas está limitado, así que la memoria total queda acotada.
+public class ServidorBatallas implements AutoCloseable {
+
+    public static final int SESIONES_POR_DEFECTO = 4096;
+    private static final long TAMAÑO_PILA = 256 * 1024;
+    private static final int BUFER_SALIDA = 2048;
+
+    private final SocketAddress direccion;
+    private final int maxSesiones;
+    private final AtomicInteger activas = new AtomicInteger();
+    private final AtomicLong atendidas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final AtomicLong contador = new AtomicLong();
+    private ServerSocketChannel servidor;
+    private Thread aceptador;
+
+    public ServidorBatallas(SocketAddress direccion, int maxSesiones) {
+        if (direccion == null) {
+            throw new IllegalArgumentException("La dirección no puede ser nula.");
+        }
+        if (maxSesiones < 1) {
+            throw new IllegalArgumentException("Debe admitirse al menos una sesión.");
+        }
+        this.direccion = direccion;
+        this.maxSesiones = maxSesiones;
+    }
+
+    // "unix:/ruta/al/socket", "host:puerto" o solo "puerto" (en localhost)
+    public static SocketAddress direccion(String texto) {
+        if (texto.startsWith("unix:")) return UnixDomainSocketAddress.of(texto.substring("unix:".length()));
+        int dosPuntos = texto.lastIndexOf(':');
+        try {
+            if (dosPuntos < 0) return new InetSocketAddress("localhost", Integer.parseInt(texto));
+            return new InetSocketAddress(texto.substring(0, dosPuntos), Integer.parseInt(texto.substring(dosPuntos + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Dirección inválida: " + texto);
+        }
+    }
+
+    // Abre el socket y empieza a aceptar conexiones en otro hilo
+    public synchronized void iniciar() throws IOException {
+        if (servidor != null) {
+            throw new IllegalStateException("El servidor ya está iniciado.");
+        }
+        if (direccion instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+            servidor = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            servidor = ServerSocketChannel.open();
+        }
+        servidor.bind(direccion, 1024);
+        aceptador = new Thread(this::aceptar, "servidor-batallas");
+        aceptador.start();
+    }
+
+    private void aceptar() {
+        while (true) {
+            SocketChannel cliente;
+            try {
+                cliente = servidor.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Error al aceptar una conexión: " + e.getMessage());
+                continue;
+            }
+            if (activas.incrementAndGet() > maxSesiones) {
+                activas.decrementAndGet();
+                rechazadas.incrementAndGet();
+                rechazar(cliente);
+                continue;
+            }
+            Thread hilo = new Thread(null, () -> atender(cliente), "sesion-" + contador.incrementAndGet(), TAMAÑO_PILA);
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+    }
+
+    private void atender(SocketChannel cliente) {
+        try (cliente) {
+            if (!(direccion instanceof UnixDomainSocketAddress)) {
+                // Mensajes cortos de ida y vuelta: sin Nagle cada respuesta espera al ACK retardado
+                cliente.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            PrintStream salida = new PrintStream(
+                    new BufferedOutputStream(Channels.newOutputStream(cliente), BUFER_SALIDA),
+                    false, StandardCharsets.UTF_8);
+            SesionJuego sesion = new SesionJuego(new EntradaCanal(cliente, salida), salida);
+            sesion.setPausas(false);
+            sesion.setRemota(true);
+            sesion.ejecutar();
+            atendidas.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Sesión " + Thread.currentThread().getName() + " terminada con error: " + e);
+        } finally {
+            activas.decrementAndGet();
+        }
+    }
+
+    private static void rechazar(SocketChannel cliente) {
+        try (cliente) {
+            cliente.write(ByteBuffer.wrap("Servidor lleno. Intente más tarde.\n".getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            // el cliente ya se fue
+        }
+    }
+
+    // Deja de aceptar conexiones; las sesiones en curso terminan cuando su cliente se desconecta
+    @Override
+    public synchronized void close() throws IOException {
+        if (servidor == null) return;
+        servidor.close();
+        if (direccion instanceof UnixDomainSocketAddress unix) Files.deleteIfExists(unix.getPath());
+    }
+
+    // Getters
+    public SocketAddress getDireccionLocal() throws IOException { return servidor.getLocalAddress(); }
+    public int getActivas() { return activas.get(); }
+    public long getAtendidas() { return atendidas.get(); }
+    public long getRechazadas() { return rechazadas.get(); }
+
+    // Uso: ServidorBatallas <puerto | host:puerto | unix:ruta> [maxSesiones]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Uso: ServidorBatallas <puerto | host:puerto | unix:ruta> [maxSesiones]");
+            return;
+        }
+        int max = args.length > 1 ? Integer.parseInt(args[1]) : SESIONES_POR_DEFECTO;
+        ServidorBatallas servidor = new ServidorBatallas(direccion(args[0]), max);
+        servidor.iniciar();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                servidor.close();
+            } catch (IOException e) {
+                // se está cerrando la JVM
+            }
+        }));
+        System.out.println("Servidor de batallas escuchando en " + servidor.getDireccionLocal()
+                + " (máximo " + max + " sesiones)");
+        servidor.aceptador.join();
+    }
+}
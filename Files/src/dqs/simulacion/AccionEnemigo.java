@@ -0,0 +1,7 @@
+package dqs.simulacion;
+
+public enum AccionEnemigo {
+    ATAQUE,              // Agresivo.atacar
+    HABILIDAD_ESPECIAL,  // Agresivo.usarHabilidadEspecial
+    ESPERAR              // sin objetivo válido
+}
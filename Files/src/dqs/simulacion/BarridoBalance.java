@@ -0,0 +1,153 @@
+package dqs.simulacion;
+
+import dqs.metricas.Metricas;
+import dqs.modelos.FuenteAleatoria;
+import dqs.modelos.Tipo_Enemigo;
+import dqs.modelos.Tipo_Heroe;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Barrido de balance: para cada pareja Tipo_Heroe x Tipo_Enemigo enfrenta equipos con
+// atributos muestreados dentro de los rangos del tipo y cuenta victorias por nivel.
+// Muestreo estratificado: el nivel n saca cada atributo del n-ésimo tramo de su rango
+// (nivel 0 = todo cerca del mínimo, último nivel = todo cerca del máximo).
+//
+// Las celdas se simulan en paralelo con el motor compacto. Cada pareja se entrega al
+// consumidor en cuanto termina; el orden de entrega depende de los hilos, el contenido no.
+public class BarridoBalance {
+
+    public static final int NIVELES_POR_DEFECTO = 4;
+    public static final int MUESTRAS_POR_DEFECTO = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int niveles;
+    private final int muestrasPorCelda;
+    private final int tamañoEquipo;
+    private final int maxTurnos;
+    private final long semilla;
+
+    // Constructores
+    public BarridoBalance(long semilla) {
+        this(ForkJoinPool.commonPool(), NIVELES_POR_DEFECTO, MUESTRAS_POR_DEFECTO, 1, 50, semilla);
+    }
+
+    public BarridoBalance(ForkJoinPool pool, int niveles, int muestrasPorCelda, int tamañoEquipo,
+                          int maxTurnos, long semilla) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser nulo.");
+        }
+        if (niveles < 1 || muestrasPorCelda < 1 || tamañoEquipo < 1 || maxTurnos < 1) {
+            throw new IllegalArgumentException("Niveles, muestras, tamaño de equipo y turnos deben ser al menos 1.");
+        }
+        this.pool = pool;
+        this.niveles = niveles;
+        this.muestrasPorCelda = muestrasPorCelda;
+        this.tamañoEquipo = tamañoEquipo;
+        this.maxTurnos = maxTurnos;
+        this.semilla = semilla;
+    }
+
+    // Ejecuta el barrido completo; el consumidor recibe cada pareja al terminarla
+    public void ejecutar(Consumer<MatrizVictorias> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser nulo.");
+        }
+        Tipo_Heroe[] heroes = Tipo_Heroe.values();
+        Tipo_Enemigo[] enemigos = Tipo_Enemigo.values();
+        int parejas = heroes.length * enemigos.length;
+        pool.submit(() -> IntStream.range(0, parejas).parallel().forEach(p -> {
+            MatrizVictorias matriz = simularPareja(heroes[p / enemigos.length], enemigos[p % enemigos.length]);
+            synchronized (consumidor) {
+                consumidor.accept(matriz);
+            }
+        })).join();
+    }
+
+    public MatrizVictorias simularPareja(Tipo_Heroe tipoHeroe, Tipo_Enemigo tipoEnemigo) {
+        MatrizVictorias matriz = new MatrizVictorias(tipoHeroe, tipoEnemigo, niveles);
+        long base = mezclar(semilla ^ ((long) tipoHeroe.ordinal() << 32 | tipoEnemigo.ordinal()));
+        IntStream.range(0, niveles * niveles).parallel().forEach(celda -> {
+            int nivelHeroe = celda / niveles;
+            int nivelEnemigo = celda % niveles;
+            FuenteAleatoria aleatorio = FuenteAleatoria.conSemilla(mezclar(base + celda));
+            for (int m = 0; m < muestrasPorCelda; m++) {
+                long inicio = Metricas.inicio();
+                BatallaCompacta batalla = new BatallaCompacta(
+                        equipoHeroes(tipoHeroe, nivelHeroe, aleatorio),
+                        equipoEnemigos(tipoEnemigo, nivelEnemigo, aleatorio));
+                matriz.registrar(nivelHeroe, nivelEnemigo, batalla.resolver(maxTurnos, aleatorio));
+                Metricas.registrar(Metricas.BATALLA, inicio);
+            }
+        });
+        return matriz;
+    }
+
+    private EquipoCompacto equipoHeroes(Tipo_Heroe tipo, int nivel, FuenteAleatoria aleatorio) {
+        EquipoCompacto equipo = new EquipoCompacto(tamañoEquipo);
+        for (int i = 0; i < tamañoEquipo; i++) {
+            equipo.agregar(tipo.ordinal(), enTramo(tipo.getMinHP(), tipo.getMaxHP(), nivel, aleatorio),
+                    enTramo(tipo.getMinMP(), tipo.getMaxMP(), nivel, aleatorio),
+                    enTramo(tipo.getMinAtaque(), tipo.getMaxAtaque(), nivel, aleatorio),
+                    enTramo(tipo.getMinDefensa(), tipo.getMaxDefensa(), nivel, aleatorio),
+                    aleatorio.enRango(10, 29));
+        }
+        return equipo;
+    }
+
+    private EquipoCompacto equipoEnemigos(Tipo_Enemigo tipo, int nivel, FuenteAleatoria aleatorio) {
+        EquipoCompacto equipo = new EquipoCompacto(tamañoEquipo);
+        for (int i = 0; i < tamañoEquipo; i++) {
+            equipo.agregar(tipo.ordinal(), enTramo(tipo.getMinHp(), tipo.getMaxHp(), nivel, aleatorio),
+                    enTramo(tipo.getMinMp(), tipo.getMaxMp(), nivel, aleatorio),
+                    enTramo(tipo.getMinAtaque(), tipo.getMaxAtaque(), nivel, aleatorio),
+                    enTramo(tipo.getMinDefensa(), tipo.getMaxDefensa(), nivel, aleatorio),
+                    aleatorio.enRango(10, 29));
+        }
+        return equipo;
+    }
+
+    // Valor al azar dentro del tramo número 'nivel' de [min, max]
+    private int enTramo(int min, int max, int nivel, FuenteAleatoria aleatorio) {
+        long ancho = (long) max - min + 1;
+        int desde = (int) (min + ancho * nivel / niveles);
+        int hasta = (int) (min + ancho * (nivel + 1) / niveles) - 1;
+        return aleatorio.enRango(desde, Math.max(desde, hasta));
+    }
+
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getBatallasTotales() {
+        return (long) Tipo_Heroe.values().length * Tipo_Enemigo.values().length * niveles * niveles * muestrasPorCelda;
+    }
+
+    // Uso: BarridoBalance <archivo.csv> [muestrasPorCelda] [niveles] [tamañoEquipo]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Uso: BarridoBalance <archivo.csv> [muestrasPorCelda] [niveles] [tamañoEquipo]");
+            return;
+        }
+        int muestras = args.length > 1 ? Integer.parseInt(args[1]) : MUESTRAS_POR_DEFECTO;
+        int niveles = args.length > 2 ? Integer.parseInt(args[2]) : NIVELES_POR_DEFECTO;
+        int tamaño = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        BarridoBalance barrido = new BarridoBalance(ForkJoinPool.commonPool(), niveles, muestras, tamaño, 50, 42);
+
+        Metricas.iniciar(System.err);
+        long inicio = System.nanoTime();
+        try (EscritorBarridoCSV csv = new EscritorBarridoCSV(Path.of(args[0]))) {
+            barrido.ejecutar(matriz -> {
+                csv.accept(matriz);
+                System.out.print(matriz);
+            });
+        }
+        System.out.printf("%d batallas en %d ms%n", barrido.getBatallasTotales(), (System.nanoTime() - inicio) / 1_000_000);
+        if (Metricas.ACTIVAS) System.out.print(Metricas.texto());
+    }
+}
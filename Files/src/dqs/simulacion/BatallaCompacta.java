@@ -0,0 +1,205 @@
+package dqs.simulacion;
+
+import dqs.modelos.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Batalla sobre arreglos primitivos para equipos muy grandes (miles por lado).
+// Aplica las mismas reglas que Personaje/Heroe/Enemigo y ResolutorBatalla.
+// Los objetos Heroe/Enemigo de origen siguen siendo la vista del estado: volcar()
+// les copia el resultado.
+public class BatallaCompacta {
+
+    private static final Tipo_Enemigo[] TIPOS_ENEMIGO = Tipo_Enemigo.values();
+    private static final int MULTIPLICADOR_SIN_TIPO = 2; // enemigos agregados sin tipo
+
+    private final EquipoCompacto heroes;
+    private final EquipoCompacto enemigos;
+    private final Personaje[] vistaHeroes;   // null si se creó sin objetos
+    private final Personaje[] vistaEnemigos;
+    private int turnoActual;
+
+    // Constructor para equipos generados directamente en arreglos
+    public BatallaCompacta(EquipoCompacto heroes, EquipoCompacto enemigos) {
+        this(heroes, enemigos, null, null);
+    }
+
+    private BatallaCompacta(EquipoCompacto heroes, EquipoCompacto enemigos,
+                            Personaje[] vistaHeroes, Personaje[] vistaEnemigos) {
+        if (heroes == null || enemigos == null) {
+            throw new IllegalArgumentException("Los equipos no pueden ser nulos.");
+        }
+        this.heroes = heroes;
+        this.enemigos = enemigos;
+        this.vistaHeroes = vistaHeroes;
+        this.vistaEnemigos = vistaEnemigos;
+    }
+
+    // Copia los equipos de objetos a arreglos. Las posiciones vacías se omiten.
+    public static BatallaCompacta desde(Heroe[] equipoHeroes, Enemigo[] equipoEnemigos) {
+        Personaje[] vh = sinVacios(equipoHeroes);
+        Personaje[] ve = sinVacios(equipoEnemigos);
+        EquipoCompacto h = new EquipoCompacto(vh.length);
+        EquipoCompacto e = new EquipoCompacto(ve.length);
+        Map<Personaje, Integer> indiceHeroe = new IdentityHashMap<>();
+        Map<Personaje, Integer> indiceEnemigo = new IdentityHashMap<>();
+        for (Personaje p : vh) indiceHeroe.put(p, h.agregar(p));
+        for (Personaje p : ve) indiceEnemigo.put(p, e.agregar(p));
+        enlazar(vh, h, indiceHeroe, indiceEnemigo);
+        enlazar(ve, e, indiceEnemigo, indiceHeroe);
+        return new BatallaCompacta(h, e, vh, ve);
+    }
+
+    // Ataque básico: daño = ataque - defensa del objetivo (mínimo 1), luego recibirDaño
+    static void atacar(EquipoCompacto atacantes, int i, EquipoCompacto objetivos, int j) {
+        int daño = atacantes.ataque[i] - objetivos.defensa[j];
+        if (daño < 1) daño = 1;
+        objetivos.recibirDaño(j, daño);
+    }
+
+    // Habilidad especial de Enemigo: daño = ataque * multiplicador del tipo en la
+    // TablaHabilidades - defensa del objetivo (mínimo 1). El efecto que deja la habilidad
+    // (veneno, debilidad, armadura rota) no se simula: el modelo compacto no tiene efectos.
+    static void usarHabilidadEspecial(EquipoCompacto atacantes, int i, EquipoCompacto objetivos, int j) {
+        int daño = atacantes.ataque[i] * multiplicador(atacantes.tipo[i]) - objetivos.defensa[j];
+        if (daño < 1) daño = 1;
+        objetivos.recibirDaño(j, daño);
+    }
+
+    private static int multiplicador(int tipo) {
+        if (tipo == EquipoCompacto.NINGUNO) return MULTIPLICADOR_SIN_TIPO;
+        TablaHabilidades tabla = TablaHabilidades.getActual();
+        return tabla.getMultiplicador(tabla.indice(TIPOS_ENEMIGO[tipo], Habilidad.HABILIDAD_ESPECIAL));
+    }
+
+    // Misma regla que Personaje.seleccionarObjetivo: el provocador vivo, si no el primer vivo
+    public static int seleccionarObjetivo(EquipoCompacto atacantes, int i, EquipoCompacto objetivos) {
+        int p = atacantes.provocador[i];
+        if (p != EquipoCompacto.NINGUNO && objetivos.estaVivo(p)) return p;
+        return objetivos.primerVivo();
+    }
+
+    // Misma regla que Personaje.atacarConProvocacion. Devuelve el objetivo o NINGUNO.
+    public static int atacarConProvocacion(EquipoCompacto atacantes, int i, EquipoCompacto objetivos) {
+        int j = seleccionarObjetivo(atacantes, i, objetivos);
+        if (j != EquipoCompacto.NINGUNO) {
+            atacar(atacantes, i, objetivos, j);
+            if (!objetivos.estaVivo(j) && atacantes.provocador[i] == j) {
+                atacantes.provocador[i] = EquipoCompacto.NINGUNO;
+            }
+        }
+        return j;
+    }
+
+    // Juega la batalla con las mismas decisiones que ResolutorBatalla
+    public Desenlace resolver(int maxTurnos, FuenteAleatoria aleatorio) {
+        Desenlace desenlace = verificarVictoria();
+        int turno = 0;
+        while (desenlace == null && turno < maxTurnos) {
+            turno++;
+
+            // Turno de los héroes: cada héroe vivo ataca al primer enemigo vivo
+            for (int i = 0; i < heroes.getTamaño() && desenlace == null; i++) {
+                if (heroes.estaVivo(i)) {
+                    atacar(heroes, i, enemigos, enemigos.primerVivo());
+                    desenlace = verificarVictoria();
+                }
+            }
+
+            // Turno de los enemigos
+            desenlace = turnoEnemigos(0, aleatorio);
+        }
+        turnoActual = turno;
+        return desenlace == null ? Desenlace.EMPATE : desenlace;
+    }
+
+    // Actúan los enemigos vivos desde el índice indicado. Devuelve el desenlace o null.
+    public Desenlace turnoEnemigos(int desde, FuenteAleatoria aleatorio) {
+        Desenlace desenlace = verificarVictoria();
+        for (int i = desde; i < enemigos.getTamaño() && desenlace == null; i++) {
+            if (enemigos.estaVivo(i)) {
+                actuarEnemigo(i, aleatorio);
+                desenlace = verificarVictoria();
+            }
+        }
+        return desenlace;
+    }
+
+    // Los enemigos respetan la provocación, si no eligen un héroe al azar
+    private void actuarEnemigo(int i, FuenteAleatoria aleatorio) {
+        if (enemigos.provocador[i] != EquipoCompacto.NINGUNO) {
+            atacarConProvocacion(enemigos, i, heroes);
+        } else {
+            int k = aleatorio.siguienteEntero(heroes.getCantidadVivos());
+            atacar(enemigos, i, heroes, heroes.vivoNumero(k));
+        }
+    }
+
+    // Copia independiente, sin objetos de origen
+    public BatallaCompacta copiar() {
+        BatallaCompacta copia = new BatallaCompacta(heroes.copiar(), enemigos.copiar());
+        copia.turnoActual = turnoActual;
+        return copia;
+    }
+
+    // Sobrescribe esta batalla con el estado de otra del mismo tamaño, sin crear arreglos
+    public void copiarDesde(BatallaCompacta otra) {
+        heroes.copiarDesde(otra.heroes);
+        enemigos.copiarDesde(otra.enemigos);
+        turnoActual = otra.turnoActual;
+    }
+
+    Desenlace verificarVictoria() {
+        if (heroes.getCantidadVivos() == 0) return Desenlace.VICTORIA_ENEMIGOS;
+        if (enemigos.getCantidadVivos() == 0) return Desenlace.VICTORIA_HEROES;
+        return null;
+    }
+
+    // Copia el estado de los arreglos a los Heroe/Enemigo de origen
+    public void volcar() {
+        if (vistaHeroes == null) {
+            throw new IllegalStateException("Esta batalla compacta no se creó a partir de objetos.");
+        }
+        volcarEquipo(heroes, vistaHeroes, vistaHeroes, vistaEnemigos);
+        volcarEquipo(enemigos, vistaEnemigos, vistaEnemigos, vistaHeroes);
+    }
+
+    private static void volcarEquipo(EquipoCompacto equipo, Personaje[] vista,
+                                     Personaje[] aliados, Personaje[] rivales) {
+        for (int i = 0; i < equipo.getTamaño(); i++) {
+            int d = equipo.defensor[i];
+            int p = equipo.provocador[i];
+            vista[i].restaurarEstado(equipo.hp[i], equipo.mp[i], equipo.ataque[i], equipo.defensa[i],
+                    equipo.estaVivo(i),
+                    d == EquipoCompacto.NINGUNO ? null : aliados[d],
+                    p == EquipoCompacto.NINGUNO ? null : rivales[p]);
+        }
+    }
+
+    private static void enlazar(Personaje[] vista, EquipoCompacto equipo,
+                                Map<Personaje, Integer> aliados, Map<Personaje, Integer> rivales) {
+        for (int i = 0; i < vista.length; i++) {
+            Personaje p = vista[i];
+            if (p.estaSiendoDefendido() && aliados.containsKey(p.getDefensor())) {
+                equipo.setDefensor(i, aliados.get(p.getDefensor()));
+            }
+            if (p.estaProvocado() && rivales.containsKey(p.getProvocador())) {
+                equipo.setProvocador(i, rivales.get(p.getProvocador()));
+            }
+        }
+    }
+
+    private static Personaje[] sinVacios(Personaje[] equipo) {
+        int n = 0;
+        for (Personaje p : equipo) if (p != null) n++;
+        Personaje[] resultado = new Personaje[n];
+        n = 0;
+        for (Personaje p : equipo) if (p != null) resultado[n++] = p;
+        return resultado;
+    }
+
+    // Getters
+    public EquipoCompacto getHeroes() { return heroes; }
+    public EquipoCompacto getEnemigos() { return enemigos; }
+    public int getTurnoActual() { return turnoActual; }
+}
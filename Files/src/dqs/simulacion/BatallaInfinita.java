@@ -0,0 +1,219 @@
+package dqs.simulacion;
+
+import dqs.jfr.EventoBatallaTerminada;
+import dqs.modelos.*;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Modo sin fin: un equipo de héroes contra una corriente de enemigos que llega de una fuente
+// perezosa (por ejemplo FuenteOleadas). Solo hay 'ventana' enemigos en la batalla a la vez:
+// cada enemigo derrotado se saca de su posición (y, con reserva, se guarda para reutilizarlo)
+// y la posición se vuelve a ocupar con el siguiente de la fuente. Así la memoria no crece con
+// la cantidad de enemigos y una corrida puede durar millones de enemigos.
+// Cada 'tamañoOleada' enemigos derrotados se entrega un ResultadoOleada (al final del turno en
+// que se alcanzan), de modo que los resultados se pueden leer mientras la corrida sigue.
+public class BatallaInfinita {
+
+    public static final int TAMAÑO_OLEADA = 100;
+
+    private final Batalla batalla;
+    private final Heroe[] heroes;
+    private final Enemigo[] ventana;
+    private final Spliterator<Enemigo> fuente;
+    private final int[] hpInicial;
+    private final int[] mpInicial;
+    private final int[] ataqueInicial;
+    private final int[] defensaInicial;
+    private final ResultadoOleada oleada = new ResultadoOleada();
+    private final Consumer<Enemigo> recibir = enemigo -> entrante = enemigo;
+    private Enemigo entrante;
+    private ReservaEnemigos reserva;          // null: los derrotados se dejan al recolector
+    private int tamañoOleada = TAMAÑO_OLEADA;
+    private int maxTurnos = Integer.MAX_VALUE;
+    // true: los héroes empiezan cada oleada como al principio, y si caen todos termina la
+    // oleada en lugar de la corrida
+    private boolean recuperarEntreOleadas;
+    private int ocupadas;
+    private long enemigosDerrotados;
+    private long oleadas;
+    private long caidas;
+    private boolean ejecutada;
+
+    // Los héroes entran en una batalla nueva con 'ventana' posiciones de enemigos
+    public BatallaInfinita(Heroe[] heroes, int ventana, Spliterator<Enemigo> fuente, long semilla) {
+        if (heroes == null || heroes.length == 0) {
+            throw new IllegalArgumentException("El equipo de héroes no puede estar vacío.");
+        }
+        if (fuente == null) {
+            throw new IllegalArgumentException("La fuente de enemigos no puede ser nula.");
+        }
+        this.batalla = new Batalla(heroes.length, ventana, semilla);
+        this.heroes = batalla.getEquipoHeroes();
+        this.ventana = batalla.getEquipoEnemigos();
+        this.fuente = fuente;
+        this.hpInicial = new int[heroes.length];
+        this.mpInicial = new int[heroes.length];
+        this.ataqueInicial = new int[heroes.length];
+        this.defensaInicial = new int[heroes.length];
+        for (int i = 0; i < heroes.length; i++) {
+            Heroe heroe = heroes[i];
+            if (heroe == null) {
+                throw new IllegalArgumentException("El equipo de héroes no puede tener posiciones vacías.");
+            }
+            batalla.agregarHeroe(heroe, i);
+            hpInicial[i] = heroe.getHp();
+            mpInicial[i] = heroe.getMp();
+            ataqueInicial[i] = heroe.getAtaqueBase();
+            defensaInicial[i] = heroe.getDefensaBase();
+        }
+    }
+
+    // Pelea hasta que caigan los héroes (sin recuperación), se agote la fuente o se llegue a maxTurnos.
+    // Se puede ejecutar una sola vez.
+    public Desenlace ejecutar(Consumer<? super ResultadoOleada> alTerminarOleada) {
+        if (alTerminarOleada == null) {
+            throw new IllegalArgumentException("El receptor de resultados no puede ser nulo.");
+        }
+        if (ejecutada) {
+            throw new IllegalStateException("La batalla sin fin ya se ejecutó.");
+        }
+        ejecutada = true;
+
+        oleada.iniciar(1);
+        reponer();
+        Desenlace desenlace = null;
+        int turno = 0;
+        while (desenlace == null) {
+            if (batalla.getCantidadHeroesVivos() == 0) {
+                if (!recuperarEntreOleadas) {
+                    desenlace = Desenlace.VICTORIA_ENEMIGOS;
+                    continue;
+                }
+                caidas++;
+                terminarOleada(alTerminarOleada); // la oleada termina antes y los héroes se recuperan
+            }
+            if (batalla.getCantidadEnemigosVivos() == 0) desenlace = Desenlace.VICTORIA_HEROES;
+            else if (turno == maxTurnos) desenlace = Desenlace.EMPATE;
+            else {
+                jugarTurno(++turno);
+                if (oleada.getEnemigosDerrotados() >= tamañoOleada) terminarOleada(alTerminarOleada);
+            }
+        }
+        if (oleada.getTurnos() > 0) terminarOleada(alTerminarOleada); // oleada incompleta
+
+        batalla.setBatallaTerminada(true);
+        EventoBatallaTerminada.emitir(batalla, desenlace.name());
+        return desenlace;
+    }
+
+    private void jugarTurno(int turno) {
+        oleada.sumarTurno();
+        // El daño de los efectos que vencen al comienzo del turno (veneno) también cuenta
+        int hp = ResolutorBatalla.sumarHp(heroes);
+        batalla.setTurnoActual(turno);
+        sumarDañoDesde(hp);
+        if (batalla.getCantidadEnemigosVivos() < ocupadas) reponer();
+
+        for (Heroe heroe : heroes) {
+            if (!heroe.esta_vivo()) continue;
+            int mp = heroe.getMp();
+            actuarHeroe(heroe);
+            oleada.sumarMp(Math.max(mp - heroe.getMp(), 0));
+            if (batalla.getCantidadEnemigosVivos() < ocupadas) reponer();
+            if (batalla.getCantidadEnemigosVivos() == 0) return; // la fuente se agotó
+        }
+
+        hp = ResolutorBatalla.sumarHp(heroes);
+        for (Enemigo enemigo : ventana) {
+            if (enemigo != null && enemigo.esta_vivo()) {
+                ResolutorBatalla.actuarEnemigo(enemigo, batalla);
+                if (batalla.getCantidadHeroesVivos() == 0) break;
+            }
+        }
+        sumarDañoDesde(hp);
+    }
+
+    private void sumarDañoDesde(int hpAntes) {
+        oleada.sumarDaño(Math.max(hpAntes - ResolutorBatalla.sumarHp(heroes), 0));
+    }
+
+    // Un sanador cura al aliado más herido si bajó de la mitad de su vida inicial;
+    // el resto ataca al primer enemigo vivo
+    private void actuarHeroe(Heroe heroe) {
+        if (heroe.puede(Habilidad.CURAR)) {
+            Heroe herido = null;
+            for (int i = 0; i < heroes.length; i++) {
+                Heroe aliado = heroes[i];
+                if (aliado.esta_vivo() && aliado.getHp() * 2 < hpInicial[i]
+                        && (herido == null || aliado.getHp() < herido.getHp())) {
+                    herido = aliado;
+                }
+            }
+            if (herido != null) {
+                heroe.curar(herido);
+                return;
+            }
+        }
+        heroe.atacarEnemigo(ventana);
+    }
+
+    // Saca a los enemigos derrotados y ocupa las posiciones libres con los siguientes de la fuente
+    private void reponer() {
+        for (int i = 0; i < ventana.length; i++) {
+            Enemigo enemigo = ventana[i];
+            if (enemigo != null) {
+                if (enemigo.esta_vivo()) continue;
+                batalla.agregarEnemigo(null, i);
+                ocupadas--;
+                enemigosDerrotados++;
+                oleada.sumarDerrota();
+                if (reserva != null) reserva.devolver(enemigo);
+            }
+            if (fuente.tryAdvance(recibir)) {
+                batalla.agregarEnemigo(entrante, i);
+                entrante = null;
+                ocupadas++;
+            }
+        }
+    }
+
+    private void terminarOleada(Consumer<? super ResultadoOleada> alTerminarOleada) {
+        oleada.cerrar(batalla.getCantidadHeroesVivos(), ResolutorBatalla.sumarHp(heroes));
+        alTerminarOleada.accept(oleada);
+        oleadas++;
+        oleada.iniciar(oleadas + 1);
+        if (recuperarEntreOleadas) {
+            for (int i = 0; i < heroes.length; i++) {
+                heroes[i].restaurarEstado(hpInicial[i], mpInicial[i], ataqueInicial[i], defensaInicial[i],
+                        true, null, null);
+            }
+        }
+    }
+
+    // Getters
+    public Batalla getBatalla() { return batalla; }
+    public long getEnemigosDerrotados() { return enemigosDerrotados; }
+    public long getOleadas() { return oleadas; }
+    public long getCaidas() { return caidas; }
+    public int getTamañoOleada() { return tamañoOleada; }
+    public int getMaxTurnos() { return maxTurnos; }
+    public boolean isRecuperarEntreOleadas() { return recuperarEntreOleadas; }
+
+    // Setters
+    public void setReserva(ReservaEnemigos reserva) { this.reserva = reserva; }
+    public void setRecuperarEntreOleadas(boolean recuperar) { this.recuperarEntreOleadas = recuperar; }
+
+    public void setTamañoOleada(int tamañoOleada) {
+        if (tamañoOleada < 1) {
+            throw new IllegalArgumentException("La oleada debe tener al menos un enemigo.");
+        }
+        this.tamañoOleada = tamañoOleada;
+    }
+
+    public void setMaxTurnos(int maxTurnos) {
+        if (maxTurnos < 1) {
+            throw new IllegalArgumentException("El límite de turnos debe ser al menos 1.");
+        }
+        this.maxTurnos = maxTurnos;
+    }
+}
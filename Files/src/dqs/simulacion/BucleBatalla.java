@@ -0,0 +1,85 @@
+package dqs.simulacion;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Bucle de batalla de larga vida: un único hilo dedicado que ejecuta las acciones
+// automáticas (por ejemplo, las de los enemigos) en orden y con la pausa del ritmo elegido.
+// Se crea una vez y se reutiliza en todos los turnos.
+public class BucleBatalla implements AutoCloseable {
+
+    private final ScheduledExecutorService hilo;
+    private volatile Ritmo ritmo;
+
+    // Constructor
+    public BucleBatalla(Ritmo ritmo) {
+        setRitmo(ritmo);
+        ScheduledThreadPoolExecutor ejecutor = new ScheduledThreadPoolExecutor(1, tarea -> {
+            Thread t = new Thread(tarea, "bucle-batalla");
+            t.setDaemon(true);
+            return t;
+        });
+        ejecutor.setRemoveOnCancelPolicy(true);
+        this.hilo = ejecutor;
+    }
+
+    // Encola las acciones para ejecutarse una tras otra en el hilo del bucle, con la
+    // pausa del ritmo entre ellas. El futuro se completa al terminar la última.
+    public CompletableFuture<Void> encolar(List<? extends Runnable> acciones) {
+        CompletableFuture<Void> fin = new CompletableFuture<>();
+        programar(acciones, 0, 0L, fin);
+        return fin;
+    }
+
+    // Encola las acciones y espera a que terminen
+    public void ejecutar(List<? extends Runnable> acciones) {
+        try {
+            encolar(acciones).join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException re) throw re;
+            if (causa instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private void programar(List<? extends Runnable> acciones, int indice, long pausaMs, CompletableFuture<Void> fin) {
+        if (indice == acciones.size()) {
+            fin.complete(null);
+            return;
+        }
+        Runnable siguiente = () -> {
+            try {
+                acciones.get(indice).run();
+                programar(acciones, indice + 1, ritmo.getPausaMs(), fin);
+            } catch (Throwable t) {
+                fin.completeExceptionally(t);
+            }
+        };
+        if (pausaMs == 0) {
+            hilo.execute(siguiente);
+        } else {
+            hilo.schedule(siguiente, pausaMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Ritmo getRitmo() {
+        return ritmo;
+    }
+
+    public void setRitmo(Ritmo ritmo) {
+        if (ritmo == null) {
+            throw new IllegalArgumentException("El ritmo no puede ser nulo.");
+        }
+        this.ritmo = ritmo;
+    }
+
+    @Override
+    public void close() {
+        hilo.shutdownNow();
+    }
+}
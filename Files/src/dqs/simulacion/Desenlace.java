@@ -0,0 +1,7 @@
+package dqs.simulacion;
+
+public enum Desenlace {
+    VICTORIA_HEROES,
+    VICTORIA_ENEMIGOS,
+    EMPATE
+}
@@ -0,0 +1,174 @@
+package dqs.simulacion;
+
+import dqs.modelos.Enemigo;
+import dqs.modelos.Heroe;
+import dqs.modelos.IndiceVivos;
+import dqs.modelos.Personaje;
+import java.util.Arrays;
+
+// Estado de un equipo en arreglos primitivos (estructura de arreglos).
+// Cada combatiente ocupa un índice; los vivos se guardan en un conjunto de bits (orden
+// de posición) y en un IndiceVivos (elección al azar en O(1)). Los enlaces de defensa y
+// provocación son índices (-1 si no hay).
+public class EquipoCompacto {
+
+    public static final int NINGUNO = -1;
+
+    final int[] tipo;        // ordinal de Tipo_Heroe o Tipo_Enemigo según el equipo, o NINGUNO
+    final int[] hp;
+    final int[] mp;
+    final int[] ataque;
+    final int[] defensa;
+    final int[] velocidad;
+    final long[] vivos;
+    private final IndiceVivos indiceVivos;
+    final int[] defensor;    // índice en este mismo equipo
+    final int[] provocador;  // índice en el equipo rival
+    private int tamaño;
+
+    // Constructor
+    public EquipoCompacto(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad del equipo no puede ser negativa.");
+        }
+        this.tipo = new int[capacidad];
+        this.hp = new int[capacidad];
+        this.mp = new int[capacidad];
+        this.ataque = new int[capacidad];
+        this.defensa = new int[capacidad];
+        this.velocidad = new int[capacidad];
+        this.vivos = new long[(capacidad + 63) >>> 6];
+        this.indiceVivos = new IndiceVivos(capacidad);
+        this.defensor = new int[capacidad];
+        this.provocador = new int[capacidad];
+        Arrays.fill(defensor, NINGUNO);
+        Arrays.fill(provocador, NINGUNO);
+    }
+
+    // Copia independiente del equipo (para simular sin tocar el original)
+    public EquipoCompacto copiar() {
+        EquipoCompacto copia = new EquipoCompacto(hp.length);
+        copia.copiarDesde(this);
+        return copia;
+    }
+
+    // Sobrescribe este equipo con el estado de otro de la misma capacidad, sin crear arreglos
+    public void copiarDesde(EquipoCompacto otro) {
+        if (otro.hp.length != hp.length) {
+            throw new IllegalArgumentException("Los equipos deben tener la misma capacidad.");
+        }
+        System.arraycopy(otro.tipo, 0, tipo, 0, tipo.length);
+        System.arraycopy(otro.hp, 0, hp, 0, hp.length);
+        System.arraycopy(otro.mp, 0, mp, 0, mp.length);
+        System.arraycopy(otro.ataque, 0, ataque, 0, ataque.length);
+        System.arraycopy(otro.defensa, 0, defensa, 0, defensa.length);
+        System.arraycopy(otro.velocidad, 0, velocidad, 0, velocidad.length);
+        System.arraycopy(otro.vivos, 0, vivos, 0, vivos.length);
+        System.arraycopy(otro.defensor, 0, defensor, 0, defensor.length);
+        System.arraycopy(otro.provocador, 0, provocador, 0, provocador.length);
+        indiceVivos.copiarDesde(otro.indiceVivos);
+        tamaño = otro.tamaño;
+    }
+
+    // Agrega un combatiente y devuelve su índice
+    public int agregar(int hp, int mp, int ataque, int defensa, int velocidad) {
+        return agregar(NINGUNO, hp, mp, ataque, defensa, velocidad);
+    }
+
+    // Con el tipo, las habilidades salen de la tabla de ese tipo (ver BatallaCompacta)
+    public int agregar(int tipo, int hp, int mp, int ataque, int defensa, int velocidad) {
+        if (tamaño == this.hp.length) {
+            throw new IllegalStateException("El equipo compacto está lleno (" + tamaño + ").");
+        }
+        int i = tamaño++;
+        this.tipo[i] = tipo;
+        this.hp[i] = Math.max(hp, 0);
+        this.mp[i] = mp;
+        this.ataque[i] = ataque;
+        this.defensa[i] = defensa;
+        this.velocidad[i] = velocidad;
+        if (hp > 0) marcarVivo(i);
+        return i;
+    }
+
+    public int agregar(Personaje p) {
+        int tipo = p instanceof Enemigo enemigo ? enemigo.getTipo().ordinal()
+                : p instanceof Heroe heroe ? heroe.getTipo().ordinal() : NINGUNO;
+        int i = agregar(tipo, p.getHp(), p.getMp(), p.getAtaque(), p.getDefensa(), p.getVelocidad());
+        if (!p.esta_vivo()) marcarMuerto(i);
+        return i;
+    }
+
+    // Aplica daño con las reglas de Personaje.recibir_daño y devuelve el daño final
+    public int recibirDaño(int i, int cantidad) {
+        int d = defensor[i];
+        int dañoFinal;
+        if (d != NINGUNO && estaVivo(d)) {
+            dañoFinal = cantidad - (defensa[i] + defensa[d]); // defensa combinada
+        } else {
+            dañoFinal = cantidad - defensa[i];
+        }
+        if (dañoFinal < 1) dañoFinal = 1; // Daño mínimo de 1
+
+        int restante = hp[i] - dañoFinal;
+        if (restante <= 0) {
+            hp[i] = 0;
+            marcarMuerto(i);
+            defensor[i] = NINGUNO; // al morir se remueve la defensa
+        } else {
+            hp[i] = restante;
+        }
+        return dañoFinal;
+    }
+
+    // Primer combatiente vivo, o NINGUNO
+    public int primerVivo() {
+        for (int w = 0; w < vivos.length; w++) {
+            if (vivos[w] != 0) return (w << 6) + Long.numberOfTrailingZeros(vivos[w]);
+        }
+        return NINGUNO;
+    }
+
+    // k-ésimo combatiente del índice de vivos (mismo orden que Batalla), o NINGUNO
+    public int vivoNumero(int k) {
+        return k < indiceVivos.tamaño() ? indiceVivos.get(k) : NINGUNO;
+    }
+
+    public boolean estaVivo(int i) {
+        return (vivos[i >>> 6] & (1L << i)) != 0;
+    }
+
+    void marcarVivo(int i) {
+        if (!estaVivo(i)) {
+            vivos[i >>> 6] |= 1L << i;
+            indiceVivos.agregar(i);
+        }
+    }
+
+    void marcarMuerto(int i) {
+        if (estaVivo(i)) {
+            vivos[i >>> 6] &= ~(1L << i);
+            indiceVivos.remover(i);
+        }
+    }
+
+    public void setDefensor(int i, int tanque) { defensor[i] = tanque; }
+    public void setProvocador(int i, int rival) { provocador[i] = rival; }
+
+    // Getters
+    public int getTamaño() { return tamaño; }
+    public int getTipo(int i) { return tipo[i]; }
+    public int getCantidadVivos() { return indiceVivos.tamaño(); }
+    public int getHp(int i) { return hp[i]; }
+    public int getMp(int i) { return mp[i]; }
+    public int getAtaque(int i) { return ataque[i]; }
+    public int getDefensa(int i) { return defensa[i]; }
+    public int getVelocidad(int i) { return velocidad[i]; }
+    public int sumarHpVivos() {
+        int total = 0;
+        for (int k = 0; k < indiceVivos.tamaño(); k++) total += hp[indiceVivos.get(k)];
+        return total;
+    }
+    public int getDefensor(int i) { return defensor[i]; }
+    public int getProvocador(int i) { return provocador[i]; }
+}
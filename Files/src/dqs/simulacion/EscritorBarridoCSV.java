@@ -0,0 +1,51 @@
+package dqs.simulacion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// Escribe cada matriz del barrido en CSV en cuanto llega (una fila por celda) y vacía
+// el archivo, así los resultados parciales se pueden leer mientras el barrido sigue.
+public class EscritorBarridoCSV implements Consumer<MatrizVictorias>, AutoCloseable {
+
+    public static final String CABECERA =
+            "heroe,enemigo,nivel_heroe,nivel_enemigo,batallas,victorias_heroes,victorias_enemigos,empates,tasa_heroes";
+
+    private final BufferedWriter salida;
+
+    public EscritorBarridoCSV(Path archivo) throws IOException {
+        this.salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8);
+        salida.write(CABECERA);
+        salida.newLine();
+        salida.flush();
+    }
+
+    @Override
+    public synchronized void accept(MatrizVictorias matriz) {
+        try {
+            for (int h = 0; h < matriz.getNiveles(); h++) {
+                for (int e = 0; e < matriz.getNiveles(); e++) {
+                    salida.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%d,%.4f",
+                            matriz.getTipoHeroe(), matriz.getTipoEnemigo(), h, e,
+                            matriz.getBatallas(h, e), matriz.getVictoriasHeroes(h, e),
+                            matriz.getVictoriasEnemigos(h, e), matriz.getEmpates(h, e),
+                            matriz.getTasaVictoriaHeroes(h, e)));
+                    salida.newLine();
+                }
+            }
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el barrido", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        salida.close();
+    }
+}
@@ -0,0 +1,128 @@
+package dqs.simulacion;
+
+import dqs.modelos.*;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Turno de los enemigos en dos fases:
+//  1. Decisión: cada enemigo vivo elige su acción contra una instantánea inmutable,
+//     en paralelo si el equipo es grande. Cada uno usa su propia fuente aleatoria,
+//     derivada de la batalla, así que el resultado no depende del reparto entre hilos.
+//  2. Resolución: las intenciones se aplican en un solo hilo, por velocidad
+//     (mayor primero) y luego por posición.
+public class FaseEnemigos {
+
+    // Por debajo de este número de enemigos vivos decidir en paralelo no compensa
+    public static final int UMBRAL_PARALELO = 64;
+
+    private final PoliticaEnemigo politica;
+    private final boolean paralelo;
+
+    // Constructores
+    public FaseEnemigos() {
+        this(PoliticaEnemigo.PROVOCACION_O_AZAR, true);
+    }
+
+    public FaseEnemigos(PoliticaEnemigo politica, boolean paralelo) {
+        if (politica == null) {
+            throw new IllegalArgumentException("La política de enemigos no puede ser nula.");
+        }
+        this.politica = politica;
+        this.paralelo = paralelo;
+    }
+
+    // Ejecuta las dos fases. Devuelve cuántas intenciones se aplicaron; se detiene
+    // antes si ya no quedan héroes vivos.
+    public int ejecutar(Batalla batalla) {
+        Intencion[] intenciones = decidir(batalla);
+        return resolver(batalla, intenciones);
+    }
+
+    // Fase 1: una intención por enemigo vivo, ya ordenadas para la resolución
+    public Intencion[] decidir(Batalla batalla) {
+        InstantaneaBatalla instantanea = InstantaneaBatalla.de(batalla);
+        int vivos = batalla.getCantidadEnemigosVivos();
+        int[] posiciones = new int[vivos];
+        for (int k = 0; k < vivos; k++) {
+            posiciones[k] = batalla.getPosicionEnemigoVivo(k);
+        }
+        Arrays.sort(posiciones);
+
+        // Una sola extracción de la fuente de la batalla por turno; de ella salen las semillas
+        long base = batalla.getAleatorio().siguienteLargo();
+
+        Intencion[] intenciones = new Intencion[vivos];
+        IntStream indices = IntStream.range(0, vivos);
+        if (paralelo && vivos >= UMBRAL_PARALELO) indices = indices.parallel();
+        indices.forEach(k -> {
+            int posicion = posiciones[k];
+            FuenteAleatoria aleatorio = FuenteAleatoria.conSemilla(semillaDeEnemigo(base, posicion));
+            Intencion intencion = politica.decidir(instantanea, posicion, aleatorio);
+            intenciones[k] = intencion != null ? intencion : Intencion.esperar(posicion);
+        });
+
+        // Orden determinista: velocidad descendente, luego posición ascendente
+        Arrays.sort(intenciones, (a, b) -> {
+            int va = instantanea.getVelocidadEnemigo(a.getPosicionEnemigo());
+            int vb = instantanea.getVelocidadEnemigo(b.getPosicionEnemigo());
+            if (va != vb) return Integer.compare(vb, va);
+            return Integer.compare(a.getPosicionEnemigo(), b.getPosicionEnemigo());
+        });
+        return intenciones;
+    }
+
+    // Fase 2: aplica las intenciones sobre la batalla real, en orden
+    public int resolver(Batalla batalla, Intencion[] intenciones) {
+        Heroe[] heroes = batalla.getEquipoHeroes();
+        Enemigo[] enemigos = batalla.getEquipoEnemigos();
+        int aplicadas = 0;
+        for (Intencion intencion : intenciones) {
+            if (batalla.getCantidadHeroesVivos() == 0) break;
+            Enemigo enemigo = enemigos[intencion.getPosicionEnemigo()];
+            if (enemigo == null || !enemigo.esta_vivo()) continue;
+            if (aplicar(enemigo, intencion, heroes)) aplicadas++;
+        }
+        return aplicadas;
+    }
+
+    // Aplica una intención sobre la batalla real. Devuelve false si el enemigo espera.
+    public static boolean aplicar(Enemigo enemigo, Intencion intencion, Heroe[] heroes) {
+        if (intencion.getAccion() == AccionEnemigo.ESPERAR) return false;
+
+        int posicion = intencion.getPosicionObjetivo();
+        Heroe objetivo = posicion >= 0 && posicion < heroes.length ? heroes[posicion] : null;
+
+        // El objetivo cayó antes en esta misma fase: provocador o primer héroe vivo
+        if (objetivo == null || !objetivo.esta_vivo()) {
+            enemigo.atacarConProvocacion(heroes);
+            return true;
+        }
+        // Atacar al provocador también retira la provocación si lo derrota
+        if (enemigo.estaProvocado() && objetivo == enemigo.getProvocador()
+                && intencion.getAccion() == AccionEnemigo.ATAQUE) {
+            enemigo.atacarConProvocacion(heroes);
+            return true;
+        }
+        if (intencion.getAccion() == AccionEnemigo.HABILIDAD_ESPECIAL) {
+            enemigo.usarHabilidadEspecial(objetivo);
+            if (!objetivo.esta_vivo() && objetivo == enemigo.getProvocador()) {
+                enemigo.removerProvocacion();
+            }
+        } else {
+            enemigo.atacar(objetivo);
+        }
+        return true;
+    }
+
+    // Mezcla SplitMix64 de la base del turno con la posición del enemigo
+    static long semillaDeEnemigo(long base, int posicion) {
+        long z = base + (posicion + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public PoliticaEnemigo getPolitica() { return politica; }
+    public boolean isParalelo() { return paralelo; }
+}
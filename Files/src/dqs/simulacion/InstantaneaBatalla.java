@@ -0,0 +1,115 @@
+package dqs.simulacion;
+
+import dqs.modelos.*;
+
+// Copia inmutable del estado que necesitan los enemigos para decidir. Se puede leer
+// desde varios hilos a la vez mientras la batalla real no cambia.
+public final class InstantaneaBatalla {
+
+    private final int turno;
+
+    // Héroes, por posición en el equipo
+    private final int[] hpHeroes;
+    private final int[] defensaHeroes;
+    private final boolean[] heroesVivos;
+    private final int[] posicionesHeroesVivos; // en el orden del índice de vivos
+
+    // Enemigos, por posición en el equipo
+    private final int[] ataqueEnemigos;
+    private final int[] velocidadEnemigos;
+    private final boolean[] enemigosVivos;
+    private final int[] provocadorEnemigos; // posición del héroe provocador vivo, o -1
+
+    // Estado completo en arreglos, un índice por posición (las vacías cuentan como caídas).
+    // No se expone: copiarEstado() entrega copias que se pueden simular.
+    private final BatallaCompacta estado;
+
+    private InstantaneaBatalla(Batalla batalla) {
+        Heroe[] heroes = batalla.getEquipoHeroes();
+        Enemigo[] enemigos = batalla.getEquipoEnemigos();
+        this.turno = batalla.getTurnoActual();
+
+        this.hpHeroes = new int[heroes.length];
+        this.defensaHeroes = new int[heroes.length];
+        this.heroesVivos = new boolean[heroes.length];
+        this.posicionesHeroesVivos = new int[batalla.getCantidadHeroesVivos()];
+        for (int i = 0; i < posicionesHeroesVivos.length; i++) {
+            posicionesHeroesVivos[i] = batalla.getPosicionHeroeVivo(i);
+        }
+        for (int i = 0; i < heroes.length; i++) {
+            if (heroes[i] == null) continue;
+            hpHeroes[i] = heroes[i].getHp();
+            defensaHeroes[i] = heroes[i].getDefensa();
+            heroesVivos[i] = heroes[i].esta_vivo();
+        }
+
+        this.ataqueEnemigos = new int[enemigos.length];
+        this.velocidadEnemigos = new int[enemigos.length];
+        this.enemigosVivos = new boolean[enemigos.length];
+        this.provocadorEnemigos = new int[enemigos.length];
+        for (int i = 0; i < enemigos.length; i++) {
+            provocadorEnemigos[i] = -1;
+            if (enemigos[i] == null) continue;
+            ataqueEnemigos[i] = enemigos[i].getAtaque();
+            velocidadEnemigos[i] = enemigos[i].getVelocidad();
+            enemigosVivos[i] = enemigos[i].esta_vivo();
+            Personaje provocador = enemigos[i].getProvocador();
+            if (enemigos[i].estaProvocado() && provocador != null && provocador.esta_vivo()
+                    && provocador.getPosicionEquipo() >= 0) {
+                provocadorEnemigos[i] = provocador.getPosicionEquipo();
+            }
+        }
+        this.estado = compactar(heroes, enemigos);
+    }
+
+    private static BatallaCompacta compactar(Heroe[] heroes, Enemigo[] enemigos) {
+        EquipoCompacto h = new EquipoCompacto(heroes.length);
+        EquipoCompacto e = new EquipoCompacto(enemigos.length);
+        for (Heroe heroe : heroes) {
+            if (heroe == null) h.agregar(0, 0, 0, 0, 0);
+            else h.agregar(heroe);
+        }
+        for (Enemigo enemigo : enemigos) {
+            if (enemigo == null) e.agregar(0, 0, 0, 0, 0);
+            else e.agregar(enemigo);
+        }
+        enlazar(heroes, h);
+        enlazar(enemigos, e);
+        return new BatallaCompacta(h, e);
+    }
+
+    private static void enlazar(Personaje[] equipo, EquipoCompacto compacto) {
+        for (int i = 0; i < equipo.length; i++) {
+            if (equipo[i] == null) continue;
+            Personaje defensor = equipo[i].getDefensor();
+            Personaje provocador = equipo[i].getProvocador();
+            if (equipo[i].estaSiendoDefendido() && defensor != null && defensor.getPosicionEquipo() >= 0) {
+                compacto.setDefensor(i, defensor.getPosicionEquipo());
+            }
+            if (equipo[i].estaProvocado() && provocador != null && provocador.getPosicionEquipo() >= 0) {
+                compacto.setProvocador(i, provocador.getPosicionEquipo());
+            }
+        }
+    }
+
+    public static InstantaneaBatalla de(Batalla batalla) {
+        return new InstantaneaBatalla(batalla);
+    }
+
+    // Getters
+    public int getTurno() { return turno; }
+    public int getTamañoHeroes() { return hpHeroes.length; }
+    public int getTamañoEnemigos() { return ataqueEnemigos.length; }
+    public int getHpHeroe(int i) { return hpHeroes[i]; }
+    public int getDefensaHeroe(int i) { return defensaHeroes[i]; }
+    public boolean heroeVivo(int i) { return heroesVivos[i]; }
+    public int getCantidadHeroesVivos() { return posicionesHeroesVivos.length; }
+    public int getPosicionHeroeVivo(int k) { return posicionesHeroesVivos[k]; }
+    public int getAtaqueEnemigo(int i) { return ataqueEnemigos[i]; }
+    public int getVelocidadEnemigo(int i) { return velocidadEnemigos[i]; }
+    public boolean enemigoVivo(int i) { return enemigosVivos[i]; }
+    public int getProvocadorEnemigo(int i) { return provocadorEnemigos[i]; }
+
+    // Copia simulable del estado: los índices de cada equipo coinciden con las posiciones
+    public BatallaCompacta copiarEstado() { return estado.copiar(); }
+}
@@ -0,0 +1,35 @@
+package dqs.simulacion;
+
+// Acción que un enemigo decidió durante la fase de decisión, antes de aplicarse
+public final class Intencion {
+
+    public static final int SIN_OBJETIVO = -1;
+
+    private final int posicionEnemigo;
+    private final AccionEnemigo accion;
+    private final int posicionObjetivo; // posición en el equipo de héroes
+
+    // Constructor
+    public Intencion(int posicionEnemigo, AccionEnemigo accion, int posicionObjetivo) {
+        if (accion == null) {
+            throw new IllegalArgumentException("La acción no puede ser nula.");
+        }
+        this.posicionEnemigo = posicionEnemigo;
+        this.accion = accion;
+        this.posicionObjetivo = posicionObjetivo;
+    }
+
+    public static Intencion esperar(int posicionEnemigo) {
+        return new Intencion(posicionEnemigo, AccionEnemigo.ESPERAR, SIN_OBJETIVO);
+    }
+
+    // Getters
+    public int getPosicionEnemigo() { return posicionEnemigo; }
+    public AccionEnemigo getAccion() { return accion; }
+    public int getPosicionObjetivo() { return posicionObjetivo; }
+
+    @Override
+    public String toString() {
+        return "Intencion: enemigo " + posicionEnemigo + " | " + accion + " | objetivo " + posicionObjetivo;
+    }
+}
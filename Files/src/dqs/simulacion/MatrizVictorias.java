@@ -0,0 +1,86 @@
+package dqs.simulacion;
+
+import dqs.modelos.Tipo_Enemigo;
+import dqs.modelos.Tipo_Heroe;
+
+// Resultados de un emparejamiento de tipos, por nivel del héroe (fila) y del enemigo (columna).
+// El nivel n de un tipo agrupa los atributos sacados del n-ésimo tramo de sus rangos.
+public class MatrizVictorias {
+
+    private final Tipo_Heroe tipoHeroe;
+    private final Tipo_Enemigo tipoEnemigo;
+    private final int niveles;
+    private final int[] batallas;
+    private final int[] victoriasHeroes;
+    private final int[] victoriasEnemigos;
+
+    // Constructor
+    public MatrizVictorias(Tipo_Heroe tipoHeroe, Tipo_Enemigo tipoEnemigo, int niveles) {
+        if (tipoHeroe == null || tipoEnemigo == null) {
+            throw new IllegalArgumentException("Los tipos no pueden ser nulos.");
+        }
+        if (niveles < 1) {
+            throw new IllegalArgumentException("Debe haber al menos un nivel.");
+        }
+        this.tipoHeroe = tipoHeroe;
+        this.tipoEnemigo = tipoEnemigo;
+        this.niveles = niveles;
+        this.batallas = new int[niveles * niveles];
+        this.victoriasHeroes = new int[niveles * niveles];
+        this.victoriasEnemigos = new int[niveles * niveles];
+    }
+
+    // Cada celda la llena una sola tarea, así que registrar no necesita sincronización
+    void registrar(int nivelHeroe, int nivelEnemigo, Desenlace desenlace) {
+        int celda = nivelHeroe * niveles + nivelEnemigo;
+        batallas[celda]++;
+        if (desenlace == Desenlace.VICTORIA_HEROES) victoriasHeroes[celda]++;
+        else if (desenlace == Desenlace.VICTORIA_ENEMIGOS) victoriasEnemigos[celda]++;
+    }
+
+    public int getBatallas(int nivelHeroe, int nivelEnemigo) {
+        return batallas[nivelHeroe * niveles + nivelEnemigo];
+    }
+
+    public int getVictoriasHeroes(int nivelHeroe, int nivelEnemigo) {
+        return victoriasHeroes[nivelHeroe * niveles + nivelEnemigo];
+    }
+
+    public int getVictoriasEnemigos(int nivelHeroe, int nivelEnemigo) {
+        return victoriasEnemigos[nivelHeroe * niveles + nivelEnemigo];
+    }
+
+    public int getEmpates(int nivelHeroe, int nivelEnemigo) {
+        int celda = nivelHeroe * niveles + nivelEnemigo;
+        return batallas[celda] - victoriasHeroes[celda] - victoriasEnemigos[celda];
+    }
+
+    public double getTasaVictoriaHeroes(int nivelHeroe, int nivelEnemigo) {
+        int total = getBatallas(nivelHeroe, nivelEnemigo);
+        return total == 0 ? 0 : (double) getVictoriasHeroes(nivelHeroe, nivelEnemigo) / total;
+    }
+
+    public long getTotalBatallas() {
+        long total = 0;
+        for (int b : batallas) total += b;
+        return total;
+    }
+
+    // Getters
+    public Tipo_Heroe getTipoHeroe() { return tipoHeroe; }
+    public Tipo_Enemigo getTipoEnemigo() { return tipoEnemigo; }
+    public int getNiveles() { return niveles; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(tipoHeroe).append(" vs ").append(tipoEnemigo).append(" (victorias de héroes por nivel)\n");
+        for (int h = 0; h < niveles; h++) {
+            for (int e = 0; e < niveles; e++) {
+                sb.append(String.format("%6.1f%%", getTasaVictoriaHeroes(h, e) * 100));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package dqs.simulacion;
+
+import dqs.eventos.SumideroNulo;
+import dqs.modelos.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Ejecuta muchas batallas independientes en paralelo sobre un ForkJoinPool, sin consola
+public class MotorSimulacion {
+
+    private static final int BATALLAS_POR_TAREA = 256; // por debajo de esto no se divide más
+
+    private final ForkJoinPool pool;
+    private final ResolutorBatalla resolutor;
+    private final long semilla;
+
+    // Constructores
+    public MotorSimulacion() {
+        this(ForkJoinPool.commonPool(), 50, System.nanoTime());
+    }
+
+    public MotorSimulacion(long semilla) {
+        this(ForkJoinPool.commonPool(), 50, semilla);
+    }
+
+    public MotorSimulacion(ForkJoinPool pool, int maxTurnos, long semilla) {
+        this(pool, new ResolutorBatalla(maxTurnos), semilla);
+    }
+
+    public MotorSimulacion(ForkJoinPool pool, ResolutorBatalla resolutor, long semilla) {
+        if (pool == null || resolutor == null) {
+            throw new IllegalArgumentException("El pool de ejecución y el resolutor no pueden ser nulos.");
+        }
+        this.pool = pool;
+        this.resolutor = resolutor;
+        this.semilla = semilla;
+    }
+
+    // Simula numeroBatallas combates entre copias de los equipos dados.
+    // Los héroes se copian tal cual; los enemigos se regeneran desde su tipo en cada batalla.
+    // La batalla número i usa la semilla semillaDeBatalla(i), así que cualquiera se puede repetir.
+    public ResultadoSimulacion simular(Heroe[] heroes, Enemigo[] enemigos, int numeroBatallas) {
+        if (numeroBatallas < 0) {
+            throw new IllegalArgumentException("El número de batallas no puede ser negativo.");
+        }
+        if (ResolutorBatalla.contarVivos(heroes) == 0 || ResolutorBatalla.contarVivos(enemigos) == 0) {
+            throw new IllegalArgumentException("Ambos equipos deben tener al menos un miembro vivo.");
+        }
+        return pool.invoke(new TareaSimulacion(heroes.clone(), enemigos.clone(), 0, numeroBatallas));
+    }
+
+    // Vuelve a jugar la batalla número indice de una simulación con esta semilla y estos equipos.
+    // Devuelve la batalla terminada para inspeccionar su estado final.
+    public Batalla reproducir(Heroe[] heroes, Enemigo[] enemigos, long indice) {
+        Batalla batalla = prepararBatalla(heroes, enemigos, indice);
+        resolutor.resolver(batalla);
+        return batalla;
+    }
+
+    // Semilla de la batalla número indice (mezcla SplitMix64 de la semilla base)
+    public long semillaDeBatalla(long indice) {
+        long z = semilla + (indice + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSemilla() { return semilla; }
+
+    // Ejecuta una sola batalla y registra su resultado
+    private void simularUna(Heroe[] heroes, Enemigo[] enemigos, long indice, ResultadoSimulacion resultado) {
+        Batalla batalla = prepararBatalla(heroes, enemigos, indice);
+        Desenlace desenlace = resolutor.resolver(batalla);
+        resultado.registrar(desenlace, batalla.getTurnoActual(),
+                batalla.getCantidadHeroesVivos(),
+                batalla.getCantidadEnemigosVivos(),
+                ResolutorBatalla.sumarHp(batalla.getEquipoHeroes()));
+    }
+
+    // Construye la batalla número indice con copias silenciosas de los equipos
+    private Batalla prepararBatalla(Heroe[] heroes, Enemigo[] enemigos, long indice) {
+        Batalla batalla = new Batalla(heroes.length, enemigos.length, semillaDeBatalla(indice));
+        for (int i = 0; i < heroes.length; i++) {
+            if (heroes[i] != null) {
+                Heroe copia = heroes[i].copiar();
+                copia.setEventos(SumideroNulo.INSTANCIA);
+                batalla.agregarHeroe(copia, i);
+            }
+        }
+        for (int i = 0; i < enemigos.length; i++) {
+            if (enemigos[i] != null) {
+                Enemigo nuevo = Enemigo.crearEnemigo(enemigos[i].getTipo(), enemigos[i].getNombre(), batalla.getAleatorio());
+                nuevo.setEventos(SumideroNulo.INSTANCIA);
+                batalla.agregarEnemigo(nuevo, i);
+            }
+        }
+        return batalla;
+    }
+
+    // Divide el rango [desde, hasta) de batallas hasta llegar a bloques pequeños
+    private class TareaSimulacion extends RecursiveTask<ResultadoSimulacion> {
+        private static final long serialVersionUID = 1L;
+
+        private final Heroe[] heroes;
+        private final Enemigo[] enemigos;
+        private final int desde;
+        private final int hasta;
+
+        TareaSimulacion(Heroe[] heroes, Enemigo[] enemigos, int desde, int hasta) {
+            this.heroes = heroes;
+            this.enemigos = enemigos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected ResultadoSimulacion compute() {
+            if (hasta - desde <= BATALLAS_POR_TAREA) {
+                ResultadoSimulacion resultado = new ResultadoSimulacion();
+                for (int i = desde; i < hasta; i++) {
+                    simularUna(heroes, enemigos, i, resultado);
+                }
+                return resultado;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaSimulacion izquierda = new TareaSimulacion(heroes, enemigos, desde, medio);
+            TareaSimulacion derecha = new TareaSimulacion(heroes, enemigos, medio, hasta);
+            izquierda.fork();
+            ResultadoSimulacion resultado = derecha.compute();
+            return resultado.combinar(izquierda.join());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package dqs.simulacion;
+
+public enum OrdenTurnos {
+    POR_EQUIPOS,     // todos los héroes y luego todos los enemigos
+    POR_INICIATIVA   // según la velocidad, con LineaIniciativa
+}
@@ -0,0 +1,24 @@
+package dqs.simulacion;
+
+import dqs.modelos.FuenteAleatoria;
+
+// Decide la acción de un enemigo a partir de una instantánea de la batalla.
+// Se llama desde varios hilos a la vez: no debe modificar estado compartido.
+@FunctionalInterface
+public interface PoliticaEnemigo {
+
+    // El enemigo provocado ataca a su provocador; si no, a un héroe vivo al azar
+    PoliticaEnemigo PROVOCACION_O_AZAR = (instantanea, posicion, aleatorio) -> {
+        int provocador = instantanea.getProvocadorEnemigo(posicion);
+        if (provocador >= 0) {
+            return new Intencion(posicion, AccionEnemigo.ATAQUE, provocador);
+        }
+        int vivos = instantanea.getCantidadHeroesVivos();
+        if (vivos == 0) return Intencion.esperar(posicion);
+        return new Intencion(posicion, AccionEnemigo.ATAQUE,
+                instantanea.getPosicionHeroeVivo(aleatorio.siguienteEntero(vivos)));
+    };
+
+    Intencion decidir(InstantaneaBatalla instantanea, int posicionEnemigo, FuenteAleatoria aleatorio);
+
+}
@@ -0,0 +1,194 @@
+package dqs.simulacion;
+
+import dqs.modelos.FuenteAleatoria;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Política de enemigos por búsqueda de Monte Carlo. Evalúa atacar o usar la habilidad
+// especial contra cada héroe posible (solo el provocador si está provocado) jugando
+// partidas simuladas desde una copia compacta del estado.
+//
+// Las acciones de los demás personajes siguen reglas fijas (los héroes atacan al primer
+// enemigo vivo y los enemigos eligen al azar), así que el árbol tiene un solo nivel de
+// decisión: cada hilo lleva sus propias estadísticas UCB1 sobre las acciones y al final
+// se suman las visitas (paralelismo en la raíz). Cada búsqueda respeta el presupuesto
+// de tiempo; con un límite de simulaciones por hilo y presupuesto amplio es determinista.
+public class PoliticaMCTS implements PoliticaEnemigo {
+
+    public static final long PRESUPUESTO_POR_DEFECTO = 5_000_000L; // 5 ms
+    public static final int HORIZONTE_POR_DEFECTO = 8;               // turnos por simulación
+    private static final double EXPLORACION = Math.sqrt(2);
+
+    private final long presupuestoNanos;
+    private final int horizonteTurnos;
+    private final int hilos;
+    private final int maxSimulacionesPorHilo;
+
+    // Constructores
+    public PoliticaMCTS() {
+        this(PRESUPUESTO_POR_DEFECTO);
+    }
+
+    public PoliticaMCTS(long presupuestoNanos) {
+        this(presupuestoNanos, HORIZONTE_POR_DEFECTO, Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE);
+    }
+
+    public PoliticaMCTS(long presupuestoNanos, int horizonteTurnos, int hilos, int maxSimulacionesPorHilo) {
+        if (presupuestoNanos <= 0) {
+            throw new IllegalArgumentException("El presupuesto de tiempo debe ser positivo.");
+        }
+        if (horizonteTurnos < 1 || hilos < 1 || maxSimulacionesPorHilo < 1) {
+            throw new IllegalArgumentException("El horizonte, los hilos y las simulaciones deben ser al menos 1.");
+        }
+        this.presupuestoNanos = presupuestoNanos;
+        this.horizonteTurnos = horizonteTurnos;
+        this.hilos = hilos;
+        this.maxSimulacionesPorHilo = maxSimulacionesPorHilo;
+    }
+
+    @Override
+    public Intencion decidir(InstantaneaBatalla instantanea, int posicion, FuenteAleatoria aleatorio) {
+        long limite = System.nanoTime() + presupuestoNanos;
+        int[] acciones = acciones(instantanea, posicion);
+        if (acciones.length == 0) return Intencion.esperar(posicion);
+        if (acciones.length == 1) return intencion(posicion, acciones[0]);
+
+        // Las semillas se sacan en orden antes de repartir el trabajo
+        long[] semillas = new long[hilos];
+        for (int w = 0; w < hilos; w++) semillas[w] = aleatorio.siguienteLargo();
+
+        Estadisticas total = IntStream.range(0, hilos).parallel()
+                .mapToObj(w -> buscar(instantanea, posicion, acciones, semillas[w], limite))
+                .reduce(new Estadisticas(acciones.length), Estadisticas::sumar);
+
+        return intencion(posicion, acciones[total.mejor()]);
+    }
+
+    // Acción codificada como objetivo * 2 + (1 si es habilidad especial)
+    private static int[] acciones(InstantaneaBatalla instantanea, int posicion) {
+        int provocador = instantanea.getProvocadorEnemigo(posicion);
+        if (provocador >= 0) return new int[] {provocador * 2, provocador * 2 + 1};
+
+        int vivos = instantanea.getCantidadHeroesVivos();
+        int[] acciones = new int[vivos * 2];
+        int n = 0;
+        for (int j = 0; j < instantanea.getTamañoHeroes(); j++) {
+            if (instantanea.heroeVivo(j)) {
+                acciones[n++] = j * 2;
+                acciones[n++] = j * 2 + 1;
+            }
+        }
+        return n == acciones.length ? acciones : Arrays.copyOf(acciones, n);
+    }
+
+    private static Intencion intencion(int posicion, int accion) {
+        AccionEnemigo tipo = (accion & 1) != 0 ? AccionEnemigo.HABILIDAD_ESPECIAL : AccionEnemigo.ATAQUE;
+        return new Intencion(posicion, tipo, accion >> 1);
+    }
+
+    // UCB1 sobre las acciones de la raíz hasta agotar el tiempo o las simulaciones
+    private Estadisticas buscar(InstantaneaBatalla instantanea, int posicion, int[] acciones,
+                                long semilla, long limite) {
+        FuenteAleatoria aleatorio = FuenteAleatoria.conSemilla(semilla);
+        BatallaCompacta base = instantanea.copiarEstado();
+        BatallaCompacta simulacion = base.copiar();
+        Estadisticas estadisticas = new Estadisticas(acciones.length);
+
+        for (int s = 0; s < maxSimulacionesPorHilo && System.nanoTime() < limite; s++) {
+            int a = s < acciones.length ? s : estadisticas.seleccionar(s);
+            simulacion.copiarDesde(base);
+            estadisticas.registrar(a, simular(simulacion, posicion, acciones[a], aleatorio));
+        }
+        return estadisticas;
+    }
+
+    // Juega la acción y luego el resto de la partida con las reglas fijas, hasta el horizonte.
+    // Devuelve un valor en [0, 1] desde el punto de vista de los enemigos.
+    private double simular(BatallaCompacta simulacion, int posicion, int accion, FuenteAleatoria aleatorio) {
+        EquipoCompacto heroes = simulacion.getHeroes();
+        EquipoCompacto enemigos = simulacion.getEnemigos();
+        double hpHeroes = heroes.sumarHpVivos();
+        double hpEnemigos = enemigos.sumarHpVivos();
+
+        int objetivo = accion >> 1;
+        if ((accion & 1) != 0) {
+            BatallaCompacta.usarHabilidadEspecial(enemigos, posicion, heroes, objetivo);
+        } else {
+            BatallaCompacta.atacar(enemigos, posicion, heroes, objetivo);
+        }
+        if (enemigos.getProvocador(posicion) == objetivo && !heroes.estaVivo(objetivo)) {
+            enemigos.setProvocador(posicion, EquipoCompacto.NINGUNO);
+        }
+
+        // Termina el turno enemigo en curso y sigue con turnos completos
+        Desenlace desenlace = simulacion.turnoEnemigos(posicion + 1, aleatorio);
+        if (desenlace == null) desenlace = simulacion.resolver(horizonteTurnos, aleatorio);
+
+        if (desenlace == Desenlace.VICTORIA_ENEMIGOS) return 1.0;
+        if (desenlace == Desenlace.VICTORIA_HEROES) return 0.0;
+        double restanteEnemigos = hpEnemigos > 0 ? enemigos.sumarHpVivos() / hpEnemigos : 0;
+        double restanteHeroes = hpHeroes > 0 ? heroes.sumarHpVivos() / hpHeroes : 0;
+        return 0.5 + 0.5 * (restanteEnemigos - restanteHeroes);
+    }
+
+    // Visitas y valor acumulado por acción
+    private static final class Estadisticas {
+        private final int[] visitas;
+        private final double[] valores;
+
+        Estadisticas(int acciones) {
+            this.visitas = new int[acciones];
+            this.valores = new double[acciones];
+        }
+
+        void registrar(int accion, double valor) {
+            visitas[accion]++;
+            valores[accion] += valor;
+        }
+
+        int seleccionar(int total) {
+            double logTotal = Math.log(total);
+            int mejor = 0;
+            double mejorPuntaje = Double.NEGATIVE_INFINITY;
+            for (int a = 0; a < visitas.length; a++) {
+                double puntaje = valores[a] / visitas[a] + EXPLORACION * Math.sqrt(logTotal / visitas[a]);
+                if (puntaje > mejorPuntaje) {
+                    mejorPuntaje = puntaje;
+                    mejor = a;
+                }
+            }
+            return mejor;
+        }
+
+        // La más visitada; en empate, la de mejor promedio y luego la primera
+        int mejor() {
+            int mejor = 0;
+            for (int a = 1; a < visitas.length; a++) {
+                if (visitas[a] > visitas[mejor]
+                        || (visitas[a] == visitas[mejor] && promedio(a) > promedio(mejor))) {
+                    mejor = a;
+                }
+            }
+            return mejor;
+        }
+
+        private double promedio(int a) {
+            return visitas[a] == 0 ? 0 : valores[a] / visitas[a];
+        }
+
+        static Estadisticas sumar(Estadisticas a, Estadisticas b) {
+            Estadisticas suma = new Estadisticas(a.visitas.length);
+            for (int i = 0; i < suma.visitas.length; i++) {
+                suma.visitas[i] = a.visitas[i] + b.visitas[i];
+                suma.valores[i] = a.valores[i] + b.valores[i];
+            }
+            return suma;
+        }
+    }
+
+    // Getters
+    public long getPresupuestoNanos() { return presupuestoNanos; }
+    public int getHorizonteTurnos() { return horizonteTurnos; }
+    public int getHilos() { return hilos; }
+}
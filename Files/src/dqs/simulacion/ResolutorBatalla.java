@@ -0,0 +1,183 @@
+package dqs.simulacion;
+
+import dqs.jfr.EventoBatallaTerminada;
+import dqs.jfr.EventoTurno;
+import dqs.metricas.Metricas;
+import dqs.modelos.*;
+
+// Resuelve una batalla completa sin intervención del usuario ni salida por consola
+public class ResolutorBatalla {
+
+    private final int maxTurnos;
+    private final OrdenTurnos orden;
+    private final FaseEnemigos faseEnemigos; // null: cada enemigo decide y actúa por separado
+
+    // Constructores
+    public ResolutorBatalla(int maxTurnos) {
+        this(maxTurnos, OrdenTurnos.POR_EQUIPOS);
+    }
+
+    public ResolutorBatalla(int maxTurnos, OrdenTurnos orden) {
+        this(maxTurnos, orden, null);
+    }
+
+    // Turnos por equipos con el turno enemigo en dos fases (decisión en paralelo y resolución en orden)
+    public ResolutorBatalla(int maxTurnos, FaseEnemigos faseEnemigos) {
+        this(maxTurnos, OrdenTurnos.POR_EQUIPOS, faseEnemigos);
+        if (faseEnemigos == null) {
+            throw new IllegalArgumentException("La fase de enemigos no puede ser nula.");
+        }
+    }
+
+    private ResolutorBatalla(int maxTurnos, OrdenTurnos orden, FaseEnemigos faseEnemigos) {
+        if (maxTurnos < 1) {
+            throw new IllegalArgumentException("El límite de turnos debe ser al menos 1.");
+        }
+        if (orden == null) {
+            throw new IllegalArgumentException("El orden de turnos no puede ser nulo.");
+        }
+        this.maxTurnos = maxTurnos;
+        this.orden = orden;
+        this.faseEnemigos = faseEnemigos;
+    }
+
+    // Ejecuta la batalla hasta que un equipo caiga o se alcance el límite de turnos.
+    // Al terminar, batalla.getTurnoActual() contiene los turnos jugados.
+    public Desenlace resolver(Batalla batalla) {
+        long inicio = Metricas.inicio();
+        Desenlace desenlace = orden == OrdenTurnos.POR_INICIATIVA
+                ? resolverPorIniciativa(batalla)
+                : resolverPorEquipos(batalla);
+        batalla.setBatallaTerminada(true);
+        Metricas.registrar(Metricas.BATALLA, inicio);
+        EventoBatallaTerminada.emitir(batalla, desenlace.name());
+        return desenlace;
+    }
+
+    private Desenlace resolverPorEquipos(Batalla batalla) {
+        Heroe[] heroes = batalla.getEquipoHeroes();
+        Enemigo[] enemigos = batalla.getEquipoEnemigos();
+        Desenlace desenlace = verificarVictoria(batalla);
+
+        int turno = 0;
+        while (desenlace == null && turno < maxTurnos) {
+            turno++;
+            batalla.setTurnoActual(turno);
+            EventoTurno evento = EventoTurno.iniciar(batalla, turno);
+            long inicioTurno = Metricas.inicio();
+            long marca = inicioTurno;
+
+            // Turno de los héroes
+            for (Heroe heroe : heroes) {
+                if (heroe != null && heroe.esta_vivo()) {
+                    actuarHeroe(heroe, batalla);
+                    marca = Metricas.registrar(Metricas.ACCION_HEROE, marca);
+                    desenlace = verificarVictoria(batalla);
+                    if (desenlace != null) break;
+                }
+            }
+            if (desenlace != null) {
+                Metricas.registrar(Metricas.TURNO, inicioTurno, marca);
+                evento.terminar(batalla);
+                break;
+            }
+
+            // Turno de los enemigos
+            if (faseEnemigos != null) {
+                faseEnemigos.ejecutar(batalla);
+                desenlace = verificarVictoria(batalla);
+            } else {
+                for (Enemigo enemigo : enemigos) {
+                    if (enemigo != null && enemigo.esta_vivo()) {
+                        actuarEnemigo(enemigo, batalla);
+                        desenlace = verificarVictoria(batalla);
+                        if (desenlace != null) break;
+                    }
+                }
+            }
+            long finTurno = Metricas.registrar(Metricas.FASE_ENEMIGOS, marca);
+            Metricas.registrar(Metricas.TURNO, inicioTurno, finTurno);
+            evento.terminar(batalla);
+        }
+
+        if (desenlace == null) desenlace = Desenlace.EMPATE; // Límite de seguridad
+
+        batalla.setTurnoActual(turno);
+        return desenlace;
+    }
+
+    // Cada personaje actúa cuando le toca en la línea de iniciativa
+    private Desenlace resolverPorIniciativa(Batalla batalla) {
+        LineaIniciativa linea = batalla.iniciarLineaIniciativa();
+        Desenlace desenlace = verificarVictoria(batalla);
+
+        int turno = 0;
+        EventoTurno evento = null;
+        while (desenlace == null && linea.turnoSiguiente() <= maxTurnos) {
+            if (linea.turnoSiguiente() != turno) {
+                // Empieza un turno nuevo: se cierra el evento del anterior
+                if (evento != null) evento.terminar(batalla);
+                turno = linea.turnoSiguiente();
+                evento = EventoTurno.iniciar(batalla, turno);
+            }
+            batalla.setTurnoActual(turno);
+            Personaje actor = linea.siguiente();
+            if (actor instanceof Heroe heroe) {
+                actuarHeroe(heroe, batalla);
+            } else {
+                actuarEnemigo((Enemigo) actor, batalla);
+            }
+            desenlace = verificarVictoria(batalla);
+        }
+        if (evento != null) evento.terminar(batalla);
+
+        if (desenlace == null) {
+            desenlace = Desenlace.EMPATE; // Límite de seguridad
+            turno = maxTurnos;
+        }
+
+        batalla.setTurnoActual(turno);
+        return desenlace;
+    }
+
+    // Cada héroe vivo ataca al primer enemigo vivo
+    private static void actuarHeroe(Heroe heroe, Batalla batalla) {
+        heroe.atacarEnemigo(batalla.getEquipoEnemigos());
+    }
+
+    // Los enemigos respetan la provocación, si no eligen un héroe al azar
+    static void actuarEnemigo(Enemigo enemigo, Batalla batalla) {
+        if (enemigo.estaProvocado()) {
+            enemigo.atacarConProvocacion(batalla.getEquipoHeroes());
+        } else {
+            enemigo.atacar(batalla.heroeVivoAleatorio());
+        }
+    }
+
+    // Devuelve el desenlace si algún equipo fue derrotado, o null si la batalla sigue
+    private static Desenlace verificarVictoria(Batalla batalla) {
+        if (batalla.getCantidadHeroesVivos() == 0) return Desenlace.VICTORIA_ENEMIGOS;
+        if (batalla.getCantidadEnemigosVivos() == 0) return Desenlace.VICTORIA_HEROES;
+        return null;
+    }
+
+    static int contarVivos(Personaje[] equipo) {
+        int vivos = 0;
+        for (Personaje p : equipo) {
+            if (p != null && p.esta_vivo()) vivos++;
+        }
+        return vivos;
+    }
+
+    static int sumarHp(Personaje[] equipo) {
+        int total = 0;
+        for (Personaje p : equipo) {
+            if (p != null && p.esta_vivo()) total += p.getHp();
+        }
+        return total;
+    }
+
+    public int getMaxTurnos() { return maxTurnos; }
+    public OrdenTurnos getOrden() { return orden; }
+    public FaseEnemigos getFaseEnemigos() { return faseEnemigos; }
+}
@@ -0,0 +1,52 @@
+package dqs.simulacion;
+
+// Resultado de una oleada del modo sin fin (ver BatallaInfinita).
+// BatallaInfinita reutiliza el mismo objeto para todas las oleadas: quien lo reciba y quiera
+// guardarlo debe copiar los valores antes de devolver el control.
+public class ResultadoOleada {
+
+    private long numero;
+    private int turnos;
+    private int enemigosDerrotados;
+    private long dañoRecibido;
+    private long mpGastado;
+    private int heroesVivos;
+    private int hpHeroes;
+
+    void iniciar(long numero) {
+        this.numero = numero;
+        turnos = 0;
+        enemigosDerrotados = 0;
+        dañoRecibido = 0;
+        mpGastado = 0;
+        heroesVivos = 0;
+        hpHeroes = 0;
+    }
+
+    void sumarTurno() { turnos++; }
+    void sumarDerrota() { enemigosDerrotados++; }
+    void sumarDaño(long daño) { dañoRecibido += daño; }
+    void sumarMp(long mp) { mpGastado += mp; }
+
+    void cerrar(int heroesVivos, int hpHeroes) {
+        this.heroesVivos = heroesVivos;
+        this.hpHeroes = hpHeroes;
+    }
+
+    // Getters
+    public long getNumero() { return numero; }
+    public int getTurnos() { return turnos; }
+    public int getEnemigosDerrotados() { return enemigosDerrotados; }
+    public long getDañoRecibido() { return dañoRecibido; }
+    public long getMpGastado() { return mpGastado; }
+    public int getHeroesVivos() { return heroesVivos; }
+    public int getHpHeroes() { return hpHeroes; }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Oleada %d | Turnos: %d | Enemigos derrotados: %d | Daño recibido: %d | MP gastado: %d" +
+            " | Héroes vivos: %d | HP héroes: %d",
+            numero, turnos, enemigosDerrotados, dañoRecibido, mpGastado, heroesVivos, hpHeroes);
+    }
+}
@@ -0,0 +1,69 @@
+package dqs.simulacion;
+
+// Acumula las estadísticas de un lote de batallas automáticas
+public class ResultadoSimulacion {
+
+    private long batallas;
+    private long victoriasHeroes;
+    private long victoriasEnemigos;
+    private long empates;
+    private long turnosTotales;
+    private long heroesSupervivientes;
+    private long enemigosSupervivientes;
+    private long hpHeroesRestante;
+
+    // Registra el resultado de una batalla
+    public void registrar(Desenlace desenlace, int turnos, int heroesVivos, int enemigosVivos, int hpHeroes) {
+        batallas++;
+        switch (desenlace) {
+            case VICTORIA_HEROES -> victoriasHeroes++;
+            case VICTORIA_ENEMIGOS -> victoriasEnemigos++;
+            case EMPATE -> empates++;
+        }
+        turnosTotales += turnos;
+        heroesSupervivientes += heroesVivos;
+        enemigosSupervivientes += enemigosVivos;
+        hpHeroesRestante += hpHeroes;
+    }
+
+    // Suma los resultados de otro lote a este
+    public ResultadoSimulacion combinar(ResultadoSimulacion otro) {
+        batallas += otro.batallas;
+        victoriasHeroes += otro.victoriasHeroes;
+        victoriasEnemigos += otro.victoriasEnemigos;
+        empates += otro.empates;
+        turnosTotales += otro.turnosTotales;
+        heroesSupervivientes += otro.heroesSupervivientes;
+        enemigosSupervivientes += otro.enemigosSupervivientes;
+        hpHeroesRestante += otro.hpHeroesRestante;
+        return this;
+    }
+
+    // Getters
+    public long getBatallas() { return batallas; }
+    public long getVictoriasHeroes() { return victoriasHeroes; }
+    public long getVictoriasEnemigos() { return victoriasEnemigos; }
+    public long getEmpates() { return empates; }
+
+    public double getTasaVictoriaHeroes() { return proporcion(victoriasHeroes, batallas); }
+    public double getTasaVictoriaEnemigos() { return proporcion(victoriasEnemigos, batallas); }
+    public double getTasaEmpates() { return proporcion(empates, batallas); }
+    public double getPromedioTurnos() { return proporcion(turnosTotales, batallas); }
+    public double getPromedioHeroesSupervivientes() { return proporcion(heroesSupervivientes, batallas); }
+    public double getPromedioEnemigosSupervivientes() { return proporcion(enemigosSupervivientes, batallas); }
+    public double getPromedioHpHeroesRestante() { return proporcion(hpHeroesRestante, batallas); }
+
+    private static double proporcion(long valor, long total) {
+        return total == 0 ? 0.0 : (double) valor / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Batallas: %d | Victorias Héroes: %.2f%% | Victorias Enemigos: %.2f%% | Empates: %.2f%%" +
+            "\nTurnos promedio: %.2f | Héroes supervivientes: %.2f | Enemigos supervivientes: %.2f | HP héroes restante: %.2f",
+            batallas, getTasaVictoriaHeroes() * 100, getTasaVictoriaEnemigos() * 100, getTasaEmpates() * 100,
+            getPromedioTurnos(), getPromedioHeroesSupervivientes(), getPromedioEnemigosSupervivientes(),
+            getPromedioHpHeroesRestante());
+    }
+}
@@ -0,0 +1,19 @@
+package dqs.simulacion;
+
+// Pausa entre acciones automáticas del bucle de batalla
+public enum Ritmo {
+    TIEMPO_REAL(1000),
+    ACELERADO(200),
+    SIN_PAUSA(0);
+
+    private final long pausaMs;
+
+    // Constructor
+    Ritmo(long pausaMs) {
+        this.pausaMs = pausaMs;
+    }
+
+    public long getPausaMs() {
+        return pausaMs;
+    }
+}
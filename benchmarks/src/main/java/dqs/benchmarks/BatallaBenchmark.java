@@ -0,0 +1,43 @@
+package dqs.benchmarks;
+
+import dqs.eventos.SumideroNulo;
+import dqs.modelos.*;
+import dqs.simulacion.Desenlace;
+import dqs.simulacion.ResolutorBatalla;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Batalla completa sin consola, desde copiar los equipos hasta el desenlace
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BatallaBenchmark {
+
+    private Heroe[] heroes;
+    private Enemigo[] enemigos;
+    private ResolutorBatalla resolutor;
+
+    @Setup
+    public void preparar() {
+        heroes = Equipos.heroes();
+        enemigos = Equipos.enemigos();
+        resolutor = new ResolutorBatalla(50);
+    }
+
+    @Benchmark
+    public Desenlace batallaCompleta() {
+        Batalla batalla = new Batalla();
+        for (int i = 0; i < heroes.length; i++) {
+            batalla.agregarHeroe(heroes[i].copiar(), i);
+        }
+        for (int i = 0; i < enemigos.length; i++) {
+            Enemigo enemigo = Enemigo.crearEnemigo(enemigos[i].getTipo(), enemigos[i].getNombre());
+            enemigo.setEventos(SumideroNulo.INSTANCIA);
+            batalla.agregarEnemigo(enemigo, i);
+        }
+        return resolutor.resolver(batalla);
+    }
+}
@@ -0,0 +1,52 @@
+package dqs.benchmarks;
+
+import dqs.modelos.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Varios atacantes golpeando al mismo personaje en modo concurrente (CAS sobre el HP)
+// frente a serializar los golpes con un cerrojo. El número de atacantes es el de hilos:
+//   java -jar benchmarks.jar DanoConcurrente -t 1
+//   java -jar benchmarks.jar DanoConcurrente -t 4
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Ddqs.concurrente=true")
+@State(Scope.Benchmark)
+public class DanoConcurrenteBenchmark {
+
+    private static final int HP_INICIAL = 1_000_000_000;
+    private static final int HP_MINIMO = HP_INICIAL / 2;
+
+    private Heroe objetivo;
+    private Heroe objetivoConCerrojo;
+
+    @Setup
+    public void preparar() {
+        if (!Personaje.CONCURRENTE) {
+            throw new IllegalStateException("Este benchmark necesita -Ddqs.concurrente=true.");
+        }
+        Heroe[] heroes = Equipos.heroes();
+        objetivo = heroes[0];
+        objetivoConCerrojo = heroes[4];
+        objetivo.setHp(HP_INICIAL);
+        objetivoConCerrojo.setHp(HP_INICIAL);
+    }
+
+    @Benchmark
+    public boolean golpeSinCerrojo() {
+        boolean derrotado = objetivo.recibir_daño(80);
+        if (objetivo.getHp() < HP_MINIMO) objetivo.setHp(HP_INICIAL);
+        return derrotado;
+    }
+
+    @Benchmark
+    public boolean golpeConCerrojo() {
+        synchronized (objetivoConCerrojo) {
+            boolean derrotado = objetivoConCerrojo.recibir_daño(80);
+            if (objetivoConCerrojo.getHp() < HP_MINIMO) objetivoConCerrojo.setHp(HP_INICIAL);
+            return derrotado;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dqs.benchmarks;
+
+import dqs.eventos.SumideroNulo;
+import dqs.modelos.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Un turno con efectos temporales: se renueva un efecto y vence otro, mientras el resto de
+// los personajes tiene efectos largos activos. Con la rueda de turnos el costo no debería
+// crecer con 'activos'.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EfectosBenchmark {
+
+    private static final int DURACION_LARGA = 100_000;
+
+    @Param({"8", "1024"})
+    public int activos;
+
+    private Batalla batalla;
+    private Heroe[] heroes;
+    private int turno;
+
+    @Setup
+    public void preparar() {
+        batalla = new Batalla(activos, 1, 7L);
+        heroes = new Heroe[activos];
+        for (int i = 0; i < activos; i++) {
+            heroes[i] = new Heroe("Heroe " + i, Tipo_Heroe.GUERRERO, 250, 40, 50, 30, 20);
+            heroes[i].setEventos(SumideroNulo.INSTANCIA);
+            batalla.agregarHeroe(heroes[i], i);
+            heroes[i].aplicarEfecto(TipoEfecto.ARMADURA_ROTA, heroes[i], 5, DURACION_LARGA);
+        }
+        turno = 0;
+    }
+
+    @Benchmark
+    public int turnoConEfectos() {
+        Heroe heroe = heroes[turno % activos];
+        heroe.aplicarEfecto(TipoEfecto.AUMENTO_DEFENSA, heroe, 10, 1);
+        batalla.setTurnoActual(++turno);
+        return heroe.getDefensa();
+    }
+}
@@ -0,0 +1,49 @@
+package dqs.benchmarks;
+
+import dqs.modelos.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Búsqueda aleatoria de héroes vivos (con el índice de vivos de la batalla y, para comparar,
+// recorriendo el arreglo sin batalla) y generación de enemigos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EnemigoBenchmark {
+
+    private Heroe[] heroes;
+    private Enemigo enemigo;
+    private Heroe[] heroesSueltos;
+    private Enemigo enemigoSuelto;
+
+    @Setup
+    public void preparar() {
+        Batalla batalla = new Batalla(42L);
+        Heroe[] equipo = Equipos.heroes();
+        for (int i = 0; i < equipo.length; i++) batalla.agregarHeroe(equipo[i], i);
+        enemigo = Equipos.enemigos()[0];
+        batalla.agregarEnemigo(enemigo, 0);
+        heroes = batalla.getEquipoHeroes();
+
+        heroesSueltos = Equipos.heroes();
+        enemigoSuelto = Equipos.enemigos()[0];
+    }
+
+    @Benchmark
+    public Heroe buscarHeroeVivo() {
+        return enemigo.buscarHeroeVivo(heroes);
+    }
+
+    @Benchmark
+    public Heroe buscarHeroeVivoSinBatalla() {
+        return enemigoSuelto.buscarHeroeVivo(heroesSueltos);
+    }
+
+    @Benchmark
+    public Enemigo crearEnemigo() {
+        return Enemigo.crearEnemigo(Tipo_Enemigo.DRAGON, "Dragon");
+    }
+}
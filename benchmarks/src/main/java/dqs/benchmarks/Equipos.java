@@ -0,0 +1,41 @@
+package dqs.benchmarks;
+
+import dqs.eventos.SumideroNulo;
+import dqs.modelos.*;
+
+// Equipos fijos usados por los benchmarks, sin salida por consola
+final class Equipos {
+
+    private Equipos() {
+    }
+
+    static Heroe[] heroes() {
+        Heroe[] heroes = {
+            new Heroe("Guerrero", Tipo_Heroe.GUERRERO, 250, 40, 50, 30, 20),
+            new Heroe("Paladin", Tipo_Heroe.PALADIN, 180, 90, 45, 40, 18),
+            new Heroe("Mago", Tipo_Heroe.MAGO, 90, 250, 40, 20, 25),
+            new Heroe("Druida", Tipo_Heroe.DRUIDA, 140, 200, 35, 30, 22),
+            new Heroe("Guerrero 2", Tipo_Heroe.GUERRERO, 220, 30, 45, 25, 19)
+        };
+        silenciar(heroes);
+        return heroes;
+    }
+
+    static Enemigo[] enemigos() {
+        Enemigo[] enemigos = {
+            new Enemigo("Golem", 300, 0, 50, 40, 15, Tipo_Enemigo.GOLEM),
+            new Enemigo("Orco", 220, 0, 40, 30, 20, Tipo_Enemigo.ORCO),
+            new Enemigo("Troll", 260, 0, 45, 35, 18, Tipo_Enemigo.TROLL),
+            new Enemigo("No Muerto", 180, 0, 35, 25, 25, Tipo_Enemigo.NOMUERTO),
+            new Enemigo("Dragon", 450, 0, 65, 50, 22, Tipo_Enemigo.DRAGON)
+        };
+        silenciar(enemigos);
+        return enemigos;
+    }
+
+    static void silenciar(Personaje[] equipo) {
+        for (Personaje p : equipo) {
+            p.setEventos(SumideroNulo.INSTANCIA);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package dqs.benchmarks;
+
+import dqs.eventos.SumideroEventos;
+import dqs.eventos.SumideroNulo;
+import dqs.eventos.TipoEvento;
+import dqs.modelos.*;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Prueba de estrés del modo concurrente, al estilo de jcstress: en cada ronda varios hilos
+// arrancan a la vez sobre el mismo personaje y al final se comprueban los invariantes:
+//  - el HP final es exactamente el inicial menos el daño aplicado, sin bajar de cero
+//  - la derrota la informa un solo golpe, y solo si el daño alcanzaba
+//  - los gastos de MP aceptados nunca superan el MP disponible
+//  - la retirada de una defensa se anuncia una sola vez
+//  - el índice de vivos de la batalla queda vacío cuando caen todos
+//  - con revivir, golpes y restauración de maná a la vez, el objetivo queda vivo si y solo si
+//    tiene HP, las revividas menos las derrotas coinciden con su estado y el MP del paladín
+//    es exactamente el inicial más lo restaurado menos lo gastado en revivir
+//  - con efectos aplicados, quitados y terminados por derrotas desde varios hilos, la rueda de
+//    la batalla tiene exactamente los efectos activos y ataque y defensa efectivos salen de ellos
+//
+// Uso: java -Ddqs.concurrente=true -cp benchmarks/target/benchmarks.jar dqs.benchmarks.EstresCombate [rondas] [hilos]
+public class EstresCombate {
+
+    private final int hilos;
+    private final CyclicBarrier salida;
+    private int violaciones;
+
+    public EstresCombate(int hilos) {
+        this.hilos = hilos;
+        this.salida = new CyclicBarrier(hilos);
+    }
+
+    // Golpes simultáneos: a veces alcanzan para derrotarlo y a veces no
+    void rondaDaño(int ronda) throws Exception {
+        int golpesPorHilo = Math.max(40 / hilos, 1);
+        int daño = 3 + ronda % 5;
+        Heroe objetivo = new Heroe("Objetivo", Tipo_Heroe.GUERRERO, 180 + ronda % 121, 10, 35, 20, 20);
+        objetivo.setEventos(SumideroNulo.INSTANCIA);
+        int hpInicial = objetivo.getHp();
+        int dañoPorGolpe = Math.max(daño + 20 - objetivo.getDefensa(), 1); // recibir_daño resta la defensa
+        long dañoTotal = (long) dañoPorGolpe * golpesPorHilo * hilos;
+        AtomicInteger derrotas = new AtomicInteger();
+
+        enParalelo(() -> {
+            for (int i = 0; i < golpesPorHilo; i++) {
+                if (objetivo.recibir_daño(daño + 20)) derrotas.incrementAndGet();
+            }
+        });
+
+        int esperado = (int) Math.max(hpInicial - dañoTotal, 0);
+        comprobar(objetivo.getHp() == esperado, "HP " + objetivo.getHp() + " en lugar de " + esperado);
+        comprobar(objetivo.esta_vivo() == (esperado > 0), "vivo=" + objetivo.esta_vivo() + " con HP " + esperado);
+        comprobar(derrotas.get() == (esperado == 0 ? 1 : 0), derrotas.get() + " derrotas informadas");
+    }
+
+    // Gastos de MP simultáneos: se aceptan exactamente los que caben
+    void rondaMp() throws Exception {
+        Heroe tanque = new Heroe("Tanque", Tipo_Heroe.PALADIN, 150, 97, 40, 30, 20);
+        tanque.setEventos(SumideroNulo.INSTANCIA);
+        Enemigo enemigo = new Enemigo("Orco", 220, 0, 40, 30, 20, Tipo_Enemigo.ORCO);
+        enemigo.setEventos(SumideroNulo.INSTANCIA);
+
+        enParalelo(() -> {
+            for (int i = 0; i < 10; i++) tanque.provocarEnemigo(enemigo); // 5 de MP cada una
+        });
+
+        comprobar(tanque.getMp() == 97 % 5, "MP " + tanque.getMp() + " en lugar de " + 97 % 5);
+    }
+
+    // Retiradas simultáneas de la misma defensa: un solo anuncio
+    void rondaDefensa() throws Exception {
+        AtomicInteger retiradas = new AtomicInteger();
+        SumideroEventos contador = (tipo, origen, objetivo, valor, previo, detalle) -> {
+            if (tipo == TipoEvento.DEFENSA_RETIRADA) retiradas.incrementAndGet();
+        };
+        Heroe tanque = new Heroe("Tanque", Tipo_Heroe.GUERRERO, 250, 40, 50, 30, 20);
+        Heroe aliado = new Heroe("Aliado", Tipo_Heroe.MAGO, 90, 250, 40, 20, 25);
+        aliado.setEventos(contador);
+        aliado.recibirDefensa(tanque);
+
+        enParalelo(aliado::removerDefensa);
+
+        comprobar(retiradas.get() == 1, retiradas.get() + " retiradas anunciadas");
+        comprobar(!aliado.estaSiendoDefendido(), "la defensa sigue activa");
+    }
+
+    // Todo un equipo derrotado desde varios hilos: el índice de vivos queda vacío
+    void rondaBatalla() throws Exception {
+        Batalla batalla = new Batalla(Batalla.TAMAÑO_EQUIPO, 1, 7L);
+        Heroe[] heroes = Equipos.heroes();
+        for (int i = 0; i < heroes.length; i++) batalla.agregarHeroe(heroes[i], i);
+
+        enParalelo(() -> {
+            for (int i = 0; i < 100; i++) {
+                for (Heroe heroe : heroes) heroe.recibir_daño(30);
+            }
+        });
+
+        comprobar(batalla.getCantidadHeroesVivos() == 0, batalla.getCantidadHeroesVivos() + " héroes vivos en el índice");
+    }
+
+    // Un paladín revive al mismo objetivo desde varios hilos mientras otros lo golpean y un druida
+    // le restaura maná: compiten el CAS de vida, el HP y los gastos y sumas de MP del paladín
+    void rondaRevivir(int ronda) throws Exception {
+        Batalla batalla = new Batalla(Batalla.TAMAÑO_EQUIPO, 1, ronda);
+        Heroe[] heroes = Equipos.heroes();
+        for (int i = 0; i < heroes.length; i++) batalla.agregarHeroe(heroes[i], i);
+        Heroe objetivo = heroes[0];
+        Heroe paladin = heroes[1];
+        Heroe druida = heroes[3];
+        objetivo.recibir_daño(1000);
+        AtomicInteger revividas = new AtomicInteger();
+        AtomicInteger restauraciones = new AtomicInteger();
+        AtomicInteger derrotas = new AtomicInteger();
+        SumideroEventos contador = (tipo, origen, destino, valor, previo, detalle) -> {
+            if (tipo == TipoEvento.REVIVIR) revividas.incrementAndGet();
+            else if (tipo == TipoEvento.MANA_RESTAURADO) restauraciones.incrementAndGet();
+        };
+        paladin.setEventos(contador);
+        druida.setEventos(contador);
+        int mpInicial = paladin.getMp();
+        int daño = 50 + ronda % 30;
+        AtomicInteger papeles = new AtomicInteger();
+
+        enParalelo(() -> {
+            int papel = papeles.getAndIncrement() % 3;
+            for (int i = 0; i < 20; i++) {
+                if (papel == 0) paladin.revivir(objetivo);
+                else if (papel == 1) {
+                    if (objetivo.recibir_daño(daño)) derrotas.incrementAndGet();
+                } else druida.restaurarMana(paladin);
+            }
+        });
+
+        boolean vivo = objetivo.esta_vivo();
+        comprobar(vivo == (objetivo.getHp() > 0), "vivo=" + vivo + " con HP " + objetivo.getHp());
+        comprobar(revividas.get() - derrotas.get() == (vivo ? 1 : 0),
+                revividas.get() + " revividas y " + derrotas.get() + " derrotas con vivo=" + vivo);
+        int mpEsperado = mpInicial + 25 * restauraciones.get() - 25 * revividas.get(); // REVIVIR y RESTAURAR_MANA de la tabla
+        comprobar(paladin.getMp() == mpEsperado, "MP del paladín " + paladin.getMp() + " en lugar de " + mpEsperado);
+        int vivos = 0;
+        for (Heroe heroe : heroes) if (heroe.esta_vivo()) vivos++;
+        comprobar(batalla.getCantidadHeroesVivos() == vivos, batalla.getCantidadHeroesVivos() + " vivos en el índice y " + vivos + " vivos");
+    }
+
+    // Efectos aplicados y quitados mientras otros hilos golpean (las derrotas terminan los
+    // efectos) y uno avanza los turnos (los vencimientos también terminan efectos)
+    void rondaEfectos(int ronda) throws Exception {
+        Batalla batalla = new Batalla(Batalla.TAMAÑO_EQUIPO, 1, ronda);
+        Heroe[] heroes = Equipos.heroes();
+        for (int i = 0; i < heroes.length; i++) batalla.agregarHeroe(heroes[i], i);
+        Enemigo orco = new Enemigo("Orco", 220, 0, 40, 30, 20, Tipo_Enemigo.ORCO); // deja ARMADURA_ROTA
+        orco.setEventos(SumideroNulo.INSTANCIA);
+        batalla.agregarEnemigo(orco, 0);
+        AtomicInteger papeles = new AtomicInteger();
+
+        enParalelo(() -> {
+            int papel = papeles.getAndIncrement();
+            for (int i = 0; i < 60; i++) {
+                Heroe heroe = heroes[(papel + i) % heroes.length];
+                switch (papel % 4) {
+                    case 0 -> heroe.recibir_daño(30 + ronda % 20);
+                    case 1 -> orco.usarHabilidadEspecial(heroe);
+                    case 2 -> {
+                        heroe.aplicarEfecto(TipoEfecto.DEBILIDAD, orco, 5, 1 + i % 3);
+                        heroe.aplicarEfecto(TipoEfecto.VENENO, orco, 3, 2);
+                        heroe.aplicarEfecto(TipoEfecto.AUMENTO_DEFENSA, heroe, 4, 2);
+                    }
+                    default -> {
+                        heroe.quitarEfectosNegativos();
+                        if (papel == 3) batalla.setTurnoActual(batalla.getTurnoActual() + 1);
+                    }
+                }
+            }
+        });
+
+        int activos = 0;
+        for (Heroe heroe : heroes) {
+            int debilidad = 0, aumento = 0, armadura = 0;
+            for (TipoEfecto tipo : TipoEfecto.values()) {
+                Efecto efecto = heroe.getEfecto(tipo);
+                if (efecto == null) continue;
+                activos++;
+                if (tipo == TipoEfecto.DEBILIDAD) debilidad = efecto.getValor();
+                else if (tipo == TipoEfecto.AUMENTO_DEFENSA) aumento = efecto.getValor();
+                else if (tipo == TipoEfecto.ARMADURA_ROTA) armadura = efecto.getValor();
+            }
+            int ataque = Math.max(heroe.getAtaqueBase() - debilidad, 0);
+            int defensa = Math.max(heroe.getDefensaBase() + aumento - armadura, 0);
+            comprobar(heroe.getAtaque() == ataque, heroe.getNombre() + ": ataque " + heroe.getAtaque() + " en lugar de " + ataque);
+            comprobar(heroe.getDefensa() == defensa, heroe.getNombre() + ": defensa " + heroe.getDefensa() + " en lugar de " + defensa);
+        }
+        comprobar(batalla.getEfectosProgramados() == activos,
+                batalla.getEfectosProgramados() + " efectos en la rueda y " + activos + " activos");
+    }
+
+    private void enParalelo(Runnable tarea) throws Exception {
+        Thread[] hilosRonda = new Thread[hilos];
+        Throwable[] error = new Throwable[1];
+        for (int h = 0; h < hilos; h++) {
+            hilosRonda[h] = new Thread(() -> {
+                try {
+                    salida.await();
+                    tarea.run();
+                } catch (Throwable e) {
+                    synchronized (error) { error[0] = e; }
+                }
+            });
+            hilosRonda[h].start();
+        }
+        for (Thread hilo : hilosRonda) hilo.join();
+        if (error[0] != null) throw new IllegalStateException("Un hilo falló", error[0]);
+    }
+
+    private void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            violaciones++;
+            if (violaciones <= 20) System.out.println("VIOLACIÓN: " + mensaje);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!Personaje.CONCURRENTE) {
+            System.out.println("Ejecute con -Ddqs.concurrente=true");
+            System.exit(2);
+        }
+        int rondas = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        EstresCombate estres = new EstresCombate(hilos);
+        for (int r = 0; r < rondas; r++) {
+            estres.rondaDaño(r);
+            estres.rondaMp();
+            estres.rondaDefensa();
+            estres.rondaBatalla();
+            estres.rondaRevivir(r);
+            estres.rondaEfectos(r);
+        }
+        System.out.println(rondas + " rondas con " + hilos + " hilos: " + estres.violaciones + " violaciones");
+        if (estres.violaciones > 0) System.exit(1);
+    }
+}
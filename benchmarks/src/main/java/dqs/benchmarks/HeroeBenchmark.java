@@ -0,0 +1,31 @@
+package dqs.benchmarks;
+
+import dqs.modelos.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Operaciones de equipo de Heroe
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class HeroeBenchmark {
+
+    private Heroe tanque;
+    private Enemigo[] enemigos;
+
+    @Setup
+    public void preparar() {
+        tanque = Equipos.heroes()[1];
+        enemigos = Equipos.enemigos();
+    }
+
+    @Benchmark
+    public int provocarTodosLosEnemigos() {
+        tanque.setMp(90);
+        tanque.provocarTodosLosEnemigos(enemigos);
+        return tanque.getMp();
+    }
+}
@@ -0,0 +1,50 @@
+package dqs.benchmarks;
+
+import dqs.eventos.SumideroNulo;
+import dqs.modelos.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Oleadas de 10.000 enemigos: creando objetos nuevos o reutilizando los de la oleada anterior
+// desde una ReservaEnemigos (con -prof gc se ve la asignación por oleada)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class OleadasBenchmark {
+
+    private static final int TAMAÑO = 10_000;
+
+    private GeneradorOleadas nuevos;
+    private GeneradorOleadas reciclados;
+    private ReservaEnemigos reserva;
+    private Enemigo[] oleada;
+    private long semilla;
+
+    @Setup
+    public void preparar() {
+        double[] pesos = {1, 4, 3, 3, 0.5}; // golem, orco, troll, no muerto, dragón
+        nuevos = new GeneradorOleadas(pesos);
+        nuevos.setEventos(SumideroNulo.INSTANCIA);
+        reciclados = new GeneradorOleadas(pesos);
+        reciclados.setEventos(SumideroNulo.INSTANCIA);
+        reserva = new ReservaEnemigos(TAMAÑO);
+        reciclados.setReserva(reserva);
+        oleada = new Enemigo[TAMAÑO];
+    }
+
+    @Benchmark
+    public Enemigo[] oleadaNueva() {
+        nuevos.generar(oleada, 0, TAMAÑO, ++semilla);
+        return oleada;
+    }
+
+    @Benchmark
+    public Enemigo[] oleadaReciclada() {
+        reciclados.generar(oleada, 0, TAMAÑO, ++semilla);
+        reserva.devolverTodos(oleada, TAMAÑO); // la oleada terminó: sus enemigos vuelven a la reserva
+        return oleada;
+    }
+}
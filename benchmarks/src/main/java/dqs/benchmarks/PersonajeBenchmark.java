@@ -0,0 +1,68 @@
+package dqs.benchmarks;
+
+import dqs.modelos.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Primitivas de combate de Personaje: recibir daño y selección de objetivo
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PersonajeBenchmark {
+
+    private static final int HP_INICIAL = 90;
+
+    private Heroe[] heroes;
+    private Heroe defendido;
+    private Heroe sinDefensa;
+    private Enemigo atacante;
+    private Enemigo provocado;
+
+    @Setup
+    public void preparar() {
+        heroes = Equipos.heroes();
+        Enemigo[] enemigos = Equipos.enemigos();
+        atacante = enemigos[0];
+        provocado = enemigos[1];
+
+        sinDefensa = heroes[2];
+        defendido = heroes[3];
+        defendido.recibirDefensa(heroes[0]);
+        provocado.serProvocado(heroes[1]);
+    }
+
+    @Benchmark
+    public int recibirDanoSinDefensor() {
+        sinDefensa.setHp(HP_INICIAL);
+        sinDefensa.recibir_daño(40);
+        return sinDefensa.getHp();
+    }
+
+    @Benchmark
+    public int recibirDanoConDefensor() {
+        defendido.setHp(HP_INICIAL);
+        defendido.recibir_daño(40);
+        return defendido.getHp();
+    }
+
+    @Benchmark
+    public Personaje seleccionarObjetivo() {
+        return atacante.seleccionarObjetivo(heroes);
+    }
+
+    @Benchmark
+    public Personaje seleccionarObjetivoProvocado() {
+        return provocado.seleccionarObjetivo(heroes);
+    }
+
+    @Benchmark
+    public int atacarConProvocacion() {
+        Heroe objetivo = heroes[1];
+        objetivo.setHp(HP_INICIAL);
+        provocado.atacarConProvocacion(heroes);
+        return objetivo.getHp();
+    }
+}
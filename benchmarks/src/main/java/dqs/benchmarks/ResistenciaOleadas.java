@@ -0,0 +1,73 @@
+package dqs.benchmarks;
+
+import dqs.eventos.SumideroNulo;
+import dqs.modelos.*;
+import dqs.simulacion.BatallaInfinita;
+import dqs.simulacion.Desenlace;
+import dqs.simulacion.ResultadoOleada;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+// Prueba de resistencia del modo sin fin: los héroes de Equipos pelean contra millones de
+// enemigos (recuperándose entre oleadas) y cada tanto se mide el heap ocupado después de un GC.
+// Con la ventana fija y la reserva de enemigos el heap no debería crecer con los enemigos.
+//
+// Uso: java -cp benchmarks/target/benchmarks.jar dqs.benchmarks.ResistenciaOleadas [enemigos] [ventana]
+public class ResistenciaOleadas {
+
+    private static final int OLEADAS_POR_INFORME = 2000;
+    private static final long CRECIMIENTO_TOLERADO = 8L << 20; // bytes
+
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+    private long heapInicial = -1;
+    private long heapMaximo;
+    private long dañoTotal;
+    private long mpTotal;
+    private final long inicio = System.nanoTime();
+
+    private void registrar(ResultadoOleada oleada) {
+        dañoTotal += oleada.getDañoRecibido();
+        mpTotal += oleada.getMpGastado();
+        if (oleada.getNumero() % OLEADAS_POR_INFORME != 0) return;
+        long heap = heapOcupado();
+        if (heapInicial < 0) heapInicial = heap;
+        heapMaximo = Math.max(heapMaximo, heap);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%s | heap: %.1f MB | %.1f s%n", oleada, heap / 1048576.0, segundos);
+    }
+
+    private long heapOcupado() {
+        System.gc();
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) {
+        long enemigos = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int ventana = args.length > 1 ? Integer.parseInt(args[1]) : Batalla.TAMAÑO_EQUIPO;
+
+        ReservaEnemigos reserva = new ReservaEnemigos(2 * ventana);
+        GeneradorOleadas generador = GeneradorOleadas.uniforme();
+        generador.setEventos(SumideroNulo.INSTANCIA);
+        generador.setReserva(reserva);
+        generador.setParalelo(false);
+        FuenteOleadas fuente = new FuenteOleadas(generador, ventana, 42L, enemigos);
+
+        BatallaInfinita batalla = new BatallaInfinita(Equipos.heroes(), ventana, fuente, 42L);
+        batalla.setReserva(reserva);
+        batalla.setRecuperarEntreOleadas(true);
+        ResistenciaOleadas prueba = new ResistenciaOleadas();
+        Desenlace desenlace = batalla.ejecutar(prueba::registrar);
+
+        long heapFinal = prueba.heapOcupado();
+        System.out.printf("%s tras %d enemigos derrotados en %d oleadas | daño recibido: %d | MP gastado: %d%n",
+                desenlace, batalla.getEnemigosDerrotados(), batalla.getOleadas(), prueba.dañoTotal, prueba.mpTotal);
+        if (prueba.heapInicial >= 0) {
+            System.out.printf("Heap: %.1f MB al primer informe, %.1f MB máximo, %.1f MB al final%n",
+                    prueba.heapInicial / 1048576.0, prueba.heapMaximo / 1048576.0, heapFinal / 1048576.0);
+            if (heapFinal - prueba.heapInicial > CRECIMIENTO_TOLERADO) {
+                System.out.println("El heap creció con la cantidad de enemigos");
+                System.exit(1);
+            }
+        }
+    }
+}